@@ -0,0 +1,46 @@
+package dev.ked.stormcraft.events;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Records how long each startup phase took. Phases may be timed from
+ * several threads at once.
+ */
+class StartupTimings {
+    private final List<String> phases = new ArrayList<>();
+    private final long startNanos = System.nanoTime();
+
+    <T> T time(String phase, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            record(phase, System.nanoTime() - start);
+        }
+    }
+
+    void time(String phase, Runnable work) {
+        time(phase, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    synchronized void record(String phase, long nanos) {
+        phases.add(phase + " " + formatMillis(nanos));
+    }
+
+    /**
+     * One line listing every phase in completion order, e.g.
+     * "config 4.10ms, towny 1.20ms (total 12.00ms)".
+     */
+    synchronized String describe() {
+        return String.join(", ", phases) + " (total " + formatMillis(System.nanoTime() - startNanos) + ")";
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format("%.2fms", nanos / 1_000_000.0);
+    }
+}
@@ -3,21 +3,35 @@ package dev.ked.stormcraft.events;
 import dev.ked.stormcraft.StormcraftPlugin;
 import dev.ked.stormcraft.events.command.StormEventCommand;
 import dev.ked.stormcraft.events.config.ConfigManager;
+import dev.ked.stormcraft.events.config.ConfigWatcher;
 import dev.ked.stormcraft.events.event.EventManager;
 import dev.ked.stormcraft.events.integration.*;
+import dev.ked.stormcraft.events.scheduler.PlayerPositions;
+import dev.ked.stormcraft.events.scheduler.TaskScheduler;
 import dev.ked.stormcraft.events.spawn.DensityTracker;
+import dev.ked.stormcraft.events.ui.ActionBarCompositor;
+import dev.ked.stormcraft.events.ui.EventHUD;
+import dev.ked.stormcraft.events.ui.EventNotifier;
 import dev.ked.stormcraft.events.ui.ThreatLevelHUD;
 import net.milkbowl.vault.economy.Economy;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.RegisteredServiceProvider;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
 /**
  * Main plugin class for Stormcraft Events.
  * Manages dynamic storm-themed events with density-based spawning.
  */
 public class StormcraftEventsPlugin extends JavaPlugin {
     private ConfigManager configManager;
+    private ConfigWatcher configWatcher;
+    private TaskScheduler taskScheduler;
+    private PlayerPositions playerPositions;
     private StormcraftIntegration stormcraftIntegration;
     private MythicMobsIntegration mythicMobsIntegration;
     private TownyIntegration townyIntegration;
@@ -26,11 +40,14 @@ public class StormcraftEventsPlugin extends JavaPlugin {
     private EventManager eventManager;
     private DensityTracker densityTracker;
     private Economy economy;
+    private ActionBarCompositor actionBarCompositor;
+    private EventHUD eventHUD;
     private ThreatLevelHUD threatLevelHUD;
 
     @Override
     public void onEnable() {
         getLogger().info("Starting Stormcraft-Events...");
+        StartupTimings timings = new StartupTimings();
 
         // Check for required dependency
         if (!setupStormcraft()) {
@@ -39,42 +56,105 @@ public class StormcraftEventsPlugin extends JavaPlugin {
             return;
         }
 
-        // Initialize configuration
-        configManager = new ConfigManager(this);
-        configManager.loadConfigs();
+        // Phase one, synchronous: the minimal core everything else builds on.
+        // Loading the config also compiles the weight tables and zone models.
+        timings.time("config", () -> {
+            configManager = new ConfigManager(this);
+            configManager.loadConfigs();
+        });
+
+        // Region-aware scheduling; plain Bukkit scheduler outside Folia
+        timings.time("scheduler", () -> {
+            taskScheduler = new TaskScheduler(this);
+            playerPositions = new PlayerPositions(this, taskScheduler, configManager.getPositionRefreshInterval());
+            playerPositions.start();
+        });
+        if (TaskScheduler.isFolia()) {
+            getLogger().info("Folia detected - using region schedulers");
+        }
 
         // Setup economy (Vault)
-        if (!setupEconomy()) {
+        if (!timings.time("economy", this::setupEconomy)) {
             getLogger().warning("Vault not found - economy rewards disabled");
         }
 
-        // Setup integrations
-        setupIntegrations();
+        getLogger().info("Stormcraft-Events core enabled (" + timings.describe() + ")");
 
-        // Initialize core systems
-        densityTracker = new DensityTracker(this, configManager);
-        eventManager = new EventManager(this, configManager, stormcraftIntegration,
-                                       mythicMobsIntegration, townyIntegration,
-                                       tanIntegration, essenceIntegration,
-                                       densityTracker, economy);
+        // Phase two, deferred: probe integrations in parallel while the rest of
+        // the server enables, then build the event system on the first tick
+        // (a failed probe yields null, so this always completes normally)
+        discoverIntegrations(timings).thenAccept(integrations -> taskScheduler.runGlobal(() -> {
+            if (isEnabled()) {
+                startSystems(integrations, timings);
+            }
+        }));
+    }
 
-        // Start systems
-        densityTracker.start();
-        eventManager.start();
+    /**
+     * Build and start everything that depends on integrations.
+     */
+    private void startSystems(Integrations integrations, StartupTimings timings) {
+        mythicMobsIntegration = integrations.mythicMobs();
+        townyIntegration = integrations.towny();
+        tanIntegration = integrations.tan();
+        essenceIntegration = integrations.essence();
+
+        // Probes only build state; listeners and timers start here, on the global tick
+        timings.time("integrations", () -> {
+            if (mythicMobsIntegration != null) {
+                mythicMobsIntegration.start();
+            }
+            if (townyIntegration != null) {
+                townyIntegration.start();
+            }
+            if (tanIntegration != null) {
+                tanIntegration.start();
+            }
+        });
+
+        // Initialize core systems
+        timings.time("event system", () -> {
+            densityTracker = new DensityTracker(this, configManager);
+            eventManager = new EventManager(this, configManager, stormcraftIntegration,
+                                           mythicMobsIntegration, townyIntegration,
+                                           tanIntegration, essenceIntegration,
+                                           densityTracker, economy);
+
+            // Start systems
+            densityTracker.start();
+            eventManager.start();
+        });
 
         // Start UI systems
-        if (configManager.isDifficultyEnabled()) {
-            threatLevelHUD = new ThreatLevelHUD(this, configManager, stormcraftIntegration,
-                                               eventManager.getPlayerDensityTracker(),
-                                               eventManager.getDifficultyCalculator());
-            threatLevelHUD.start();
-            getLogger().info("Threat Level HUD enabled");
-        }
+        timings.time("ui", () -> {
+            actionBarCompositor = new ActionBarCompositor(taskScheduler, configManager, eventManager);
+            actionBarCompositor.start();
+            EventNotifier.setCompositor(actionBarCompositor);
+
+            eventHUD = new EventHUD(taskScheduler, configManager, eventManager);
+            eventManager.getInterestManager().addListener(eventHUD);
+            eventHUD.start();
+
+            if (configManager.isDifficultyEnabled()) {
+                threatLevelHUD = new ThreatLevelHUD(this, taskScheduler, playerPositions,
+                                                   configManager, stormcraftIntegration,
+                                                   eventManager.getDifficultyCalculator(),
+                                                   actionBarCompositor);
+                threatLevelHUD.start();
+                getLogger().info("Threat Level HUD enabled");
+            }
+        });
 
         // Register commands
         registerCommands();
 
-        getLogger().info("Stormcraft-Events enabled successfully!");
+        // Pick up config edits without a command
+        if (configManager.isReloadWatchEnabled()) {
+            configWatcher = new ConfigWatcher(this, taskScheduler, configManager, configManager.getReloadDebounceMs());
+            configWatcher.start();
+        }
+
+        getLogger().info("Stormcraft-Events enabled successfully! (" + timings.describe() + ")");
     }
 
     @Override
@@ -82,6 +162,9 @@ public class StormcraftEventsPlugin extends JavaPlugin {
         getLogger().info("Stopping Stormcraft-Events...");
 
         // Stop systems
+        if (configWatcher != null) {
+            configWatcher.stop();
+        }
         if (eventManager != null) {
             eventManager.shutdown();
         }
@@ -89,7 +172,21 @@ public class StormcraftEventsPlugin extends JavaPlugin {
             densityTracker.stop();
         }
         if (threatLevelHUD != null) {
-            threatLevelHUD.cancel();
+            threatLevelHUD.stop();
+        }
+        if (actionBarCompositor != null) {
+            actionBarCompositor.stop();
+            EventNotifier.setCompositor(null);
+        }
+        if (eventHUD != null) {
+            eventHUD.stop();
+            eventHUD.clearAll();
+        }
+        if (tanIntegration != null) {
+            tanIntegration.stop();
+        }
+        if (playerPositions != null) {
+            playerPositions.stop();
         }
 
         getLogger().info("Stormcraft-Events disabled.");
@@ -115,41 +212,83 @@ public class StormcraftEventsPlugin extends JavaPlugin {
         return economy != null;
     }
 
-    private void setupIntegrations() {
+    /**
+     * Probe optional integrations concurrently, each on a worker thread.
+     * Probes look up plugins, bind their APIs and copy town and claim data
+     * into local indexes. They register no listeners, start no tasks and
+     * never touch the world or online players; that is left to
+     * {@link #startSystems} on the global tick.
+     */
+    private CompletableFuture<Integrations> discoverIntegrations(StartupTimings timings) {
+        Executor executor = ForkJoinPool.commonPool();
+        CompletableFuture<MythicMobsIntegration> mythicMobs =
+                probe("MythicMobs", timings, this::setupMythicMobs, executor);
+        CompletableFuture<TownyIntegration> towny = probe("Towny", timings, this::setupTowny, executor);
+        CompletableFuture<TownsAndNationsIntegration> tan =
+                probe("TownsAndNations", timings, this::setupTownsAndNations, executor);
+        CompletableFuture<EssenceIntegration> essence = probe("Essence", timings, this::setupEssence, executor);
+
+        return CompletableFuture.allOf(mythicMobs, towny, tan, essence)
+                .thenApply(v -> new Integrations(mythicMobs.join(), towny.join(), tan.join(), essence.join()));
+    }
+
+    private <T> CompletableFuture<T> probe(String name, StartupTimings timings, Supplier<T> setup, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> timings.time(name, setup), executor)
+                .exceptionally(e -> {
+                    getLogger().warning(name + " integration failed: " + e.getMessage());
+                    return null;
+                });
+    }
+
+    private MythicMobsIntegration setupMythicMobs() {
         // MythicMobs (optional)
-        if (Bukkit.getPluginManager().getPlugin("MythicMobs") != null) {
-            mythicMobsIntegration = new MythicMobsIntegration(this);
-            if (mythicMobsIntegration.isEnabled()) {
-                getLogger().info("MythicMobs integration enabled");
-            }
-        } else {
+        if (Bukkit.getPluginManager().getPlugin("MythicMobs") == null) {
             getLogger().info("MythicMobs not found - boss events will use vanilla mobs");
+            return null;
+        }
+        MythicMobsIntegration integration = new MythicMobsIntegration(this);
+        if (integration.isEnabled()) {
+            getLogger().info("MythicMobs integration enabled");
         }
+        return integration;
+    }
 
+    private TownyIntegration setupTowny() {
         // Towny (optional)
-        if (Bukkit.getPluginManager().getPlugin("Towny") != null) {
-            townyIntegration = new TownyIntegration(this, configManager);
-            if (townyIntegration.isEnabled()) {
-                getLogger().info("Towny integration enabled");
-            }
+        if (Bukkit.getPluginManager().getPlugin("Towny") == null) {
+            return null;
+        }
+        TownyIntegration integration = new TownyIntegration(this, taskScheduler, configManager);
+        if (integration.isEnabled()) {
+            getLogger().info("Towny integration enabled");
         }
+        return integration;
+    }
 
+    private TownsAndNationsIntegration setupTownsAndNations() {
         // TownsAndNations (optional, mutually exclusive with Towny)
-        if (Bukkit.getPluginManager().getPlugin("TownsAndNations") != null && townyIntegration == null) {
-            tanIntegration = new TownsAndNationsIntegration(this, configManager);
-            if (tanIntegration.isEnabled()) {
-                getLogger().info("TownsAndNations integration enabled");
-            }
+        if (Bukkit.getPluginManager().getPlugin("TownsAndNations") == null
+                || Bukkit.getPluginManager().getPlugin("Towny") != null) {
+            return null;
         }
+        TownsAndNationsIntegration integration = new TownsAndNationsIntegration(this, taskScheduler, configManager);
+        if (integration.isEnabled()) {
+            getLogger().info("TownsAndNations integration enabled");
+        }
+        return integration;
+    }
 
+    private EssenceIntegration setupEssence() {
         // Stormcraft-Essence (optional)
-        if (Bukkit.getPluginManager().getPlugin("Stormcraft-Essence") != null ||
-            Bukkit.getPluginManager().getPlugin("StormcraftEssence") != null) {
-            essenceIntegration = new EssenceIntegration(this);
-            if (essenceIntegration.isEnabled()) {
-                getLogger().info("Stormcraft-Essence integration enabled");
-            }
+        if (Bukkit.getPluginManager().getPlugin("Stormcraft-Essence") == null &&
+            Bukkit.getPluginManager().getPlugin("StormcraftEssence") == null) {
+            return null;
         }
+        EssenceIntegration integration = new EssenceIntegration(this);
+        if (integration.isEnabled()) {
+            getLogger().info("Stormcraft-Essence integration enabled");
+        }
+        return integration;
     }
 
     private void registerCommands() {
@@ -170,6 +309,14 @@ public class StormcraftEventsPlugin extends JavaPlugin {
         return configManager;
     }
 
+    public TaskScheduler getTaskScheduler() {
+        return taskScheduler;
+    }
+
+    public PlayerPositions getPlayerPositions() {
+        return playerPositions;
+    }
+
     public StormcraftIntegration getStormcraftIntegration() {
         return stormcraftIntegration;
     }
@@ -197,4 +344,11 @@ public class StormcraftEventsPlugin extends JavaPlugin {
     public Economy getEconomy() {
         return economy;
     }
+
+    /**
+     * Optional integrations found during startup; null entries are absent.
+     */
+    private record Integrations(MythicMobsIntegration mythicMobs, TownyIntegration towny,
+                                TownsAndNationsIntegration tan, EssenceIntegration essence) {
+    }
 }
@@ -2,6 +2,7 @@ package dev.ked.stormcraft.events.command;
 
 import dev.ked.stormcraft.events.StormcraftEventsPlugin;
 import dev.ked.stormcraft.events.config.ConfigManager;
+import dev.ked.stormcraft.events.config.ReloadReport;
 import dev.ked.stormcraft.events.difficulty.DifficultyCalculator;
 import dev.ked.stormcraft.events.difficulty.DifficultyMultiplier;
 import dev.ked.stormcraft.events.difficulty.PlayerDensityTracker;
@@ -9,6 +10,7 @@ import dev.ked.stormcraft.events.difficulty.ThreatLevel;
 import dev.ked.stormcraft.events.event.Event;
 import dev.ked.stormcraft.events.event.EventManager;
 import dev.ked.stormcraft.events.event.EventType;
+import dev.ked.stormcraft.events.scheduler.TaskScheduler;
 import net.kyori.adventure.text.Component;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -58,7 +60,8 @@ public class StormEventCommand implements CommandExecutor, TabCompleter {
 
         switch (args[0].toLowerCase()) {
             case "list" -> handleList(sender);
-            case "reload" -> handleReload(sender);
+            case "near" -> handleNear(sender, args);
+            case "reload" -> handleReload(sender, args);
             case "info" -> handleInfo(sender);
             case "cooldowns" -> handleCooldowns(sender);
             case "difficulty" -> handleDifficulty(sender, args);
@@ -83,27 +86,91 @@ public class StormEventCommand implements CommandExecutor, TabCompleter {
                     event.getLocation().getBlockY(),
                     event.getLocation().getBlockZ());
 
-            sender.sendMessage(Component.text(String.format("§e- %s §7at §f%s §7(§e%d§7s remaining)",
-                    event.getType().getDisplayName(), loc, event.getRemainingSeconds())));
+            sender.sendMessage(Component.text(String.format("§e- %s §7at §f%s §7(§e%d§7s remaining, %s)",
+                    event.getType().getDisplayName(), loc, event.getRemainingSeconds(),
+                    event.getLod().name().toLowerCase())));
         }
     }
 
-    private void handleReload(CommandSender sender) {
+    private void handleNear(CommandSender sender, String[] args) {
+        if (!(sender instanceof Player player)) {
+            sender.sendMessage(Component.text("§cThis command can only be used by players"));
+            return;
+        }
+
+        // Parse distance (default 200)
+        double distance = 200;
+        if (args.length > 1) {
+            try {
+                distance = Double.parseDouble(args[1]);
+                if (distance < 0 || distance > 2000) {
+                    sender.sendMessage(Component.text("§c[Events] Distance must be between 0 and 2000"));
+                    return;
+                }
+            } catch (NumberFormatException e) {
+                sender.sendMessage(Component.text("§c[Events] Invalid distance. Usage: /stormevent near [distance]"));
+                return;
+            }
+        }
+
+        var areas = eventManager.getEventsNear(player.getLocation(), distance);
+        if (areas.isEmpty()) {
+            sender.sendMessage(Component.text("§6[Events] §fNo events within " + (int) distance + " blocks"));
+            return;
+        }
+
+        sender.sendMessage(Component.text("§6[Events] §fEvents within " + (int) distance + " blocks:"));
+        for (var area : areas) {
+            double away = area.distanceTo(player.getLocation().getX(), player.getLocation().getZ());
+            sender.sendMessage(Component.text(String.format("§e- %s §7at §f%d, %d §7(%s)",
+                    area.type().getDisplayName(), (int) area.x(), (int) area.z(),
+                    away == 0 ? "§ainside" : "§f" + (int) away + " §7blocks")));
+        }
+    }
+
+    private void handleReload(CommandSender sender, String[] args) {
         if (!sender.hasPermission("stormcraft.events.admin")) {
             sender.sendMessage(Component.text("§cYou don't have permission to use this command"));
             return;
         }
 
-        config.loadConfigs();
-        eventManager.reloadDifficultyConfig();
-        sender.sendMessage(Component.text("§a[Events] Configuration reloaded"));
-        sender.sendMessage(Component.text("§7Difficulty system reloaded with new weights"));
+        boolean dryRun = args.length > 1 && args[1].equalsIgnoreCase("dryrun");
+        TaskScheduler scheduler = plugin.getTaskScheduler();
+
+        // Parse and validate off the main thread; only the swap happens on the global tick
+        scheduler.runAsync(() -> {
+            ConfigManager.PendingReload pending = config.compile();
+            scheduler.runGlobal(() -> {
+                ReloadReport report = pending.report();
+                boolean applied = !dryRun && config.apply(pending);
+
+                if (dryRun) {
+                    sender.sendMessage(Component.text(report.isValid()
+                            ? "§a[Events] Dry run: configuration is valid (not applied)"
+                            : "§c[Events] Dry run: configuration has problems (not applied)"));
+                } else if (applied) {
+                    sender.sendMessage(Component.text("§a[Events] Configuration reloaded"));
+                } else if (report.isValid()) {
+                    sender.sendMessage(Component.text("§e[Events] Another reload was applied first; try again"));
+                } else {
+                    sender.sendMessage(Component.text("§c[Events] Configuration not reloaded, keeping the running one"));
+                }
+
+                sender.sendMessage(Component.text("§7Changed: §f" + (report.getChangedFiles().isEmpty()
+                        ? "none" : String.join(", ", report.getChangedFiles()))));
+                sender.sendMessage(Component.text("§7Rebuilt: §f" + report.describeSteps()));
+                for (String problem : report.getProblems()) {
+                    sender.sendMessage(Component.text("§c- " + problem));
+                }
+            });
+        });
     }
 
     private void handleInfo(CommandSender sender) {
         sender.sendMessage(Component.text("§6§l=== Stormcraft Events ==="));
         sender.sendMessage(Component.text("§fVersion: §e" + plugin.getDescription().getVersion()));
-        sender.sendMessage(Component.text("§fActive Events: §e" + eventManager.getActiveEvents().size()));
+        sender.sendMessage(Component.text("§fActive Events: §e" + eventManager.getActiveEventCount() +
+                "§7/§e" + config.getMaxActiveEvents() + " §7(reaped: " + eventManager.getTotalReaped() + ")"));
 
         // List event types
         sender.sendMessage(Component.text("§fEvent Types:"));
@@ -236,12 +303,13 @@ public class StormEventCommand implements CommandExecutor, TabCompleter {
     private void sendHelp(CommandSender sender) {
         sender.sendMessage(Component.text("§6§l=== Storm Events Commands ==="));
         sender.sendMessage(Component.text("§e/stormevent list §7- List active events"));
+        sender.sendMessage(Component.text("§e/stormevent near [distance] §7- List events near you"));
         sender.sendMessage(Component.text("§e/stormevent info §7- Show plugin information"));
         sender.sendMessage(Component.text("§e/stormevent cooldowns §7- View event cooldowns"));
         sender.sendMessage(Component.text("§e/stormevent difficulty [radius] §7- Show difficulty analysis"));
 
         if (sender.hasPermission("stormcraft.events.admin")) {
-            sender.sendMessage(Component.text("§e/stormevent reload §7- Reload configuration"));
+            sender.sendMessage(Component.text("§e/stormevent reload [dryrun] §7- Reload configuration, or only validate it"));
         }
     }
 
@@ -249,7 +317,7 @@ public class StormEventCommand implements CommandExecutor, TabCompleter {
     public List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command,
                                      @NotNull String alias, String[] args) {
         if (args.length == 1) {
-            List<String> completions = new ArrayList<>(Arrays.asList("list", "info", "cooldowns", "difficulty"));
+            List<String> completions = new ArrayList<>(Arrays.asList("list", "near", "info", "cooldowns", "difficulty"));
 
             if (sender.hasPermission("stormcraft.events.admin")) {
                 completions.add("reload");
@@ -264,6 +332,15 @@ public class StormEventCommand implements CommandExecutor, TabCompleter {
             return Arrays.asList("25", "50", "75", "100");
         }
 
+        if (args.length == 2 && args[0].equalsIgnoreCase("reload")
+                && sender.hasPermission("stormcraft.events.admin")) {
+            return Arrays.asList("dryrun");
+        }
+
+        if (args.length == 2 && args[0].equalsIgnoreCase("near")) {
+            return Arrays.asList("100", "200", "500");
+        }
+
         return new ArrayList<>();
     }
 }
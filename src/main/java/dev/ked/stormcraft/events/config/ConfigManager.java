@@ -1,61 +1,149 @@
 package dev.ked.stormcraft.events.config;
 
 import dev.ked.stormcraft.events.StormcraftEventsPlugin;
+import dev.ked.stormcraft.events.difficulty.ThreatLevel;
 import dev.ked.stormcraft.events.event.EventType;
-import org.bukkit.configuration.ConfigurationSection;
+import dev.ked.stormcraft.events.ui.MessageTemplates;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * Manages plugin configuration files.
+ *
+ * Each load compiles the files into a {@link ConfigSnapshot} and publishes it
+ * through a single volatile reference, so a reload swaps every setting at
+ * once. Getters read the current snapshot; code that needs several values to
+ * agree (async stages, multi-step calculations) should take
+ * {@link #getSnapshot()} once and read from that.
+ *
+ * Reloading is split in two: {@link #compile()} parses and validates the files
+ * that changed since the last load and can run on any thread;
+ * {@link #apply(PendingReload)} swaps the result in and notifies reload
+ * listeners.
  */
 public class ConfigManager {
+    public static final String CONFIG_FILE = "config.yml";
+    public static final String REWARDS_FILE = "rewards.yml";
+    public static final String TOWNS_FILE = "towns.yml";
+    public static final String MESSAGES_FILE = "messages.yml";
+    public static final Set<String> FILES = Set.of(CONFIG_FILE, REWARDS_FILE, TOWNS_FILE, MESSAGES_FILE);
+
     private final StormcraftEventsPlugin plugin;
-    private FileConfiguration config;
-    private FileConfiguration rewards;
-    private FileConfiguration towns;
+    private final List<Consumer<ConfigSnapshot>> reloadListeners = new CopyOnWriteArrayList<>();
+
+    // Guarded by this; the parsed files and content hashes behind the live snapshot
+    private final Map<String, FileConfiguration> files = new HashMap<>();
+    private final Map<String, Integer> fileHashes = new HashMap<>();
 
-    private final Map<EventType, EventConfig> eventConfigs = new HashMap<>();
+    private volatile ConfigSnapshot snapshot;
 
     public ConfigManager(StormcraftEventsPlugin plugin) {
         this.plugin = plugin;
     }
 
+    /**
+     * Load every file and apply the result, even if validation finds problems.
+     * Used at startup, when there is no previous configuration to fall back to.
+     */
     public void loadConfigs() {
         // Create default configs if not exist
         plugin.saveDefaultConfig();
-        saveResource("rewards.yml");
-        saveResource("towns.yml");
-
-        // Load configs
-        config = plugin.getConfig();
-        rewards = loadConfig("rewards.yml");
-        towns = loadConfig("towns.yml");
+        saveResource(REWARDS_FILE);
+        saveResource(TOWNS_FILE);
+        saveResource(MESSAGES_FILE);
 
-        // Load event configs
-        loadEventConfigs();
+        PendingReload pending = compile();
+        for (String problem : pending.report().getProblems()) {
+            plugin.getLogger().warning("Config: " + problem);
+        }
+        if (!pending.snapshot().hasEventTypes()) {
+            plugin.getLogger().warning("No event configurations found!");
+        }
+        apply(pending, true);
 
-        plugin.getLogger().info("Configuration loaded");
+        plugin.getLogger().info("Configuration loaded (" + pending.report().describeSteps() + ")");
     }
 
-    private void loadEventConfigs() {
-        ConfigurationSection eventsSection = config.getConfigurationSection("events.types");
-        if (eventsSection == null) {
-            plugin.getLogger().warning("No event configurations found!");
-            return;
+    /**
+     * Parse and compile the files that changed since the last applied load.
+     * Nothing is published; safe to call from any thread.
+     */
+    public synchronized PendingReload compile() {
+        Map<String, byte[]> contents = new HashMap<>();
+        Set<String> changed = new TreeSet<>();
+        for (String name : FILES) {
+            byte[] bytes = read(name);
+            contents.put(name, bytes);
+            Integer previousHash = fileHashes.get(name);
+            if (previousHash == null || previousHash != Arrays.hashCode(bytes)) {
+                changed.add(name);
+            }
+        }
+
+        ReloadReport report = new ReloadReport(changed);
+        Map<String, FileConfiguration> parsed = new HashMap<>(files);
+        for (String name : changed) {
+            parsed.put(name, parse(name, contents.get(name), report));
         }
 
-        for (EventType type : EventType.values()) {
-            String key = type.name();
-            if (eventsSection.contains(key)) {
-                EventConfig eventConfig = new EventConfig(eventsSection.getConfigurationSection(key));
-                eventConfigs.put(type, eventConfig);
+        ConfigSnapshot base = snapshot;
+        ConfigSnapshot compiled = ConfigSnapshot.compile(parsed.get(CONFIG_FILE), parsed.get(REWARDS_FILE),
+                parsed.get(MESSAGES_FILE), base, report);
+        report.finish();
+
+        Map<String, Integer> hashes = new HashMap<>();
+        contents.forEach((name, bytes) -> hashes.put(name, Arrays.hashCode(bytes)));
+        return new PendingReload(base, compiled, parsed, hashes, report);
+    }
+
+    /**
+     * Publish a compiled configuration if it passed validation.
+     * Listeners run on the calling thread.
+     *
+     * @return true if the live configuration was replaced
+     */
+    public boolean apply(PendingReload pending) {
+        return apply(pending, false);
+    }
+
+    private boolean apply(PendingReload pending, boolean force) {
+        synchronized (this) {
+            if (!force && !pending.report().isValid()) return false;
+            if (snapshot != pending.base()) {
+                // Another reload landed first; this one was compiled against stale tables
+                return false;
             }
+
+            files.clear();
+            files.putAll(pending.files());
+            fileHashes.clear();
+            fileHashes.putAll(pending.hashes());
+            snapshot = pending.snapshot();
+            pending.report().markApplied();
         }
+
+        for (Consumer<ConfigSnapshot> listener : reloadListeners) {
+            listener.accept(pending.snapshot());
+        }
+        return true;
+    }
+
+    /**
+     * Register a callback run after each applied reload.
+     */
+    public void addReloadListener(Consumer<ConfigSnapshot> listener) {
+        reloadListeners.add(listener);
     }
 
     private void saveResource(String fileName) {
@@ -65,101 +153,271 @@ public class ConfigManager {
         }
     }
 
-    private FileConfiguration loadConfig(String fileName) {
-        File file = new File(plugin.getDataFolder(), fileName);
-        return YamlConfiguration.loadConfiguration(file);
+    private byte[] read(String fileName) {
+        try {
+            return Files.readAllBytes(new File(plugin.getDataFolder(), fileName).toPath());
+        } catch (IOException e) {
+            return new byte[0];
+        }
+    }
+
+    private FileConfiguration parse(String fileName, byte[] contents, ReloadReport report) {
+        YamlConfiguration yaml = new YamlConfiguration();
+        try {
+            yaml.loadFromString(new String(contents, StandardCharsets.UTF_8));
+        } catch (InvalidConfigurationException e) {
+            report.problem(fileName + ": " + e.getMessage());
+        }
+
+        // config.yml falls back to the bundled defaults for missing keys
+        if (CONFIG_FILE.equals(fileName)) {
+            InputStream defaults = plugin.getResource(CONFIG_FILE);
+            if (defaults != null) {
+                yaml.setDefaults(YamlConfiguration.loadConfiguration(
+                        new InputStreamReader(defaults, StandardCharsets.UTF_8)));
+            }
+        }
+        return yaml;
+    }
+
+    /**
+     * Get the current compiled configuration. Never changes once taken.
+     */
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Get message templates compiled at the last load.
+     */
+    public MessageTemplates getMessages() {
+        return snapshot.getMessages();
     }
 
     // Getters for event properties
     public boolean isEventEnabled(EventType type) {
-        EventConfig cfg = eventConfigs.get(type);
-        return cfg != null && cfg.enabled;
+        return snapshot.getEvent(type).enabled();
     }
 
     public int getEventWeight(EventType type) {
-        EventConfig cfg = eventConfigs.get(type);
-        return cfg != null ? cfg.weight : 10;
+        return snapshot.getEvent(type).weight();
     }
 
     public int getMinPlayers(EventType type) {
-        EventConfig cfg = eventConfigs.get(type);
-        return cfg != null ? cfg.minPlayers : 1;
+        return snapshot.getEvent(type).minPlayers();
     }
 
     public int getEventDuration(EventType type) {
-        EventConfig cfg = eventConfigs.get(type);
-        return cfg != null ? cfg.duration : 120;
+        return snapshot.getEvent(type).duration();
+    }
+
+    public double getEventRadius(EventType type) {
+        return snapshot.getEvent(type).radius();
     }
 
     public int getEventCooldown(EventType type) {
-        EventConfig cfg = eventConfigs.get(type);
-        return cfg != null ? cfg.cooldown : 300;
+        return snapshot.getEvent(type).cooldown();
     }
 
     public int getEssenceReward(EventType type) {
-        EventConfig cfg = eventConfigs.get(type);
-        return cfg != null ? cfg.essenceReward : 50;
+        return snapshot.getEvent(type).essenceReward();
     }
 
     public int getMinStormIntensity(EventType type) {
-        EventConfig cfg = eventConfigs.get(type);
-        return cfg != null ? cfg.minIntensity : 0;
+        return snapshot.getEvent(type).minIntensity();
     }
 
     public String getMythicMobType(EventType type) {
-        EventConfig cfg = eventConfigs.get(type);
-        return cfg != null ? cfg.mythicMobType : "";
+        return snapshot.getEvent(type).mythicMobType();
     }
 
     // General settings
     public int getGlobalCooldown() {
-        return config.getInt("events.globalCooldown", 60);
+        return snapshot.globalCooldown;
     }
 
     public int getAnnounceRadius() {
-        return config.getInt("events.announceRadius", 900);
+        return snapshot.announceRadius;
     }
 
     public boolean useActionBar() {
-        return config.getBoolean("events.useActionBar", true);
+        return snapshot.useActionBar;
     }
 
     public boolean useBossBar() {
-        return config.getBoolean("events.useBossBar", true);
+        return snapshot.useBossBar;
     }
 
     public boolean chatAnnouncements() {
-        return config.getBoolean("events.chatAnnouncements", true);
+        return snapshot.chatAnnouncements;
+    }
+
+    // Lifecycle settings
+    public int getMaxActiveEvents() {
+        return snapshot.maxActiveEvents;
+    }
+
+    public int getReaperInterval() {
+        return snapshot.reaperInterval;
+    }
+
+    public int getStaleEventGrace() {
+        return snapshot.staleEventGrace;
     }
 
     // Density settings
     public int getDensityCheckInterval() {
-        return config.getInt("events.density.checkInterval", 30);
+        return snapshot.densityCheckInterval;
     }
 
     public double getBaseChance() {
-        return config.getDouble("events.density.baseChance", 0.05);
+        return snapshot.baseChance;
     }
 
     public double getPlayerMultiplier() {
-        return config.getDouble("events.density.playerMultiplier", 0.1);
+        return snapshot.playerMultiplier;
     }
 
     public double getMaxSpawnChance() {
-        return config.getDouble("events.density.maxChance", 0.5);
+        return snapshot.maxSpawnChance;
+    }
+
+    // Level-of-detail settings
+    public int getLodCheckInterval() {
+        return snapshot.lodCheckInterval;
+    }
+
+    public double getLodFullRadius() {
+        return snapshot.lodFullRadius;
+    }
+
+    public double getLodReducedRadius() {
+        return snapshot.lodReducedRadius;
+    }
+
+    public int getLodReducedTickInterval() {
+        return snapshot.lodReducedTickInterval;
+    }
+
+    // Wave spawning settings
+    public int getSpawnsPerTick() {
+        return snapshot.spawnsPerTick;
+    }
+
+    public double getSpawnTickBudgetMs() {
+        return snapshot.spawnTickBudgetMs;
+    }
+
+    // Boss settings
+    public int getBossLeaderboardSize() {
+        return snapshot.bossLeaderboardSize;
+    }
+
+    // HUD settings
+    public int getActionBarInterval() {
+        return snapshot.actionBarInterval;
+    }
+
+    public int getActionBarRefreshTicks() {
+        return snapshot.actionBarRefreshTicks;
+    }
+
+    public int getBossBarInterval() {
+        return snapshot.bossBarInterval;
+    }
+
+    public int getBossBarSteps() {
+        return snapshot.bossBarSteps;
+    }
+
+    public int getBossBarMinUpdateInterval() {
+        return snapshot.bossBarMinUpdateInterval;
+    }
+
+    public int getHudParallelism() {
+        return snapshot.hudParallelism;
+    }
+
+    public int getOutboxSendsPerTick() {
+        return snapshot.outboxSendsPerTick;
+    }
+
+    public int getPositionRefreshInterval() {
+        return snapshot.positionRefreshInterval;
+    }
+
+    // Participation settings
+    public int getMinDwellSeconds() {
+        return snapshot.minDwellSeconds;
+    }
+
+    // Persistence settings
+    public boolean isPersistenceEnabled() {
+        return snapshot.persistenceEnabled;
+    }
+
+    public int getCheckpointInterval() {
+        return snapshot.checkpointInterval;
+    }
+
+    public String getPersistenceFile() {
+        return snapshot.persistenceFile;
+    }
+
+    // Hot reload settings
+    public boolean isReloadWatchEnabled() {
+        return snapshot.reloadWatch;
+    }
+
+    public long getReloadDebounceMs() {
+        return snapshot.reloadDebounceMs;
     }
 
     // Siege settings
     public boolean isSiegeEnabled() {
-        return config.getBoolean("events.types.TOWN_SIEGE.enabled", true);
+        return snapshot.siegeEnabled;
+    }
+
+    /**
+     * MythicMobs mob names used for an event's waves, or empty for vanilla mobs.
+     */
+    public List<String> getWaveMythicMobs(EventType type) {
+        return snapshot.getEvent(type).waveMythicMobs();
+    }
+
+    /**
+     * Towns with a claim this close to a storm can be besieged.
+     */
+    public double getSiegeStormProximity() {
+        return snapshot.siegeStormProximity;
+    }
+
+    /**
+     * Seconds between full TownsAndNations territory resyncs.
+     */
+    public int getTerritoryResyncInterval() {
+        return snapshot.territoryResyncInterval;
     }
 
     public int getSiegeWaveCount() {
-        return config.getInt("events.types.TOWN_SIEGE.waveCount", 3);
+        return getWaveCount(EventType.TOWN_SIEGE);
     }
 
     public int getSiegeMobsPerWave() {
-        return config.getInt("events.types.TOWN_SIEGE.mobsPerWave", 15);
+        return getMobsPerWave(EventType.TOWN_SIEGE);
+    }
+
+    // Wave and objective sizes
+    public int getWaveCount(EventType type) {
+        return snapshot.getEvent(type).waveCount();
+    }
+
+    public int getMobsPerWave(EventType type) {
+        return snapshot.getEvent(type).mobsPerWave();
+    }
+
+    public int getCrystalCount() {
+        return snapshot.getEvent(EventType.STORM_SURGE).crystalCount();
     }
 
     // World settings
@@ -170,146 +428,122 @@ public class ConfigManager {
 
     // Rewards
     public int getParticipationEssence() {
-        return rewards.getInt("rewards.participation.essence", 10);
+        return snapshot.participationEssence;
     }
 
     public int getCompletionEssence() {
-        return rewards.getInt("rewards.completion.essence", 50);
+        return snapshot.completionEssence;
     }
 
     public int getBossTotalEssencePool() {
-        return rewards.getInt("rewards.bosses.totalEssencePool", 1000);
+        return snapshot.bossTotalEssencePool;
     }
 
     public double getMinDamagePercent() {
-        return rewards.getDouble("rewards.bosses.minDamagePercent", 5.0);
+        return snapshot.minDamagePercent;
+    }
+
+    public int getPayoutFlushInterval() {
+        return snapshot.payoutFlushInterval;
+    }
+
+    public int getPayoutMaxRetries() {
+        return snapshot.payoutMaxRetries;
+    }
+
+    public boolean isRewardLedgerEnabled() {
+        return snapshot.rewardLedgerEnabled;
+    }
+
+    public String getRewardLedgerFile() {
+        return snapshot.rewardLedgerFile;
+    }
+
+    public int getRewardLedgerRetentionHours() {
+        return snapshot.rewardLedgerRetentionHours;
     }
 
     // Difficulty settings
     public boolean isDifficultyEnabled() {
-        return config.getBoolean("difficulty.enabled", true);
+        return snapshot.difficultyEnabled;
     }
 
     public double getDifficultyScanRadius() {
-        return config.getDouble("difficulty.scan_radius", 50.0);
+        return snapshot.difficultyScanRadius;
+    }
+
+    public int getDifficultyScanInterval() {
+        return snapshot.difficultyScanInterval;
     }
 
     public double getPartyBonusPerMember() {
-        return config.getDouble("difficulty.party_bonus_per_member", 0.3);
+        return snapshot.partyBonusPerMember;
     }
 
     public double getMaxPartyBonus() {
-        return config.getDouble("difficulty.max_party_bonus", 1.5);
+        return snapshot.maxPartyBonus;
     }
 
     public double getProximityBonusPerPlayer() {
-        return config.getDouble("difficulty.proximity_bonus_per_player", 0.2);
+        return snapshot.proximityBonusPerPlayer;
     }
 
     public double getMaxProximityBonus() {
-        return config.getDouble("difficulty.max_proximity_bonus", 1.0);
+        return snapshot.maxProximityBonus;
     }
 
     public double getWildernessBonus() {
-        return config.getDouble("difficulty.wilderness_bonus", 0.5);
+        return snapshot.wildernessBonus;
     }
 
     public double getStormProximityBonus() {
-        return config.getDouble("difficulty.storm_proximity_bonus", 0.5);
+        return snapshot.stormProximityBonus;
     }
 
     public double getStormProximityRadius() {
-        return config.getDouble("difficulty.storm_proximity_radius", 300.0);
+        return snapshot.stormProximityRadius;
     }
 
     public double getTownClaimMultiplier() {
-        return config.getDouble("difficulty.town_claim_multiplier", 0.5);
+        return snapshot.townClaimMultiplier;
     }
 
-    /**
-     * Get event weight for a specific threat level and event type.
-     * Returns the configured weight or a default value.
-     */
-    public int getDifficultyEventWeight(String threatLevel, EventType eventType) {
-        String path = "difficulty.weights." + threatLevel.toLowerCase() + "." +
-                     eventTypeToConfigKey(eventType);
-        return config.getInt(path, getDefaultWeight(threatLevel, eventType));
+    public boolean isRespectTownClaims() {
+        return snapshot.respectTownClaims;
     }
 
-    /**
-     * Convert EventType to config key (e.g., STORM_SURGE -> storm_surge).
-     */
-    private String eventTypeToConfigKey(EventType type) {
-        return type.name().toLowerCase();
+    public double getRewardScalingFactor() {
+        return snapshot.rewardScalingFactor;
+    }
+
+    public double getPartyCompletionBonus() {
+        return snapshot.partyCompletionBonus;
+    }
+
+    public double getMaxPartyCompletionBonus() {
+        return snapshot.maxPartyCompletionBonus;
     }
 
     /**
-     * Get default weights if not configured.
+     * Get event weight for a specific threat level and event type.
      */
-    private int getDefaultWeight(String threatLevel, EventType type) {
-        return switch (threatLevel.toLowerCase()) {
-            case "low" -> switch (type) {
-                case STORM_SURGE -> 60;
-                case STORM_RIFT -> 30;
-                case TEMPEST_GUARDIAN -> 10;
-                case STORM_TITAN, TOWN_SIEGE -> 0;
-            };
-            case "medium" -> switch (type) {
-                case STORM_SURGE -> 40;
-                case STORM_RIFT -> 35;
-                case TEMPEST_GUARDIAN -> 20;
-                case STORM_TITAN -> 5;
-                case TOWN_SIEGE -> 0;
-            };
-            case "high" -> switch (type) {
-                case STORM_SURGE -> 20;
-                case STORM_RIFT -> 30;
-                case TEMPEST_GUARDIAN -> 35;
-                case STORM_TITAN -> 10;
-                case TOWN_SIEGE -> 5;
-            };
-            case "extreme" -> switch (type) {
-                case STORM_SURGE -> 10;
-                case STORM_RIFT -> 20;
-                case TEMPEST_GUARDIAN -> 40;
-                case STORM_TITAN -> 20;
-                case TOWN_SIEGE -> 10;
-            };
-            default -> 10;
-        };
+    public int getDifficultyEventWeight(ThreatLevel threatLevel, EventType eventType) {
+        return snapshot.getDifficultyWeight(threatLevel, eventType);
     }
 
     /**
      * Get raw config for direct access.
      */
-    public FileConfiguration getConfig() {
-        return config;
+    public synchronized FileConfiguration getConfig() {
+        return files.get(CONFIG_FILE);
     }
 
     /**
-     * Inner class to hold event-specific config.
+     * A compiled but not yet published configuration.
+     *
+     * @param base The snapshot it was compiled against
      */
-    private static class EventConfig {
-        boolean enabled;
-        int weight;
-        int minPlayers;
-        int duration;
-        int cooldown;
-        int essenceReward;
-        int minIntensity;
-        String mythicMobType;
-
-        EventConfig(ConfigurationSection section) {
-            if (section == null) return;
-
-            this.enabled = section.getBoolean("enabled", true);
-            this.weight = section.getInt("weight", 10);
-            this.minPlayers = section.getInt("minPlayers", 1);
-            this.duration = section.getInt("duration", 120);
-            this.cooldown = section.getInt("cooldown", 300);
-            this.essenceReward = section.getInt("essenceReward", 50);
-            this.minIntensity = section.getInt("stormIntensityMin", 0);
-            this.mythicMobType = section.getString("mythicMobType", "");
-        }
+    public record PendingReload(ConfigSnapshot base, ConfigSnapshot snapshot, Map<String, FileConfiguration> files,
+                                Map<String, Integer> hashes, ReloadReport report) {
     }
 }
@@ -0,0 +1,460 @@
+package dev.ked.stormcraft.events.config;
+
+import dev.ked.stormcraft.events.difficulty.ThreatLevel;
+import dev.ked.stormcraft.events.event.EventType;
+import dev.ked.stormcraft.events.spawn.SpawnZone;
+import dev.ked.stormcraft.events.ui.MessageTemplates;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, typed view of config.yml, rewards.yml and messages.yml.
+ *
+ * Compiled once per load so hot paths read plain fields instead of parsing
+ * YAML paths. Per-event settings and spawn zones live in EnumMaps and
+ * difficulty weights in a table indexed by threat level and event type.
+ * Derived tables are only rebuilt when the file they come from changed;
+ * otherwise they are shared with the previous snapshot. A snapshot never changes
+ * after construction, so any thread may hold on to one for a whole
+ * computation and see consistent values. Scalar settings are public final
+ * fields; tables are behind accessors.
+ */
+public final class ConfigSnapshot {
+    // General
+    public final int globalCooldown;
+    public final int announceRadius;
+    public final boolean useActionBar;
+    public final boolean useBossBar;
+    public final boolean chatAnnouncements;
+
+    // Lifecycle
+    public final int maxActiveEvents;
+    public final int reaperInterval;
+    public final int staleEventGrace;
+
+    // Density
+    public final int densityCheckInterval;
+    public final double baseChance;
+    public final double playerMultiplier;
+    public final double maxSpawnChance;
+
+    // Level of detail
+    public final int lodCheckInterval;
+    public final double lodFullRadius;
+    public final double lodReducedRadius;
+    public final int lodReducedTickInterval;
+
+    // Wave spawning
+    public final int spawnsPerTick;
+    public final double spawnTickBudgetMs;
+
+    // Bosses
+    public final int bossLeaderboardSize;
+
+    // HUD
+    public final int actionBarInterval;
+    public final int actionBarRefreshTicks;
+    public final int bossBarInterval;
+    public final int bossBarSteps;
+    public final int bossBarMinUpdateInterval;
+    public final int hudParallelism;
+    public final int outboxSendsPerTick;
+    public final int positionRefreshInterval;
+
+    // Participation
+    public final int minDwellSeconds;
+
+    // Persistence
+    public final boolean persistenceEnabled;
+    public final int checkpointInterval;
+    public final String persistenceFile;
+
+    // Hot reload
+    public final boolean reloadWatch;
+    public final long reloadDebounceMs;
+
+    // Siege
+    public final boolean siegeEnabled;
+    public final double siegeStormProximity;
+    public final int territoryResyncInterval;
+
+    // Rewards
+    public final int participationEssence;
+    public final int completionEssence;
+    public final int bossTotalEssencePool;
+    public final double minDamagePercent;
+    public final int payoutFlushInterval;
+    public final int payoutMaxRetries;
+    public final boolean rewardLedgerEnabled;
+    public final String rewardLedgerFile;
+    public final int rewardLedgerRetentionHours;
+
+    // Difficulty
+    public final boolean difficultyEnabled;
+    public final double difficultyScanRadius;
+    public final int difficultyScanInterval;
+    public final double partyBonusPerMember;
+    public final double maxPartyBonus;
+    public final double proximityBonusPerPlayer;
+    public final double maxProximityBonus;
+    public final double wildernessBonus;
+    public final double stormProximityBonus;
+    public final double stormProximityRadius;
+    public final double townClaimMultiplier;
+    public final boolean respectTownClaims;
+    public final double rewardScalingFactor;
+    public final double partyCompletionBonus;
+    public final double maxPartyCompletionBonus;
+
+    // [threat level ordinal][event type ordinal]
+    private final int[][] difficultyWeights;
+    private final Map<EventType, EventSettings> events;
+    private final Map<SpawnZone.ZoneType, ZoneSettings> zones;
+    private final int zoneWeightTotal;
+    private final MessageTemplates messages;
+
+    private ConfigSnapshot(FileConfiguration config, FileConfiguration rewards, int[][] difficultyWeights,
+                           Map<EventType, EventSettings> events, Map<SpawnZone.ZoneType, ZoneSettings> zones,
+                           MessageTemplates messages) {
+        globalCooldown = config.getInt("events.globalCooldown", 60);
+        announceRadius = config.getInt("events.announceRadius", 900);
+        useActionBar = config.getBoolean("events.useActionBar", true);
+        useBossBar = config.getBoolean("events.useBossBar", true);
+        chatAnnouncements = config.getBoolean("events.chatAnnouncements", true);
+
+        maxActiveEvents = config.getInt("events.lifecycle.maxActiveEvents", 10);
+        reaperInterval = Math.max(1, config.getInt("events.lifecycle.reaperInterval", 10));
+        staleEventGrace = config.getInt("events.lifecycle.staleGrace", 60);
+
+        densityCheckInterval = config.getInt("events.density.checkInterval", 30);
+        baseChance = config.getDouble("events.density.baseChance", 0.05);
+        playerMultiplier = config.getDouble("events.density.playerMultiplier", 0.1);
+        maxSpawnChance = config.getDouble("events.density.maxChance", 0.5);
+
+        lodCheckInterval = Math.max(1, config.getInt("events.lod.checkInterval", 2));
+        lodFullRadius = config.getDouble("events.lod.fullRadius", 64.0);
+        lodReducedRadius = config.getDouble("events.lod.reducedRadius", 192.0);
+        lodReducedTickInterval = config.getInt("events.lod.reducedTickInterval", 5);
+
+        spawnsPerTick = config.getInt("events.spawning.perTick", 4);
+        spawnTickBudgetMs = config.getDouble("events.spawning.tickBudgetMs", 2.0);
+
+        bossLeaderboardSize = Math.max(1, config.getInt("events.bosses.leaderboardSize", 5));
+
+        actionBarInterval = Math.max(1, config.getInt("events.hud.actionBarInterval", 10));
+        actionBarRefreshTicks = Math.max(1, config.getInt("events.hud.actionBarRefresh", 40));
+        bossBarInterval = Math.max(1, config.getInt("events.hud.bossBarInterval", 5));
+        bossBarSteps = Math.max(1, config.getInt("events.hud.bossBarSteps", 100));
+        bossBarMinUpdateInterval = Math.max(0, config.getInt("events.hud.bossBarMinUpdateInterval", 10));
+        int defaultParallelism = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        hudParallelism = Math.max(1, config.getInt("events.hud.threatParallelism", defaultParallelism));
+        outboxSendsPerTick = Math.max(1, config.getInt("events.hud.outboxSendsPerTick", 100));
+        positionRefreshInterval = Math.max(1, config.getInt("events.hud.positionRefresh", 10));
+
+        minDwellSeconds = Math.max(0, config.getInt("events.participation.minDwellSeconds", 30));
+
+        persistenceEnabled = config.getBoolean("events.persistence.enabled", true);
+        checkpointInterval = Math.max(1, config.getInt("events.persistence.checkpointInterval", 60));
+        persistenceFile = config.getString("events.persistence.file", "active-events.dat");
+
+        reloadWatch = config.getBoolean("events.reload.watch", true);
+        reloadDebounceMs = Math.max(50, config.getLong("events.reload.debounceMs", 500));
+
+        siegeEnabled = config.getBoolean("events.types.TOWN_SIEGE.enabled", true);
+        siegeStormProximity = config.getDouble("events.types.TOWN_SIEGE.stormProximity", 900.0);
+        territoryResyncInterval = Math.max(10, config.getInt("events.territories.resyncInterval", 300));
+
+        participationEssence = rewards.getInt("rewards.participation.essence", 10);
+        completionEssence = rewards.getInt("rewards.completion.essence", 50);
+        bossTotalEssencePool = rewards.getInt("rewards.bosses.totalEssencePool", 1000);
+        minDamagePercent = rewards.getDouble("rewards.bosses.minDamagePercent", 5.0);
+        payoutFlushInterval = Math.max(1, rewards.getInt("rewards.payouts.flushInterval", 20));
+        payoutMaxRetries = Math.max(0, rewards.getInt("rewards.payouts.maxRetries", 3));
+        rewardLedgerEnabled = rewards.getBoolean("rewards.ledger.enabled", true);
+        rewardLedgerFile = rewards.getString("rewards.ledger.file", "reward-ledger.log");
+        rewardLedgerRetentionHours = Math.max(1, rewards.getInt("rewards.ledger.retentionHours", 24));
+
+        difficultyEnabled = config.getBoolean("difficulty.enabled", true);
+        difficultyScanRadius = config.getDouble("difficulty.scan_radius", 50.0);
+        difficultyScanInterval = Math.max(1, config.getInt("difficulty.scan_interval", 100));
+        partyBonusPerMember = config.getDouble("difficulty.party_bonus_per_member", 0.3);
+        maxPartyBonus = config.getDouble("difficulty.max_party_bonus", 1.5);
+        proximityBonusPerPlayer = config.getDouble("difficulty.proximity_bonus_per_player", 0.2);
+        maxProximityBonus = config.getDouble("difficulty.max_proximity_bonus", 1.0);
+        wildernessBonus = config.getDouble("difficulty.wilderness_bonus", 0.5);
+        stormProximityBonus = config.getDouble("difficulty.storm_proximity_bonus", 0.5);
+        stormProximityRadius = config.getDouble("difficulty.storm_proximity_radius", 300.0);
+        townClaimMultiplier = config.getDouble("difficulty.town_claim_multiplier", 0.5);
+        respectTownClaims = config.getBoolean("difficulty.respect_town_claims", true);
+        rewardScalingFactor = config.getDouble("difficulty.reward_scaling_factor", 2.5);
+        partyCompletionBonus = config.getDouble("difficulty.party_completion_bonus", 0.1);
+        maxPartyCompletionBonus = config.getDouble("difficulty.max_party_completion_bonus", 0.5);
+
+        this.difficultyWeights = difficultyWeights;
+        this.events = events;
+        this.zones = zones;
+        this.messages = messages;
+
+        int total = 0;
+        for (ZoneSettings zone : zones.values()) {
+            total += Math.max(0, zone.weight());
+        }
+        this.zoneWeightTotal = total;
+    }
+
+    /**
+     * Compile a snapshot from freshly parsed files, rebuilding only the
+     * derived tables whose source file changed, then validate it.
+     *
+     * @param previous The live snapshot, or null to build everything
+     * @param report   Receives rebuild timings and validation problems
+     */
+    static ConfigSnapshot compile(FileConfiguration config, FileConfiguration rewards, FileConfiguration messagesFile,
+                                  ConfigSnapshot previous, ReloadReport report) {
+        boolean configChanged = previous == null || report.getChangedFiles().contains(ConfigManager.CONFIG_FILE);
+        boolean messagesChanged = previous == null || report.getChangedFiles().contains(ConfigManager.MESSAGES_FILE);
+
+        int[][] weights = configChanged
+                ? report.time("weight tables", () -> compileWeights(config)) : previous.difficultyWeights;
+        Map<EventType, EventSettings> events = configChanged
+                ? report.time("event types", () -> compileEvents(config)) : previous.events;
+        Map<SpawnZone.ZoneType, ZoneSettings> zones = configChanged
+                ? report.time("spawn zones", () -> compileZones(config)) : previous.zones;
+        MessageTemplates messages = messagesChanged
+                ? report.time("message templates", () -> MessageTemplates.compile(messagesFile)) : previous.messages;
+
+        ConfigSnapshot snapshot = report.time("settings",
+                () -> new ConfigSnapshot(config, rewards, weights, events, zones, messages));
+        snapshot.validate(report);
+        return snapshot;
+    }
+
+    /**
+     * Record values that would break spawning, scheduling or rewards.
+     */
+    private void validate(ReloadReport report) {
+        if (maxActiveEvents < 0) report.problem("events.lifecycle.maxActiveEvents must not be negative");
+        if (announceRadius <= 0) report.problem("events.announceRadius must be positive");
+        if (densityCheckInterval <= 0) report.problem("events.density.checkInterval must be positive");
+        if (baseChance < 0 || baseChance > 1) report.problem("events.density.baseChance must be between 0 and 1");
+        if (maxSpawnChance < 0 || maxSpawnChance > 1) report.problem("events.density.maxChance must be between 0 and 1");
+        if (lodFullRadius < 0 || lodReducedRadius < lodFullRadius) {
+            report.problem("events.lod.reducedRadius must be at least events.lod.fullRadius");
+        }
+        if (spawnsPerTick < 1) report.problem("events.spawning.perTick must be at least 1");
+        if (spawnTickBudgetMs <= 0) report.problem("events.spawning.tickBudgetMs must be positive");
+
+        if (difficultyScanRadius <= 0) report.problem("difficulty.scan_radius must be positive");
+        if (stormProximityRadius < 0) report.problem("difficulty.storm_proximity_radius must not be negative");
+        if (townClaimMultiplier < 0) report.problem("difficulty.town_claim_multiplier must not be negative");
+
+        for (ThreatLevel level : ThreatLevel.values()) {
+            int total = 0;
+            for (int weight : difficultyWeights[level.ordinal()]) {
+                if (weight < 0) {
+                    report.problem("difficulty.weights." + level.name().toLowerCase() + " has a negative weight");
+                }
+                total += Math.max(0, weight);
+            }
+            if (total == 0) {
+                report.problem("difficulty.weights." + level.name().toLowerCase() + " has no positive weight");
+            }
+        }
+
+        for (Map.Entry<EventType, EventSettings> entry : events.entrySet()) {
+            EventSettings settings = entry.getValue();
+            if (!settings.configured()) continue;
+
+            String path = "events.types." + entry.getKey().name();
+            if (settings.duration() <= 0) report.problem(path + ".duration must be positive");
+            if (settings.radius() <= 0) report.problem(path + ".radius must be positive");
+            if (settings.weight() < 0) report.problem(path + ".weight must not be negative");
+            if (settings.waveCount() < 1) report.problem(path + ".waveCount must be at least 1");
+            if (settings.mobsPerWave() < 0) report.problem(path + ".mobsPerWave must not be negative");
+        }
+
+        for (Map.Entry<SpawnZone.ZoneType, ZoneSettings> entry : zones.entrySet()) {
+            ZoneSettings zone = entry.getValue();
+            String path = "events.spawnZones." + zoneKey(entry.getKey());
+            if (zone.minDistance() < 0 || zone.maxDistance() <= zone.minDistance()) {
+                report.problem(path + " needs 0 <= minDistance < maxDistance");
+            }
+            if (zone.weight() < 0) report.problem(path + ".weight must not be negative");
+        }
+        if (zoneWeightTotal == 0) report.problem("events.spawnZones has no positive weight");
+
+        if (minDamagePercent < 0 || minDamagePercent > 100) {
+            report.problem("rewards.bosses.minDamagePercent must be between 0 and 100");
+        }
+    }
+
+    /**
+     * Get the settings of an event type. Types missing from config.yml are disabled.
+     */
+    public EventSettings getEvent(EventType type) {
+        return events.get(type);
+    }
+
+    /**
+     * Get the spawn weight of an event type at a threat level.
+     */
+    public int getDifficultyWeight(ThreatLevel level, EventType type) {
+        return difficultyWeights[level.ordinal()][type.ordinal()];
+    }
+
+    /**
+     * Get the distances and weight of a spawn zone around a storm.
+     */
+    public ZoneSettings getZone(SpawnZone.ZoneType type) {
+        return zones.get(type);
+    }
+
+    /**
+     * Get the sum of all spawn zone weights.
+     */
+    public int getZoneWeightTotal() {
+        return zoneWeightTotal;
+    }
+
+    public MessageTemplates getMessages() {
+        return messages;
+    }
+
+    public boolean hasEventTypes() {
+        for (EventSettings settings : events.values()) {
+            if (settings.configured()) return true;
+        }
+        return false;
+    }
+
+    private static Map<EventType, EventSettings> compileEvents(FileConfiguration config) {
+        ConfigurationSection types = config.getConfigurationSection("events.types");
+        Map<EventType, EventSettings> events = new EnumMap<>(EventType.class);
+
+        for (EventType type : EventType.values()) {
+            ConfigurationSection section = types != null ? types.getConfigurationSection(type.name()) : null;
+            events.put(type, EventSettings.compile(type, section));
+        }
+        return Collections.unmodifiableMap(events);
+    }
+
+    private static Map<SpawnZone.ZoneType, ZoneSettings> compileZones(FileConfiguration config) {
+        Map<SpawnZone.ZoneType, ZoneSettings> zones = new EnumMap<>(SpawnZone.ZoneType.class);
+
+        for (SpawnZone.ZoneType type : SpawnZone.ZoneType.values()) {
+            ZoneSettings defaults = switch (type) {
+                case STORM_CORE -> new ZoneSettings(0, 50, 60);
+                case STORM_PERIPHERY -> new ZoneSettings(50, 150, 30);
+                case STORM_INFLUENCE -> new ZoneSettings(150, 300, 10);
+            };
+
+            String path = "events.spawnZones." + zoneKey(type) + ".";
+            zones.put(type, new ZoneSettings(
+                    config.getDouble(path + "minDistance", defaults.minDistance()),
+                    config.getDouble(path + "maxDistance", defaults.maxDistance()),
+                    config.getInt(path + "weight", defaults.weight())));
+        }
+        return Collections.unmodifiableMap(zones);
+    }
+
+    private static String zoneKey(SpawnZone.ZoneType type) {
+        return switch (type) {
+            case STORM_CORE -> "stormCore";
+            case STORM_PERIPHERY -> "stormPeriphery";
+            case STORM_INFLUENCE -> "stormInfluence";
+        };
+    }
+
+    private static int[][] compileWeights(FileConfiguration config) {
+        int[][] weights = new int[ThreatLevel.values().length][EventType.values().length];
+
+        for (ThreatLevel level : ThreatLevel.values()) {
+            for (EventType type : EventType.values()) {
+                String path = "difficulty.weights." + level.name().toLowerCase() + "." + type.name().toLowerCase();
+                weights[level.ordinal()][type.ordinal()] = config.getInt(path, getDefaultWeight(level, type));
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * Get default weights if not configured.
+     */
+    private static int getDefaultWeight(ThreatLevel level, EventType type) {
+        return switch (level) {
+            case LOW -> switch (type) {
+                case STORM_SURGE -> 60;
+                case STORM_RIFT -> 30;
+                case TEMPEST_GUARDIAN -> 10;
+                case STORM_TITAN, TOWN_SIEGE -> 0;
+            };
+            case MEDIUM -> switch (type) {
+                case STORM_SURGE -> 40;
+                case STORM_RIFT -> 35;
+                case TEMPEST_GUARDIAN -> 20;
+                case STORM_TITAN -> 5;
+                case TOWN_SIEGE -> 0;
+            };
+            case HIGH -> switch (type) {
+                case STORM_SURGE -> 20;
+                case STORM_RIFT -> 30;
+                case TEMPEST_GUARDIAN -> 35;
+                case STORM_TITAN -> 10;
+                case TOWN_SIEGE -> 5;
+            };
+            case EXTREME -> switch (type) {
+                case STORM_SURGE -> 10;
+                case STORM_RIFT -> 20;
+                case TEMPEST_GUARDIAN -> 40;
+                case STORM_TITAN -> 20;
+                case TOWN_SIEGE -> 10;
+            };
+        };
+    }
+
+    /**
+     * Distance band and pick weight of one spawn zone from events.spawnZones.
+     */
+    public record ZoneSettings(double minDistance, double maxDistance, int weight) {
+    }
+
+    /**
+     * Settings of one event type from events.types.
+     */
+    public record EventSettings(boolean configured, boolean enabled, int weight, int minPlayers, int duration,
+                                int cooldown, int essenceReward, int minIntensity, double radius,
+                                String mythicMobType, int waveCount, int mobsPerWave, int crystalCount,
+                                List<String> waveMythicMobs) {
+
+        static EventSettings compile(EventType type, ConfigurationSection section) {
+            // Wave defaults differ between rifts and sieges
+            int defaultWaves = type == EventType.TOWN_SIEGE ? 3 : 5;
+            int defaultMobs = type == EventType.TOWN_SIEGE ? 15 : 10;
+
+            if (section == null) {
+                return new EventSettings(false, false, 10, 1, 120, 300, 50, 0, 48.0, "",
+                        defaultWaves, defaultMobs, 5, List.of());
+            }
+
+            return new EventSettings(true,
+                    section.getBoolean("enabled", true),
+                    section.getInt("weight", 10),
+                    section.getInt("minPlayers", 1),
+                    section.getInt("duration", 120),
+                    section.getInt("cooldown", 300),
+                    section.getInt("essenceReward", 50),
+                    section.getInt("stormIntensityMin", 0),
+                    section.getDouble("radius", 48.0),
+                    section.getString("mythicMobType", ""),
+                    section.getInt("waveCount", defaultWaves),
+                    section.getInt("mobsPerWave", defaultMobs),
+                    section.getInt("crystalCount", 5),
+                    List.copyOf(section.getStringList("waveMythicMobs")));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package dev.ked.stormcraft.events.config;
+
+import dev.ked.stormcraft.events.scheduler.TaskScheduler;
+import org.bukkit.plugin.Plugin;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloads configuration when its files change on disk.
+ *
+ * A daemon thread watches the data folder. Once writes to a config file have
+ * been quiet for the debounce period, the files are parsed, compiled and
+ * validated on that thread; only a valid result is handed to the global tick
+ * to be swapped in. Invalid edits are logged and the running configuration is
+ * kept.
+ */
+public class ConfigWatcher {
+    private final Plugin plugin;
+    private final TaskScheduler scheduler;
+    private final ConfigManager config;
+    private final long debounceMs;
+
+    private WatchService watchService;
+    private Thread thread;
+
+    public ConfigWatcher(Plugin plugin, TaskScheduler scheduler, ConfigManager config, long debounceMs) {
+        this.plugin = plugin;
+        this.scheduler = scheduler;
+        this.config = config;
+        this.debounceMs = debounceMs;
+    }
+
+    /**
+     * Start watching the data folder.
+     */
+    public void start() {
+        Path folder = plugin.getDataFolder().toPath();
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            folder.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not watch config files: " + e.getMessage());
+            return;
+        }
+
+        thread = new Thread(this::run, "StormcraftEvents-ConfigWatcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stop watching. Pending changes are dropped.
+     */
+    public void stop() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ignored) {
+            }
+            watchService = null;
+        }
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    private void run() {
+        WatchService service = watchService;
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean relevant = drain(key);
+
+                // Editors often write a file in several steps; wait for them to settle
+                while (relevant) {
+                    WatchKey next = service.poll(debounceMs, TimeUnit.MILLISECONDS);
+                    if (next == null) break;
+                    drain(next);
+                }
+
+                if (relevant) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Stopped
+        }
+    }
+
+    /**
+     * Consume a key's events and re-arm it.
+     *
+     * @return true if any event concerned a config file
+     */
+    private boolean drain(WatchKey key) {
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path path && ConfigManager.FILES.contains(path.getFileName().toString())) {
+                relevant = true;
+            }
+        }
+        key.reset();
+        return relevant;
+    }
+
+    private void reload() {
+        ConfigManager.PendingReload pending;
+        try {
+            pending = config.compile();
+        } catch (RuntimeException e) {
+            plugin.getLogger().warning("Config reload failed: " + e.getMessage());
+            return;
+        }
+
+        ReloadReport report = pending.report();
+        if (report.getChangedFiles().isEmpty()) {
+            return;
+        }
+
+        if (!report.isValid()) {
+            plugin.getLogger().warning("Ignoring changes to " + String.join(", ", report.getChangedFiles())
+                    + ", keeping the running configuration:");
+            for (String problem : report.getProblems()) {
+                plugin.getLogger().warning("  " + problem);
+            }
+            return;
+        }
+
+        scheduler.runGlobal(() -> {
+            if (config.apply(pending)) {
+                plugin.getLogger().info("Reloaded " + String.join(", ", report.getChangedFiles())
+                        + ": " + report.describeSteps());
+            }
+        });
+    }
+}
@@ -0,0 +1,93 @@
+package dev.ked.stormcraft.events.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Outcome of compiling a configuration: which files changed, which derived
+ * structures were rebuilt and how long each took, and any validation problems.
+ */
+public class ReloadReport {
+    private final Set<String> changedFiles;
+    private final List<Step> steps = new ArrayList<>();
+    private final List<String> problems = new ArrayList<>();
+    private final long startNanos = System.nanoTime();
+    private long totalNanos = -1;
+    private boolean applied = false;
+
+    public ReloadReport(Set<String> changedFiles) {
+        this.changedFiles = Collections.unmodifiableSet(changedFiles);
+    }
+
+    /**
+     * Run and time one rebuild step.
+     */
+    <T> T time(String name, Supplier<T> step) {
+        long start = System.nanoTime();
+        T result = step.get();
+        steps.add(new Step(name, System.nanoTime() - start));
+        return result;
+    }
+
+    void problem(String message) {
+        problems.add(message);
+    }
+
+    void finish() {
+        this.totalNanos = System.nanoTime() - startNanos;
+    }
+
+    void markApplied() {
+        this.applied = true;
+    }
+
+    public Set<String> getChangedFiles() {
+        return changedFiles;
+    }
+
+    public List<Step> getSteps() {
+        return Collections.unmodifiableList(steps);
+    }
+
+    public List<String> getProblems() {
+        return Collections.unmodifiableList(problems);
+    }
+
+    public boolean isValid() {
+        return problems.isEmpty();
+    }
+
+    /**
+     * Check if the compiled snapshot replaced the live one.
+     */
+    public boolean isApplied() {
+        return applied;
+    }
+
+    /**
+     * One line describing what was rebuilt, e.g.
+     * "weight tables 0.12ms, spawn zones 0.03ms (total 2.41ms)".
+     */
+    public String describeSteps() {
+        StringBuilder sb = new StringBuilder();
+        for (Step step : steps) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(step.name).append(' ').append(formatMillis(step.nanos));
+        }
+        if (sb.length() == 0) sb.append("nothing rebuilt");
+        return sb.append(" (total ").append(formatMillis(totalNanos)).append(')').toString();
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format("%.2fms", nanos / 1_000_000.0);
+    }
+
+    /**
+     * A rebuilt structure and its rebuild time.
+     */
+    public record Step(String name, long nanos) {
+    }
+}
@@ -1,13 +1,21 @@
 package dev.ked.stormcraft.events.difficulty;
 
 import dev.ked.stormcraft.events.config.ConfigManager;
+import dev.ked.stormcraft.events.config.ConfigSnapshot;
 import dev.ked.stormcraft.events.event.EventType;
 import dev.ked.stormcraft.events.integration.StormcraftIntegration;
+import dev.ked.stormcraft.events.integration.TownIndex;
+import dev.ked.stormcraft.events.integration.TownsAndNationsIntegration;
+import dev.ked.stormcraft.events.integration.TownyIntegration;
+import dev.ked.stormcraft.events.scheduler.PlayerPositions;
 import dev.ked.stormcraft.model.TravelingStorm;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -16,35 +24,33 @@ import java.util.Random;
 /**
  * Calculates difficulty multipliers based on player density, party size,
  * wilderness/town status, and storm proximity.
+ *
+ * Bonus settings and event weights live in one immutable {@link Tuning} that
+ * a reload replaces in a single write, so a calculation never mixes old and
+ * new values.
  */
 public class DifficultyCalculator {
     private final JavaPlugin plugin;
     private final ConfigManager config;
     private final PlayerDensityTracker densityTracker;
     private final StormcraftIntegration stormcraftIntegration;
+    private final TownyIntegration towny;
+    private final TownsAndNationsIntegration tan;
     private final Random random = new Random();
 
-    // Configuration values (loaded from config)
-    private double partyBonusPerMember = 0.3;
-    private double maxPartyBonus = 1.5;
-    private double proximityBonusPerPlayer = 0.2;
-    private double maxProximityBonus = 1.0;
-    private double wildernessBonus = 0.5;
-    private double stormProximityBonus = 0.5;
-    private double stormProximityRadius = 300.0;
-    private double townClaimMultiplier = 0.5;
-
-    // Event type weights by threat level
-    private final Map<ThreatLevel, Map<EventType, Integer>> eventWeights = new HashMap<>();
+    private volatile Tuning tuning;
 
     public DifficultyCalculator(JavaPlugin plugin, ConfigManager config,
                                PlayerDensityTracker densityTracker,
-                               StormcraftIntegration stormcraftIntegration) {
+                               StormcraftIntegration stormcraftIntegration,
+                               TownyIntegration towny, TownsAndNationsIntegration tan) {
         this.plugin = plugin;
         this.config = config;
         this.densityTracker = densityTracker;
         this.stormcraftIntegration = stormcraftIntegration;
-        loadWeightsFromConfig();
+        this.towny = towny;
+        this.tan = tan;
+        reload(config.getSnapshot());
     }
 
     /**
@@ -72,42 +78,59 @@ public class DifficultyCalculator {
                 .build();
         }
 
-        // Calculate party bonus
+        // Party members and other (non-party) players nearby
         int partyMembers = densityTracker.getPartyMemberCount(primaryPlayer, nearbyPlayers);
-        double partyBonus = Math.min(partyMembers * partyBonusPerMember, maxPartyBonus);
-
-        // Calculate proximity bonus (non-party players nearby)
         int proximityPlayers = densityTracker.getNonPartyPlayerCount(primaryPlayer, nearbyPlayers);
-        double proximityBonus = Math.min(proximityPlayers * proximityBonusPerPlayer, maxProximityBonus);
 
-        // Check wilderness status
-        boolean inWilderness = isInWilderness(location);
-        double wildernessMultiplier = inWilderness ? wildernessBonus : 0.0;
+        return getFactors().combine(nearbyPlayers.size(), partyMembers, proximityPlayers,
+            isInWilderness(location), isNearStorm(location));
+    }
 
-        // Check storm proximity
-        boolean nearStorm = isNearStorm(location);
-        double stormMultiplier = nearStorm ? stormProximityBonus : 0.0;
+    /**
+     * Calculate the difficulty multiplier from captured player positions, without
+     * touching live players. Party membership is the shared scoreboard team
+     * recorded with each position.
+     *
+     * @param location The location to calculate difficulty for
+     * @param nearby   Positions of nearby players
+     * @return DifficultyMultiplier object with all calculation details
+     */
+    public DifficultyMultiplier calculate(Location location, Collection<PlayerPositions.Position> nearby) {
+        if (nearby.isEmpty()) {
+            return DifficultyMultiplier.builder()
+                .multiplier(1.0)
+                .playerCount(0)
+                .build();
+        }
 
-        // Calculate total multiplier
-        double totalMultiplier = 1.0 + partyBonus + proximityBonus + wildernessMultiplier + stormMultiplier;
+        // The primary player is the one closest to the location
+        PlayerPositions.Position primary = null;
+        double nearestSq = Double.MAX_VALUE;
+        for (PlayerPositions.Position position : nearby) {
+            double distanceSq = position.distanceSquared(location);
+            if (distanceSq < nearestSq) {
+                nearestSq = distanceSq;
+                primary = position;
+            }
+        }
 
-        // Apply town claim reduction if in claimed land
-        if (!inWilderness) {
-            totalMultiplier *= townClaimMultiplier;
+        int partyMembers = 0;
+        for (PlayerPositions.Position position : nearby) {
+            if (position != primary && primary.team() != null && primary.team().equals(position.team())) {
+                partyMembers++;
+            }
         }
+        int proximityPlayers = nearby.size() - 1 - partyMembers;
 
-        return DifficultyMultiplier.builder()
-            .multiplier(totalMultiplier)
-            .playerCount(nearbyPlayers.size())
-            .partyMembers(partyMembers)
-            .proximityPlayers(proximityPlayers)
-            .inWilderness(inWilderness)
-            .nearStorm(nearStorm)
-            .partyBonus(partyBonus)
-            .proximityBonus(proximityBonus)
-            .wildernessBonus(wildernessMultiplier)
-            .stormBonus(stormMultiplier)
-            .build();
+        return getFactors().combine(nearby.size(), partyMembers, proximityPlayers,
+            isInWilderness(location), isNearStorm(location));
+    }
+
+    /**
+     * Get an immutable copy of the current bonus settings, safe to use off the main thread.
+     */
+    public Factors getFactors() {
+        return tuning.factors();
     }
 
     /**
@@ -119,7 +142,7 @@ public class DifficultyCalculator {
      */
     public EventType selectEventType(DifficultyMultiplier difficulty) {
         ThreatLevel threatLevel = difficulty.getThreatLevel();
-        Map<EventType, Integer> weights = eventWeights.get(threatLevel);
+        Map<EventType, Integer> weights = tuning.eventWeights().get(threatLevel);
 
         if (weights == null || weights.isEmpty()) {
             // Fallback to storm surge
@@ -155,7 +178,7 @@ public class DifficultyCalculator {
      * @return Reward scaling multiplier
      */
     public double getRewardMultiplier(DifficultyMultiplier difficulty) {
-        double scalingFactor = 2.5; // Can be made configurable
+        double scalingFactor = config.getRewardScalingFactor();
         return 1.0 + (difficulty.getMultiplier() - 1.0) * scalingFactor;
     }
 
@@ -179,11 +202,21 @@ public class DifficultyCalculator {
 
     /**
      * Check if a location is in wilderness (not in a town claim).
-     * Currently returns true - will be integrated with Towny/TAN in Phase 2.
+     * Reads the local claim copies kept by the Towny or TAN integration, so it
+     * is cheap and safe off the main thread.
      */
-    private boolean isInWilderness(Location location) {
-        // TODO: Integrate with TownyIntegration and TownsAndNationsIntegration
-        // For now, assume all locations are wilderness
+    public boolean isInWilderness(Location location) {
+        if (!config.isRespectTownClaims() || location.getWorld() == null) {
+            return true;
+        }
+
+        if (towny != null && towny.isEnabled()) {
+            TownIndex index = towny.getTownIndex();
+            return index.getAt(location.getWorld().getUID(), location.getX(), location.getZ()) == null;
+        }
+        if (tan != null && tan.isEnabled()) {
+            return !tan.isInTerritory(location);
+        }
         return true;
     }
 
@@ -195,6 +228,7 @@ public class DifficultyCalculator {
             return false;
         }
 
+        double stormProximityRadius = tuning.factors().stormProximityRadius();
         for (TravelingStorm storm : stormcraftIntegration.getActiveStorms()) {
             Location epicenter = storm.getCurrentLocation();
             if (epicenter.getWorld().equals(location.getWorld())) {
@@ -209,64 +243,81 @@ public class DifficultyCalculator {
     }
 
     /**
-     * Load event weights from configuration.
-     * Can be called again to reload weights without restarting.
+     * Rebuild bonus settings and event weights from a compiled configuration
+     * and swap them in at once. Called at construction and after each reload.
      */
-    public void loadWeightsFromConfig() {
-        eventWeights.clear();
+    public void reload(ConfigSnapshot snapshot) {
+        Factors factors = new Factors(snapshot.partyBonusPerMember, snapshot.maxPartyBonus,
+            snapshot.proximityBonusPerPlayer, snapshot.maxProximityBonus,
+            snapshot.wildernessBonus, snapshot.stormProximityBonus,
+            snapshot.stormProximityRadius, snapshot.townClaimMultiplier);
 
+        Map<ThreatLevel, Map<EventType, Integer>> eventWeights = new EnumMap<>(ThreatLevel.class);
         for (ThreatLevel level : ThreatLevel.values()) {
-            Map<EventType, Integer> weights = new HashMap<>();
+            Map<EventType, Integer> weights = new EnumMap<>(EventType.class);
 
             for (EventType type : EventType.values()) {
-                int weight = config.getDifficultyEventWeight(level.name(), type);
-                weights.put(type, weight);
+                weights.put(type, snapshot.getDifficultyWeight(level, type));
             }
 
-            eventWeights.put(level, weights);
+            eventWeights.put(level, Collections.unmodifiableMap(weights));
         }
 
-        plugin.getLogger().info("Loaded difficulty event weights from config");
+        this.tuning = new Tuning(factors, Collections.unmodifiableMap(eventWeights));
     }
 
-    // Configuration setters
-    public void setPartyBonusPerMember(double partyBonusPerMember) {
-        this.partyBonusPerMember = partyBonusPerMember;
-    }
-
-    public void setMaxPartyBonus(double maxPartyBonus) {
-        this.maxPartyBonus = maxPartyBonus;
-    }
-
-    public void setProximityBonusPerPlayer(double proximityBonusPerPlayer) {
-        this.proximityBonusPerPlayer = proximityBonusPerPlayer;
-    }
-
-    public void setMaxProximityBonus(double maxProximityBonus) {
-        this.maxProximityBonus = maxProximityBonus;
-    }
-
-    public void setWildernessBonus(double wildernessBonus) {
-        this.wildernessBonus = wildernessBonus;
-    }
-
-    public void setStormProximityBonus(double stormProximityBonus) {
-        this.stormProximityBonus = stormProximityBonus;
-    }
-
-    public void setStormProximityRadius(double stormProximityRadius) {
-        this.stormProximityRadius = stormProximityRadius;
-    }
+    /**
+     * Bonus settings used to turn counts and flags into a multiplier.
+     */
+    public record Factors(double partyBonusPerMember, double maxPartyBonus,
+                          double proximityBonusPerPlayer, double maxProximityBonus,
+                          double wildernessBonus, double stormProximityBonus,
+                          double stormProximityRadius, double townClaimMultiplier) {
+
+        /**
+         * Combine already-counted inputs into a difficulty multiplier.
+         *
+         * @param playerCount      Nearby players, including the primary player
+         * @param partyMembers     Nearby party members of the primary player
+         * @param proximityPlayers Nearby players outside the party
+         */
+        public DifficultyMultiplier combine(int playerCount, int partyMembers, int proximityPlayers,
+                                            boolean inWilderness, boolean nearStorm) {
+            double partyBonus = Math.min(partyMembers * partyBonusPerMember, maxPartyBonus);
+            double proximityBonus = Math.min(proximityPlayers * proximityBonusPerPlayer, maxProximityBonus);
+            double wildernessMultiplier = inWilderness ? wildernessBonus : 0.0;
+            double stormMultiplier = nearStorm ? stormProximityBonus : 0.0;
+
+            // Calculate total multiplier
+            double totalMultiplier = 1.0 + partyBonus + proximityBonus + wildernessMultiplier + stormMultiplier;
+
+            // Apply town claim reduction if in claimed land
+            if (!inWilderness) {
+                totalMultiplier *= townClaimMultiplier;
+            }
 
-    public void setTownClaimMultiplier(double townClaimMultiplier) {
-        this.townClaimMultiplier = townClaimMultiplier;
+            return DifficultyMultiplier.builder()
+                .multiplier(totalMultiplier)
+                .playerCount(playerCount)
+                .partyMembers(partyMembers)
+                .proximityPlayers(proximityPlayers)
+                .inWilderness(inWilderness)
+                .nearStorm(nearStorm)
+                .partyBonus(partyBonus)
+                .proximityBonus(proximityBonus)
+                .wildernessBonus(wildernessMultiplier)
+                .stormBonus(stormMultiplier)
+                .build();
+        }
     }
 
-    public void setEventWeights(ThreatLevel level, Map<EventType, Integer> weights) {
-        eventWeights.put(level, weights);
+    public Map<ThreatLevel, Map<EventType, Integer>> getEventWeights() {
+        return new HashMap<>(tuning.eventWeights());
     }
 
-    public Map<ThreatLevel, Map<EventType, Integer>> getEventWeights() {
-        return new HashMap<>(eventWeights);
+    /**
+     * Everything a calculation reads from configuration, replaced as a whole on reload.
+     */
+    private record Tuning(Factors factors, Map<ThreatLevel, Map<EventType, Integer>> eventWeights) {
     }
 }
@@ -19,6 +19,8 @@ public class DifficultyMultiplier {
     private final double wildernessBonus;
     private final double stormBonus;
 
+    private String compactDisplay;
+
     private DifficultyMultiplier(Builder builder) {
         this.multiplier = builder.multiplier;
         this.playerCount = builder.playerCount;
@@ -117,11 +119,17 @@ public class DifficultyMultiplier {
      * @return Compact string for action bar display
      */
     public String getCompactDisplay() {
-        return String.format("⚡ %.1fx | 👥 %d | %s | %s",
-            multiplier,
-            playerCount,
-            inWilderness ? "🌍 Wild" : "🏘️ Town",
-            threatLevel.getDisplayName());
+        // Built once per instance; the action bar asks for it every refresh
+        if (compactDisplay == null) {
+            long tenths = Math.round(multiplier * 10);
+            compactDisplay = new StringBuilder(48)
+                .append("⚡ ").append(tenths / 10).append('.').append(tenths % 10).append("x | 👥 ")
+                .append(playerCount).append(" | ")
+                .append(inWilderness ? "🌍 Wild" : "🏘️ Town").append(" | ")
+                .append(threatLevel.getDisplayName())
+                .toString();
+        }
+        return compactDisplay;
     }
 
     public static Builder builder() {
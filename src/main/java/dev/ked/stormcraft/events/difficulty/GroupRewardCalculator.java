@@ -3,8 +3,8 @@ package dev.ked.stormcraft.events.difficulty;
 import dev.ked.stormcraft.events.config.ConfigManager;
 import dev.ked.stormcraft.events.event.Event;
 import dev.ked.stormcraft.events.event.EventType;
-import dev.ked.stormcraft.events.integration.EssenceIntegration;
-import net.milkbowl.vault.economy.Economy;
+import dev.ked.stormcraft.events.reward.PayoutQueue;
+import dev.ked.stormcraft.events.ui.NotificationOutbox;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -17,18 +17,17 @@ import java.util.*;
 public class GroupRewardCalculator {
     private final JavaPlugin plugin;
     private final ConfigManager config;
-    private final EssenceIntegration essence;
-    private final Economy economy;
+    private final PayoutQueue payouts;
     private final PlayerDensityTracker densityTracker;
+    private final NotificationOutbox outbox;
 
-    public GroupRewardCalculator(JavaPlugin plugin, ConfigManager config,
-                                EssenceIntegration essence, Economy economy,
-                                PlayerDensityTracker densityTracker) {
+    public GroupRewardCalculator(JavaPlugin plugin, ConfigManager config, PayoutQueue payouts,
+                                PlayerDensityTracker densityTracker, NotificationOutbox outbox) {
         this.plugin = plugin;
         this.config = config;
-        this.essence = essence;
-        this.economy = economy;
+        this.payouts = payouts;
         this.densityTracker = densityTracker;
+        this.outbox = outbox;
     }
 
     /**
@@ -70,10 +69,8 @@ public class GroupRewardCalculator {
         for (Player player : participants) {
             rewards.put(player, rewardPerPlayer);
 
-            // Actually award the essence
-            if (essence != null && essence.isEnabled() && economy != null) {
-                essence.awardEssence(player, (int) Math.round(rewardPerPlayer), economy);
-            }
+            // Queue the essence payout
+            payouts.enqueue(player.getUniqueId(), Math.round(rewardPerPlayer), event.getEventId().toString());
 
             // Send breakdown message
             sendRewardBreakdown(player, event, baseReward, rewardPerPlayer,
@@ -91,7 +88,7 @@ public class GroupRewardCalculator {
      * @return The reward scaling factor
      */
     private double calculateRewardScaling(double difficultyMultiplier) {
-        double scalingFactor = config.getConfig().getDouble("difficulty.reward_scaling_factor", 2.5);
+        double scalingFactor = config.getRewardScalingFactor();
         return 1.0 + (difficultyMultiplier - 1.0) * scalingFactor;
     }
 
@@ -107,16 +104,15 @@ public class GroupRewardCalculator {
             return 0.0;
         }
 
-        double bonusPerMember = config.getConfig()
-            .getDouble("difficulty.party_completion_bonus", 0.1);
-        double maxBonus = config.getConfig()
-            .getDouble("difficulty.max_party_completion_bonus", 0.5);
+        double bonusPerMember = config.getPartyCompletionBonus();
+        double maxBonus = config.getMaxPartyCompletionBonus();
 
         return Math.min(partySize * bonusPerMember, maxBonus);
     }
 
     /**
      * Send detailed reward breakdown to player.
+     * Lines are queued in the outbox and arrive as one message.
      */
     private void sendRewardBreakdown(Player player, Event event, int baseReward,
                                      double finalReward, double difficultyMult,
@@ -124,17 +120,17 @@ public class GroupRewardCalculator {
         EventType type = event.getType();
         DifficultyMultiplier difficulty = event.getDifficulty();
 
-        player.sendMessage("§a§l✓ " + type.getDisplayName() + " Defeated!");
+        outbox.queueReward(player, "§a§l✓ " + type.getDisplayName() + " Defeated!");
 
         // Show difficulty if present
         if (difficulty != null) {
-            player.sendMessage("§7Difficulty: " + difficulty.getThreatLevel().getDisplayName() +
+            outbox.queueReward(player, "§7Difficulty: " + difficulty.getThreatLevel().getDisplayName() +
                              String.format(" §f(%.1fx)", difficultyMult));
         }
 
         // Show party info if in group
         if (partySize > 1) {
-            player.sendMessage(String.format("§7Party: §f%d players", partySize));
+            outbox.queueReward(player, String.format("§7Party: §f%d players", partySize));
         }
 
         // Calculate component breakdowns
@@ -144,17 +140,17 @@ public class GroupRewardCalculator {
         double partyBonusAmount = scaledBase * partyBonus;
 
         // Show final reward
-        player.sendMessage(String.format("§e+ %d Essence §7(base: %d)",
+        outbox.queueReward(player, String.format("§e+ %d Essence §7(base: %d)",
             (int) Math.round(finalReward), baseReward));
 
         // Show breakdown if any bonuses applied
         if (difficultyBonus > 0 || partyBonusAmount > 0) {
             if (difficultyBonus > 0) {
-                player.sendMessage(String.format("§7  Difficulty: §e+%d",
+                outbox.queueReward(player, String.format("§7  Difficulty: §e+%d",
                     (int) Math.round(difficultyBonus / partySize)));
             }
             if (partyBonusAmount > 0) {
-                player.sendMessage(String.format("§7  Party Bonus: §e+%d",
+                outbox.queueReward(player, String.format("§7  Party Bonus: §e+%d",
                     (int) Math.round(partyBonusAmount / partySize)));
             }
         }
@@ -210,17 +206,15 @@ public class GroupRewardCalculator {
             double playerReward = scaledPool * (damage / totalDamage);
             rewards.put(player, playerReward);
 
-            // Award essence
-            if (essence != null && essence.isEnabled() && economy != null) {
-                essence.awardEssence(player, (int) Math.round(playerReward), economy);
-            }
+            // Queue the essence payout
+            payouts.enqueue(player.getUniqueId(), Math.round(playerReward), event.getEventId().toString());
 
             // Send message
-            player.sendMessage(String.format("§a+ %d Essence §7(%.1f%% damage)",
+            outbox.queueReward(player, String.format("§a+ %d Essence §7(%.1f%% damage)",
                 (int) Math.round(playerReward), damagePercent));
 
             if (difficulty != null) {
-                player.sendMessage("§7Difficulty: " + difficulty.getThreatLevel().getDisplayName() +
+                outbox.queueReward(player, "§7Difficulty: " + difficulty.getThreatLevel().getDisplayName() +
                                  String.format(" §f(%.1fx)", difficultyMult));
             }
         }
@@ -237,10 +231,8 @@ public class GroupRewardCalculator {
     public void awardParticipationReward(Player player, Event event) {
         int participationReward = config.getParticipationEssence();
 
-        if (essence != null && essence.isEnabled() && economy != null) {
-            essence.awardEssence(player, participationReward, economy);
-        }
+        payouts.enqueue(player.getUniqueId(), participationReward, event.getEventId() + "/participation");
 
-        player.sendMessage(String.format("§7+ %d Essence §8(participation)", participationReward));
+        outbox.queueReward(player, String.format("§7+ %d Essence §8(participation)", participationReward));
     }
 }
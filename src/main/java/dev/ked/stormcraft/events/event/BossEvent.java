@@ -0,0 +1,19 @@
+package dev.ked.stormcraft.events.event;
+
+import org.bukkit.entity.Entity;
+
+/**
+ * An event built around a single boss mob.
+ */
+public interface BossEvent {
+    /**
+     * Get the boss entity.
+     * @return The boss, or null if it has not spawned or its chunk is not loaded yet
+     */
+    Entity getBossEntity();
+
+    /**
+     * Get the damage dealt to the boss so far.
+     */
+    DamageTracker getDamageTracker();
+}
@@ -0,0 +1,132 @@
+package dev.ked.stormcraft.events.event;
+
+import java.util.UUID;
+
+/**
+ * Fixed-size top-K damage leaderboard updated on every damage record.
+ *
+ * Player damage only ever grows, so a player outside the board can only enter
+ * by passing the last entry, and a player on the board only ever moves up.
+ * Each update is a single insertion step over at most K entries; reads walk
+ * the board in rank order without sorting or allocating.
+ */
+public class DamageLeaderboard {
+    private final int capacity;
+    private final int[] indices;
+    private final UUID[] players;
+    private final double[] damage;
+    private int size = 0;
+
+    public DamageLeaderboard(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.indices = new int[this.capacity];
+        this.players = new UUID[this.capacity];
+        this.damage = new double[this.capacity];
+    }
+
+    /**
+     * Update a player's total.
+     *
+     * @param index    Compact player index from the damage tracker
+     * @param playerId Player id
+     * @param total    Player's new running total
+     */
+    public synchronized void update(int index, UUID playerId, double total) {
+        int rank = rankOf(index);
+
+        if (rank < 0) {
+            if (size < capacity) {
+                rank = size++;
+            } else if (total > damage[capacity - 1]) {
+                rank = capacity - 1; // Evict the last entry
+            } else {
+                return;
+            }
+            indices[rank] = index;
+            players[rank] = playerId;
+            damage[rank] = total;
+        } else {
+            // Concurrent writers may report totals out of order; keep the highest
+            if (total <= damage[rank]) return;
+            damage[rank] = total;
+        }
+
+        // Move up past anyone with less damage
+        while (rank > 0 && damage[rank] > damage[rank - 1]) {
+            swap(rank, rank - 1);
+            rank--;
+        }
+    }
+
+    /**
+     * Visit entries from highest to lowest damage.
+     */
+    public synchronized void forEach(Entry action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(i + 1, players[i], damage[i]);
+        }
+    }
+
+    /**
+     * Get the player at a rank.
+     * @param rank Zero-based rank
+     */
+    public synchronized UUID getPlayer(int rank) {
+        return rank < size ? players[rank] : null;
+    }
+
+    /**
+     * Get the damage at a rank.
+     * @param rank Zero-based rank
+     */
+    public synchronized double getDamage(int rank) {
+        return rank < size ? damage[rank] : 0.0;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < size; i++) {
+            players[i] = null;
+        }
+        size = 0;
+    }
+
+    private int rankOf(int index) {
+        for (int i = 0; i < size; i++) {
+            if (indices[i] == index) return i;
+        }
+        return -1;
+    }
+
+    private void swap(int a, int b) {
+        int index = indices[a];
+        indices[a] = indices[b];
+        indices[b] = index;
+
+        UUID player = players[a];
+        players[a] = players[b];
+        players[b] = player;
+
+        double value = damage[a];
+        damage[a] = damage[b];
+        damage[b] = value;
+    }
+
+    /**
+     * Receives leaderboard entries.
+     */
+    @FunctionalInterface
+    public interface Entry {
+        /**
+         * @param rank One-based rank
+         */
+        void accept(int rank, UUID playerId, double damage);
+    }
+}
@@ -1,50 +1,122 @@
 package dev.ked.stormcraft.events.event;
 
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
 import java.util.stream.Collectors;
 
 /**
  * Tracks damage dealt by players to boss entities.
  * Used for damage-based reward distribution.
+ *
+ * Each player gets a compact index on first hit; per-player damage and the
+ * running total are striped adders, so concurrent writers do not contend and
+ * total/percent queries never iterate contributors. A top-K leaderboard is
+ * kept up to date on every hit for live displays, and each player has a
+ * rolling DPS meter.
  */
 public class DamageTracker {
-    private final Map<UUID, Double> damageDealt = new HashMap<>();
     private final double minDamagePercent;
 
+    private final Map<UUID, Integer> playerIndex = new ConcurrentHashMap<>();
+    private volatile UUID[] players = new UUID[16];
+    private volatile DoubleAdder[] damage = new DoubleAdder[16];
+    private volatile DpsMeter[] meters = new DpsMeter[16];
+    private volatile int playerCount = 0;
+    private final DoubleAdder totalDamage = new DoubleAdder();
+    private final DamageLeaderboard leaderboard;
+    private final int fightStartTick;
+
     public DamageTracker(double minDamagePercent) {
+        this(minDamagePercent, 5);
+    }
+
+    public DamageTracker(double minDamagePercent, int leaderboardSize) {
         this.minDamagePercent = minDamagePercent;
+        this.leaderboard = new DamageLeaderboard(leaderboardSize);
+        this.fightStartTick = Bukkit.getCurrentTick();
     }
 
     /**
      * Record damage dealt by a player.
      */
     public void recordDamage(Player player, double damage) {
-        damageDealt.merge(player.getUniqueId(), damage, Double::sum);
+        recordDamage(player.getUniqueId(), damage);
     }
 
     /**
      * Record damage by UUID (for offline tracking).
      */
     public void recordDamage(UUID playerId, double damage) {
-        damageDealt.merge(playerId, damage, Double::sum);
+        if (damage <= 0) return;
+
+        int index = indexOf(playerId);
+        DoubleAdder playerDamage = this.damage[index];
+        playerDamage.add(damage);
+        totalDamage.add(damage);
+        leaderboard.update(index, playerId, playerDamage.sum());
+        meters[index].record(Bukkit.getCurrentTick(), damage);
+    }
+
+    /**
+     * Restore a player's total from a saved fight. Only the total and the
+     * leaderboard are set; the DPS meter is left empty since the hits did not
+     * happen now.
+     */
+    public void restore(UUID playerId, double damage) {
+        if (damage <= 0) return;
+
+        int index = indexOf(playerId);
+        DoubleAdder playerDamage = this.damage[index];
+        playerDamage.add(damage);
+        totalDamage.add(damage);
+        leaderboard.update(index, playerId, playerDamage.sum());
+    }
+
+    /**
+     * Get the compact index for a player, assigning one on first use.
+     */
+    private int indexOf(UUID playerId) {
+        Integer index = playerIndex.get(playerId);
+        if (index != null) return index;
+
+        synchronized (this) {
+            index = playerIndex.get(playerId);
+            if (index != null) return index;
+
+            int next = playerCount;
+            if (next == players.length) {
+                players = Arrays.copyOf(players, next * 2);
+                damage = Arrays.copyOf(damage, next * 2);
+                meters = Arrays.copyOf(meters, next * 2);
+            }
+            players[next] = playerId;
+            damage[next] = new DoubleAdder();
+            meters[next] = new DpsMeter(fightStartTick);
+            playerCount = next + 1;
+
+            // Publish last so readers that find the index also see the slot
+            playerIndex.put(playerId, next);
+            return next;
+        }
     }
 
     /**
      * Get total damage dealt by all players.
      */
     public double getTotalDamage() {
-        return damageDealt.values().stream()
-                .mapToDouble(Double::doubleValue)
-                .sum();
+        return totalDamage.sum();
     }
 
     /**
      * Get damage dealt by a specific player.
      */
     public double getDamage(UUID playerId) {
-        return damageDealt.getOrDefault(playerId, 0.0);
+        Integer index = playerIndex.get(playerId);
+        return index != null ? damage[index].sum() : 0.0;
     }
 
     /**
@@ -66,12 +138,14 @@ public class DamageTracker {
 
         Map<UUID, Integer> rewards = new HashMap<>();
 
-        for (Map.Entry<UUID, Double> entry : damageDealt.entrySet()) {
-            double damagePercent = (entry.getValue() / totalDamage) * 100;
+        int count = playerCount;
+        for (int i = 0; i < count; i++) {
+            double dealt = damage[i].sum();
+            double damagePercent = (dealt / totalDamage) * 100;
 
             if (damagePercent >= minDamagePercent) {
-                int reward = (int) ((entry.getValue() / totalDamage) * totalRewardPool);
-                rewards.put(entry.getKey(), Math.max(1, reward)); // Minimum 1 reward
+                int reward = (int) ((dealt / totalDamage) * totalRewardPool);
+                rewards.put(players[i], Math.max(1, reward)); // Minimum 1 reward
             }
         }
 
@@ -80,32 +154,92 @@ public class DamageTracker {
 
     /**
      * Get top contributors sorted by damage (descending).
+     * Served from the leaderboard when the limit fits in it.
      */
     public List<Map.Entry<UUID, Double>> getTopContributors(int limit) {
-        return damageDealt.entrySet().stream()
+        if (limit <= leaderboard.getCapacity()) {
+            List<Map.Entry<UUID, Double>> top = new ArrayList<>(limit);
+            leaderboard.forEach((rank, playerId, dealt) -> {
+                if (rank <= limit) {
+                    top.add(Map.entry(playerId, dealt));
+                }
+            });
+            return top;
+        }
+
+        return snapshot().entrySet().stream()
                 .sorted(Map.Entry.<UUID, Double>comparingByValue().reversed())
                 .limit(limit)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get a player's DPS meter.
+     * @return The meter, or null if the player has not dealt damage
+     */
+    public DpsMeter getDpsMeter(UUID playerId) {
+        Integer index = playerIndex.get(playerId);
+        return index != null ? meters[index] : null;
+    }
+
+    /**
+     * Get a player's damage per second over a window.
+     */
+    public double getDps(UUID playerId, DpsMeter.Window window) {
+        DpsMeter meter = getDpsMeter(playerId);
+        return meter != null ? meter.getDps(window, Bukkit.getCurrentTick()) : 0.0;
+    }
+
+    /**
+     * Get the live top-K leaderboard.
+     */
+    public DamageLeaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
     /**
      * Get all players who contributed.
      */
     public Set<UUID> getAllContributors() {
-        return new HashSet<>(damageDealt.keySet());
+        return new HashSet<>(playerIndex.keySet());
+    }
+
+    /**
+     * Get the number of players who contributed.
+     */
+    public int getContributorCount() {
+        return playerCount;
     }
 
     /**
      * Check if a player has contributed.
      */
     public boolean hasContributed(UUID playerId) {
-        return damageDealt.containsKey(playerId) && damageDealt.get(playerId) > 0;
+        return getDamage(playerId) > 0;
+    }
+
+    /**
+     * Get a copy of all damage records.
+     */
+    public Map<UUID, Double> snapshot() {
+        Map<UUID, Double> copy = new HashMap<>();
+        int count = playerCount;
+        for (int i = 0; i < count; i++) {
+            copy.put(players[i], damage[i].sum());
+        }
+        return copy;
     }
 
     /**
      * Clear all damage records.
      */
-    public void clear() {
-        damageDealt.clear();
+    public synchronized void clear() {
+        playerIndex.clear();
+        players = new UUID[16];
+        damage = new DoubleAdder[16];
+        meters = new DpsMeter[16];
+        playerCount = 0;
+        totalDamage.reset();
+        leaderboard.clear();
     }
 }
@@ -0,0 +1,113 @@
+package dev.ked.stormcraft.events.event;
+
+import java.util.Arrays;
+
+/**
+ * Rolling damage-per-second meter for a single boss participant.
+ *
+ * Damage is bucketed per server tick in a fixed ring covering the longest
+ * window. Running sums for each window are adjusted as buckets age out, so
+ * recording and querying never allocate or rescan the ring.
+ */
+public class DpsMeter {
+    private static final int RING_TICKS = 600;
+
+    private final double[] buckets = new double[RING_TICKS];
+    private final int fightStartTick;
+    private int headTick = -1;
+    private double shortSum = 0;
+    private double longSum = 0;
+    private double total = 0;
+
+    /**
+     * @param fightStartTick Server tick the fight started on, for whole-fight DPS
+     */
+    public DpsMeter(int fightStartTick) {
+        this.fightStartTick = fightStartTick;
+    }
+
+    /**
+     * Record damage dealt on a tick.
+     */
+    public synchronized void record(int tick, double damage) {
+        advance(tick);
+        buckets[Math.floorMod(tick, RING_TICKS)] += damage;
+        shortSum += damage;
+        longSum += damage;
+        total += damage;
+    }
+
+    /**
+     * Get damage per second over a window ending at the given tick.
+     */
+    public synchronized double getDps(Window window, int tick) {
+        advance(tick);
+
+        int elapsedTicks = Math.max(1, tick - fightStartTick + 1);
+        return switch (window) {
+            case FIVE_SECONDS -> shortSum / seconds(Math.min(window.ticks, elapsedTicks));
+            case THIRTY_SECONDS -> longSum / seconds(Math.min(window.ticks, elapsedTicks));
+            case FIGHT -> total / seconds(elapsedTicks);
+        };
+    }
+
+    /**
+     * Get total damage recorded.
+     */
+    public synchronized double getTotal() {
+        return total;
+    }
+
+    /**
+     * Move the head to a tick, dropping buckets that leave each window.
+     */
+    private void advance(int tick) {
+        if (headTick < 0) {
+            headTick = tick;
+            return;
+        }
+        if (tick <= headTick) return;
+
+        if (tick - headTick >= RING_TICKS) {
+            // Idle longer than the longest window
+            Arrays.fill(buckets, 0);
+            shortSum = 0;
+            longSum = 0;
+            headTick = tick;
+            return;
+        }
+
+        int shortTicks = Window.FIVE_SECONDS.ticks;
+        for (int t = headTick + 1; t <= tick; t++) {
+            shortSum -= buckets[Math.floorMod(t - shortTicks, RING_TICKS)];
+
+            int slot = Math.floorMod(t, RING_TICKS);
+            longSum -= buckets[slot];
+            buckets[slot] = 0;
+        }
+        headTick = tick;
+
+        // Guard against floating point drift
+        if (shortSum < 0) shortSum = 0;
+        if (longSum < 0) longSum = 0;
+    }
+
+    private static double seconds(int ticks) {
+        return Math.max(1, ticks) / 20.0;
+    }
+
+    /**
+     * DPS measurement window.
+     */
+    public enum Window {
+        FIVE_SECONDS(100),
+        THIRTY_SECONDS(RING_TICKS),
+        FIGHT(0);
+
+        private final int ticks;
+
+        Window(int ticks) {
+            this.ticks = ticks;
+        }
+    }
+}
@@ -2,25 +2,49 @@ package dev.ked.stormcraft.events.event;
 
 import dev.ked.stormcraft.events.difficulty.DifficultyMultiplier;
 import dev.ked.stormcraft.events.objectives.Objective;
+import dev.ked.stormcraft.events.persistence.EventSnapshot;
 import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.Mob;
 import org.bukkit.entity.Player;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Base class for all storm events.
  * Handles lifecycle, participant tracking, and objective management.
  */
 public abstract class Event {
-    protected final UUID eventId;
+    protected UUID eventId;
     protected final EventType type;
     protected final Location location;
-    protected final long startTime;
+    protected long startTime;
     protected EventState state;
     protected int durationSeconds;
+    // Written from player threads as they enter and leave
     protected Set<UUID> participants;
+    private final Set<UUID> contributors = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, Long> dwellMillis = new ConcurrentHashMap<>();
     protected List<Objective> objectives;
     protected DifficultyMultiplier difficulty;
+    protected double radius = 48.0;
+
+    // Entities spawned by this event, keyed by entity id
+    protected final EventEntitySet trackedEntities = new EventEntitySet();
+    private EventEntityTracker entityTracker;
+
+    // Proximity level of detail
+    private volatile EventLod lod = EventLod.FULL;
+    private int reducedTickInterval = 5;
+    private int skippedTicks = 0;
+    private final List<Runnable> deferredUntilAwake = new ArrayList<>();
+
+    // Lifecycle routing back to the manager
+    private EndHandler endHandler;
+    private final AtomicBoolean ended = new AtomicBoolean(false);
 
     public Event(EventType type, Location location, int durationSeconds) {
         this.eventId = UUID.randomUUID();
@@ -29,7 +53,7 @@ public abstract class Event {
         this.durationSeconds = durationSeconds;
         this.startTime = System.currentTimeMillis();
         this.state = EventState.SPAWNING;
-        this.participants = new HashSet<>();
+        this.participants = ConcurrentHashMap.newKeySet();
         this.objectives = new ArrayList<>();
     }
 
@@ -44,6 +68,44 @@ public abstract class Event {
      */
     public abstract void onTick();
 
+    /**
+     * Tick entry point for event tick tasks.
+     * Applies the current level of detail before delegating to onTick. While
+     * hibernating only the expiry clock is checked.
+     */
+    public final void tick() {
+        if (ended.get()) return;
+
+        switch (lod) {
+            case HIBERNATING -> {
+                if (isExpired()) {
+                    finish(false);
+                }
+                return;
+            }
+            case REDUCED -> {
+                if (++skippedTicks < reducedTickInterval) {
+                    if (isExpired()) {
+                        finish(false);
+                    }
+                    return;
+                }
+                skippedTicks = 0;
+            }
+            case FULL -> skippedTicks = 0;
+        }
+
+        onTick();
+    }
+
+    /**
+     * Called instead of onStart when the event is rehydrated from a snapshot.
+     * Entities from before the restart are re-attached through onEntityRestored,
+     * so implementations should recreate objectives and tasks but not respawn
+     * entities that survived in the world.
+     */
+    protected abstract void onResume(EventSnapshot snapshot);
+
     /**
      * Called when the event completes successfully.
      */
@@ -54,6 +116,296 @@ public abstract class Event {
      */
     public abstract void onFail();
 
+    /**
+     * Request the end of this event from inside the event (e.g. from onTick).
+     * Routes through the registered end handler so the manager can announce,
+     * reward and evict the event. Only the first call has any effect.
+     */
+    protected void finish(boolean success) {
+        if (ended.get()) return;
+
+        if (endHandler != null) {
+            endHandler.onEnd(this, success);
+            return;
+        }
+
+        // Not managed - end locally
+        markEnded();
+        if (success) {
+            onComplete();
+        } else {
+            onFail();
+        }
+    }
+
+    /**
+     * Mark this event as ended.
+     * @return true if this call ended the event, false if it had already ended
+     */
+    public boolean markEnded() {
+        return ended.compareAndSet(false, true);
+    }
+
+    /**
+     * Check if the event has been routed through its end.
+     */
+    public boolean isEnded() {
+        return ended.get();
+    }
+
+    /**
+     * Set the handler that terminal states are routed to.
+     */
+    public void setEndHandler(EndHandler endHandler) {
+        this.endHandler = endHandler;
+    }
+
+    /**
+     * Capture the current state of the event.
+     */
+    public EventSnapshot snapshot() {
+        EventSnapshot.Builder builder = EventSnapshot.builder()
+                .eventId(eventId)
+                .type(type)
+                .location(location.getWorld().getUID(), location.getX(), location.getY(), location.getZ())
+                .durationSeconds(durationSeconds)
+                .elapsedSeconds((int) ((System.currentTimeMillis() - startTime) / 1000))
+                .participants(participants)
+                .difficulty(difficulty);
+
+        for (Objective objective : objectives) {
+            builder.objective(new EventSnapshot.ObjectiveState(
+                    objective.isComplete(), objective.getStage(), objective.getProgressMap()));
+        }
+
+        saveState(builder);
+        return builder.build();
+    }
+
+    /**
+     * Resume this event from a snapshot taken before a restart.
+     * The event keeps its original id, so entities tagged before the restart
+     * are recognised as its own.
+     */
+    public void resume(EventSnapshot snapshot) {
+        this.eventId = snapshot.getEventId();
+        this.durationSeconds = snapshot.getDurationSeconds();
+        this.startTime = System.currentTimeMillis() - snapshot.getElapsedSeconds() * 1000L;
+        this.participants.addAll(snapshot.getParticipants());
+        if (snapshot.getDifficulty() != null) {
+            this.difficulty = snapshot.getDifficulty();
+        }
+
+        onResume(snapshot);
+
+        // Objectives are recreated by onResume; restore their progress by position
+        List<EventSnapshot.ObjectiveState> saved = snapshot.getObjectives();
+        for (int i = 0; i < Math.min(objectives.size(), saved.size()); i++) {
+            EventSnapshot.ObjectiveState state = saved.get(i);
+            objectives.get(i).restore(state.progress(), state.stage(), state.completed());
+        }
+    }
+
+    /**
+     * Add subclass-specific state to a snapshot.
+     */
+    protected void saveState(EventSnapshot.Builder builder) {
+        // Override in subclasses with extra state
+    }
+
+    /**
+     * Stop the event for a server shutdown without removing its entities,
+     * so it can be resumed from a snapshot.
+     */
+    public void suspend() {
+        // Leave entities in the world for the resumed event to pick up
+        trackedEntities.clear();
+        cleanup();
+    }
+
+    /**
+     * Tag an entity as belonging to this event and start tracking it.
+     * Tracked entities are untracked by the entity listeners on death or removal.
+     */
+    protected void trackEntity(Entity entity) {
+        if (entity == null) return;
+        if (entityTracker != null) {
+            entityTracker.tag(entity, this);
+        }
+        trackedEntities.add(entity);
+        if (lod == EventLod.HIBERNATING) {
+            setFrozen(entity, true);
+        }
+    }
+
+    /**
+     * Update the level of detail. Entering hibernation freezes the AI of tracked
+     * mobs; leaving it resumes them and runs any work deferred while asleep.
+     */
+    public void setLod(EventLod newLod) {
+        if (newLod == lod) return;
+
+        EventLod previous = lod;
+        lod = newLod;
+        skippedTicks = 0;
+
+        if (newLod == EventLod.HIBERNATING) {
+            trackedEntities.forEach(entity -> setFrozen(entity, true));
+            onHibernate();
+        } else if (previous == EventLod.HIBERNATING) {
+            trackedEntities.forEach(entity -> setFrozen(entity, false));
+            onWake();
+
+            List<Runnable> deferred = new ArrayList<>(deferredUntilAwake);
+            deferredUntilAwake.clear();
+            deferred.forEach(Runnable::run);
+        }
+    }
+
+    /**
+     * Run an action now, or once the event wakes if it is hibernating.
+     * Used for work that would load chunks or spawn entities with nobody around.
+     */
+    protected void runWhenAwake(Runnable action) {
+        if (lod == EventLod.HIBERNATING) {
+            deferredUntilAwake.add(action);
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Called when the event enters hibernation.
+     */
+    protected void onHibernate() {
+        // Override in subclasses
+    }
+
+    /**
+     * Called when the event leaves hibernation.
+     */
+    protected void onWake() {
+        // Override in subclasses
+    }
+
+    private void setFrozen(Entity entity, boolean frozen) {
+        if (entity instanceof Mob mob && mob.isValid()) {
+            mob.setAware(!frozen);
+        }
+    }
+
+    /**
+     * Remove all tracked entities that are still in the world.
+     */
+    protected void removeTrackedEntities() {
+        for (Entity entity : trackedEntities.drain()) {
+            if (entity.isValid()) {
+                entity.remove();
+            }
+        }
+    }
+
+    /**
+     * Called by the entity tracker when a tracked entity dies.
+     */
+    void handleEntityDeath(Entity entity, Player killer) {
+        if (trackedEntities.remove(entity.getEntityId()) != null) {
+            if (killer != null) {
+                addContributor(killer);
+            }
+            onEntityDeath(entity, killer);
+        }
+    }
+
+    /**
+     * Called by the entity tracker when a player damages a tracked entity.
+     */
+    void handleEntityDamaged(Entity entity, Player attacker, double damage) {
+        if (trackedEntities.contains(entity.getEntityId())) {
+            addContributor(attacker);
+            onEntityDamaged(entity, attacker, damage);
+        }
+    }
+
+    /**
+     * Called by the entity tracker when a player picks up a tracked item.
+     */
+    void handleItemPickup(Item item, Player player) {
+        if (trackedEntities.contains(item.getEntityId())) {
+            addContributor(player);
+            onItemPickup(item, player);
+        }
+    }
+
+    /**
+     * Called by the entity tracker when a tracked entity leaves the world
+     * (despawn, removal or chunk unload).
+     */
+    void handleEntityRemoved(Entity entity) {
+        if (trackedEntities.remove(entity.getEntityId()) != null) {
+            onEntityRemoved(entity);
+        }
+    }
+
+    /**
+     * Called when a tagged entity is loaded back into the world.
+     */
+    void handleEntityRestored(Entity entity) {
+        if (trackedEntities.add(entity)) {
+            setFrozen(entity, lod == EventLod.HIBERNATING);
+            onEntityRestored(entity);
+        }
+    }
+
+    /**
+     * Called when a tracked entity dies.
+     * @param killer The killing player, or null
+     */
+    protected void onEntityDeath(Entity entity, Player killer) {
+        // Override in subclasses for kill tracking
+    }
+
+    /**
+     * Called when a player damages a tracked entity.
+     * @param damage Damage actually applied, capped at the entity's remaining health
+     */
+    protected void onEntityDamaged(Entity entity, Player attacker, double damage) {
+        // Override in subclasses for damage tracking
+    }
+
+    /**
+     * Called when a player picks up a tracked item.
+     */
+    protected void onItemPickup(Item item, Player player) {
+        // Override in subclasses for collection tracking
+    }
+
+    /**
+     * Called when a tracked entity leaves the world without dying.
+     */
+    protected void onEntityRemoved(Entity entity) {
+        // Override in subclasses
+    }
+
+    /**
+     * Called when a tagged entity of this event is loaded back into the world.
+     * Entity ids change across chunk reloads, so references should be refreshed here.
+     */
+    protected void onEntityRestored(Entity entity) {
+        // Override in subclasses
+    }
+
+    /**
+     * Get the number of tracked entities currently in the world.
+     */
+    public int getTrackedEntityCount() {
+        return trackedEntities.size();
+    }
+
+    public void setEntityTracker(EventEntityTracker entityTracker) {
+        this.entityTracker = entityTracker;
+    }
+
     /**
      * Called when a player interacts with the event.
      */
@@ -68,6 +420,37 @@ public abstract class Event {
         participants.add(player.getUniqueId());
     }
 
+    /**
+     * Add a player who actively contributed (damage, kills, pickups).
+     * Contributors are eligible for rewards regardless of dwell time.
+     */
+    public void addContributor(Player player) {
+        participants.add(player.getUniqueId());
+        contributors.add(player.getUniqueId());
+    }
+
+    /**
+     * Credit time a player spent inside the event radius.
+     */
+    public void recordDwell(UUID playerId, long millis) {
+        dwellMillis.merge(playerId, millis, Long::sum);
+    }
+
+    /**
+     * Get the total time a player has spent inside the event radius.
+     */
+    public long getDwellMillis(UUID playerId) {
+        return dwellMillis.getOrDefault(playerId, 0L);
+    }
+
+    /**
+     * Check if a participant has earned rewards, either by contributing
+     * or by staying inside the radius for long enough.
+     */
+    public boolean isRewardEligible(UUID playerId, long minDwellMillis) {
+        return contributors.contains(playerId) || getDwellMillis(playerId) >= minDwellMillis;
+    }
+
     /**
      * Check if player is participating.
      */
@@ -89,6 +472,20 @@ public abstract class Event {
         return players;
     }
 
+    /**
+     * Get online participants who have earned rewards.
+     * @see #isRewardEligible(UUID, long)
+     */
+    public List<Player> getEligibleParticipants(long minDwellMillis) {
+        List<Player> players = new ArrayList<>();
+        for (Player player : getParticipants()) {
+            if (isRewardEligible(player.getUniqueId(), minDwellMillis)) {
+                players.add(player);
+            }
+        }
+        return players;
+    }
+
     /**
      * Check if the event has expired based on duration.
      */
@@ -157,4 +554,35 @@ public abstract class Event {
     public double getDifficultyMultiplier() {
         return difficulty != null ? difficulty.getMultiplier() : 1.0;
     }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    /**
+     * Get the radius around the center that counts as the event area.
+     */
+    public double getRadius() {
+        return radius;
+    }
+
+    public void setRadius(double radius) {
+        this.radius = radius;
+    }
+
+    public EventLod getLod() {
+        return lod;
+    }
+
+    public void setReducedTickInterval(int reducedTickInterval) {
+        this.reducedTickInterval = Math.max(1, reducedTickInterval);
+    }
+
+    /**
+     * Receives events that reached a terminal state.
+     */
+    @FunctionalInterface
+    public interface EndHandler {
+        void onEnd(Event event, boolean success);
+    }
 }
@@ -0,0 +1,95 @@
+package dev.ked.stormcraft.events.event;
+
+/**
+ * Reverse index from entity id to owning event across all active events.
+ *
+ * Events write to it from their own region threads and entity listeners read
+ * it from whichever region owns the entity, so the table is split into lock
+ * stripes by entity id, each an {@link IntOpenHashMap} guarded by its own
+ * monitor. A lookup holds one stripe for a single probe in the common case,
+ * so unrelated entities are rejected without touching their persistent data
+ * and writers on different stripes never contend.
+ */
+public class EventEntityIndex {
+    private static final int STRIPES = 16; // Power of two
+
+    private final IntOpenHashMap<Event>[] stripes;
+
+    @SuppressWarnings("unchecked")
+    public EventEntityIndex() {
+        stripes = new IntOpenHashMap[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new IntOpenHashMap<>(8);
+        }
+    }
+
+    /**
+     * Map an entity id to its owning event.
+     */
+    public void put(int id, Event event) {
+        IntOpenHashMap<Event> stripe = stripe(id);
+        synchronized (stripe) {
+            stripe.put(id, event);
+        }
+    }
+
+    /**
+     * Get the event owning an entity id.
+     * @return The event, or null if the entity is not event-owned
+     */
+    public Event get(int id) {
+        IntOpenHashMap<Event> stripe = stripe(id);
+        synchronized (stripe) {
+            return stripe.get(id);
+        }
+    }
+
+    /**
+     * Remove an entity id.
+     * @return The owning event, or null if it was not indexed
+     */
+    public Event remove(int id) {
+        IntOpenHashMap<Event> stripe = stripe(id);
+        synchronized (stripe) {
+            return stripe.remove(id);
+        }
+    }
+
+    /**
+     * Remove every entry owned by an event, one stripe at a time.
+     */
+    public void removeAll(Event event) {
+        for (IntOpenHashMap<Event> stripe : stripes) {
+            synchronized (stripe) {
+                if (!stripe.isEmpty()) {
+                    stripe.removeValues(owner -> owner == event);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the number of indexed entities. Not atomic across stripes.
+     */
+    public int size() {
+        int size = 0;
+        for (IntOpenHashMap<Event> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (IntOpenHashMap<Event> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    private IntOpenHashMap<Event> stripe(int id) {
+        return stripes[id & (STRIPES - 1)];
+    }
+}
@@ -0,0 +1,83 @@
+package dev.ked.stormcraft.events.event;
+
+import org.bukkit.entity.Entity;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Set of entities owned by an event, keyed by primitive entity id.
+ * Backed by an {@link IntOpenHashMap}; no boxing on add/remove/contains.
+ *
+ * The owning event adds and drains entities on its own thread while entity
+ * listeners remove them from the region owning each entity, so every method
+ * holds the set's monitor. Iteration runs over a copy taken under it.
+ */
+public class EventEntitySet {
+    private final IntOpenHashMap<Entity> entities;
+
+    public EventEntitySet() {
+        this(16);
+    }
+
+    public EventEntitySet(int expected) {
+        this.entities = new IntOpenHashMap<>(expected);
+    }
+
+    /**
+     * Add an entity.
+     * @return true if it was not already tracked
+     */
+    public synchronized boolean add(Entity entity) {
+        return entities.put(entity.getEntityId(), entity) == null;
+    }
+
+    /**
+     * Remove an entity by id.
+     * @return The removed entity, or null if it was not tracked
+     */
+    public synchronized Entity remove(int id) {
+        return entities.remove(id);
+    }
+
+    public synchronized boolean contains(int id) {
+        return entities.containsKey(id);
+    }
+
+    public synchronized Entity get(int id) {
+        return entities.get(id);
+    }
+
+    public synchronized int size() {
+        return entities.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return entities.isEmpty();
+    }
+
+    /**
+     * Visit every tracked entity, as of the start of the call.
+     */
+    public void forEach(Consumer<Entity> action) {
+        List<Entity> copy;
+        synchronized (this) {
+            copy = entities.values();
+        }
+        copy.forEach(action);
+    }
+
+    /**
+     * Remove and return all tracked entities.
+     * Safe to use when removing the entities re-enters this set.
+     */
+    public synchronized List<Entity> drain() {
+        List<Entity> drained = entities.values();
+        entities.clear();
+        return drained;
+    }
+
+    public synchronized void clear() {
+        entities.clear();
+    }
+}
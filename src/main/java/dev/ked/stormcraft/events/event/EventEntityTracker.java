@@ -0,0 +1,188 @@
+package dev.ked.stormcraft.events.event;
+
+import com.destroystokyo.paper.event.entity.EntityAddToWorldEvent;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import dev.ked.stormcraft.events.scheduler.TaskScheduler;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.UUID;
+
+/**
+ * Central dispatcher for gameplay events on event-owned entities.
+ *
+ * Event-spawned entities are tagged with their owning event id (so ownership
+ * survives chunk unloads and restarts) and registered in a reverse index from
+ * entity id to event. Damage, death, pickup and removal listeners consult the
+ * index first, so the vast majority of server events - on entities no event
+ * owns - are rejected with a single probe and never read persistent data.
+ */
+public class EventEntityTracker implements Listener {
+    private final JavaPlugin plugin;
+    private final TaskScheduler scheduler;
+    private final EventManager eventManager;
+    private final NamespacedKey eventKey;
+    private final EventEntityIndex index = new EventEntityIndex();
+
+    public EventEntityTracker(JavaPlugin plugin, TaskScheduler scheduler, EventManager eventManager) {
+        this.plugin = plugin;
+        this.scheduler = scheduler;
+        this.eventManager = eventManager;
+        this.eventKey = new NamespacedKey(plugin, "event_id");
+    }
+
+    /**
+     * Mark an entity as belonging to an event.
+     */
+    public void tag(Entity entity, Event event) {
+        entity.getPersistentDataContainer().set(eventKey, PersistentDataType.STRING, event.getEventId().toString());
+        index.put(entity.getEntityId(), event);
+    }
+
+    /**
+     * Attach a tagged entity that was loaded back into the world to its event.
+     */
+    public void attach(Entity entity, Event event) {
+        index.put(entity.getEntityId(), event);
+        event.handleEntityRestored(entity);
+    }
+
+    /**
+     * Drop all index entries of an event that has ended.
+     */
+    public void forget(Event event) {
+        index.removeAll(event);
+    }
+
+    /**
+     * Get the id of the event owning an entity from its tag.
+     * @return The event id, or null if the entity is not event-spawned
+     */
+    public UUID getOwningEventId(Entity entity) {
+        PersistentDataContainer pdc = entity.getPersistentDataContainer();
+        if (!pdc.has(eventKey)) return null;
+
+        String value = pdc.get(eventKey, PersistentDataType.STRING);
+        if (value == null) return null;
+
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Get the active event owning an entity.
+     * @return The event, or null if the entity is not owned by an active event
+     */
+    public Event getOwningEvent(Entity entity) {
+        return index.get(entity.getEntityId());
+    }
+
+    /**
+     * Get the number of indexed event entities.
+     */
+    public int getIndexedCount() {
+        return index.size();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityDeath(EntityDeathEvent e) {
+        Event event = index.get(e.getEntity().getEntityId());
+        if (event != null) {
+            event.handleEntityDeath(e.getEntity(), e.getEntity().getKiller());
+        }
+    }
+
+    /**
+     * Feeds player damage on event entities (e.g. bosses) to the owning event.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityDamage(EntityDamageByEntityEvent e) {
+        Event event = index.get(e.getEntity().getEntityId());
+        if (event == null) return;
+
+        Player attacker = getAttackingPlayer(e.getDamager());
+        if (attacker == null) return;
+
+        double damage = e.getFinalDamage();
+        if (e.getEntity() instanceof LivingEntity living) {
+            // Don't credit overkill
+            damage = Math.min(damage, living.getHealth());
+        }
+        if (damage > 0) {
+            event.handleEntityDamaged(e.getEntity(), attacker, damage);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemPickup(EntityPickupItemEvent e) {
+        Event event = index.get(e.getItem().getEntityId());
+        if (event == null) return;
+
+        if (e.getEntity() instanceof Player player) {
+            event.handleItemPickup(e.getItem(), player);
+        }
+    }
+
+    private static Player getAttackingPlayer(Entity damager) {
+        if (damager instanceof Player player) {
+            return player;
+        }
+        if (damager instanceof Projectile projectile && projectile.getShooter() instanceof Player shooter) {
+            return shooter;
+        }
+        return null;
+    }
+
+    /**
+     * Covers despawns, plugin removals and chunk unloads.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityRemove(EntityRemoveFromWorldEvent e) {
+        Event event = index.remove(e.getEntity().getEntityId());
+        if (event != null) {
+            event.handleEntityRemoved(e.getEntity());
+        }
+    }
+
+    /**
+     * Entity ids change across chunk reloads, so loaded entities are matched
+     * to their event through the tag and re-indexed.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityAdd(EntityAddToWorldEvent e) {
+        Entity entity = e.getEntity();
+        UUID eventId = getOwningEventId(entity);
+        if (eventId == null) return;
+
+        Event event = eventManager.getEvent(eventId);
+        if (event != null) {
+            attach(entity, event);
+        } else if (!eventManager.getRestorer().adopt(eventId, entity)) {
+            // Leftover from an event that has already ended
+            scheduler.runFor(entity, () -> {
+                if (entity.isValid()) {
+                    entity.remove();
+                }
+            });
+        }
+    }
+
+    public NamespacedKey getEventKey() {
+        return eventKey;
+    }
+}
@@ -0,0 +1,275 @@
+package dev.ked.stormcraft.events.event;
+
+import dev.ked.stormcraft.events.event.EventSpatialIndex.EventArea;
+import dev.ked.stormcraft.events.scheduler.TaskScheduler;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Tracks which event areas each player is standing in.
+ *
+ * Each player caches the areas registered in their current spatial index cell
+ * and only re-reads the index when they cross into another cell or an event
+ * starts or ends. Moves within a block are ignored outright, so the common
+ * case is a couple of comparisons. Entering and leaving an area fires
+ * {@link InterestListener} callbacks with the time spent inside.
+ *
+ * A player's interest is updated on that player's thread. Releasing an event
+ * may happen on the event's thread, so the shared maps are concurrent and each
+ * entered event is removed exactly once, by whichever side gets there first.
+ */
+public class EventInterestManager implements Listener {
+    private final TaskScheduler scheduler;
+    private final EventManager eventManager;
+    private final EventSpatialIndex spatialIndex;
+    private final List<InterestListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final Map<UUID, Interest> interests = new ConcurrentHashMap<>();
+    // Event id -> players currently inside
+    private final Map<UUID, Set<UUID>> watchers = new ConcurrentHashMap<>();
+
+    public EventInterestManager(TaskScheduler scheduler, EventManager eventManager, EventSpatialIndex spatialIndex) {
+        this.scheduler = scheduler;
+        this.eventManager = eventManager;
+        this.spatialIndex = spatialIndex;
+    }
+
+    /**
+     * Register a listener for enter/leave callbacks.
+     */
+    public void addListener(InterestListener listener) {
+        listeners.add(listener);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent e) {
+        Location from = e.getFrom();
+        Location to = e.getTo();
+        if (from.getBlockX() == to.getBlockX() && from.getBlockZ() == to.getBlockZ()
+                && from.getWorld() == to.getWorld()) {
+            return;
+        }
+        update(e.getPlayer(), to);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent e) {
+        update(e.getPlayer(), e.getTo());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent e) {
+        update(e.getPlayer(), e.getPlayer().getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent e) {
+        update(e.getPlayer(), e.getPlayer().getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent e) {
+        Interest interest = interests.remove(e.getPlayer().getUniqueId());
+        if (interest == null) return;
+
+        for (UUID eventId : new ArrayList<>(interest.entered.keySet())) {
+            leave(e.getPlayer(), interest, eventId);
+        }
+    }
+
+    /**
+     * Pick up players already standing in a newly started event's area.
+     * Each player in the event's world is checked once, on their own thread.
+     */
+    public void onEventStarted(Event event) {
+        World world = event.getLocation().getWorld();
+        if (world == null) return;
+
+        scheduler.forEachPlayer(player -> {
+            if (player.getWorld().equals(world)) {
+                update(player, player.getLocation());
+            }
+        });
+    }
+
+    /**
+     * Fire leave callbacks for everyone still inside an ending event,
+     * so their dwell time is credited before rewards are worked out.
+     */
+    public void release(Event event) {
+        Set<UUID> inside = watchers.remove(event.getEventId());
+        if (inside != null) {
+            for (UUID playerId : inside) {
+                Interest interest = interests.get(playerId);
+                Player player = Bukkit.getPlayer(playerId);
+                if (interest != null && player != null) {
+                    leave(player, interest, event, event.getEventId());
+                }
+            }
+        }
+
+        for (InterestListener listener : listeners) {
+            listener.onReleased(event);
+        }
+    }
+
+    /**
+     * Check if a player is inside an event's area.
+     */
+    public boolean isInside(UUID playerId, UUID eventId) {
+        Set<UUID> inside = watchers.get(eventId);
+        return inside != null && inside.contains(playerId);
+    }
+
+    /**
+     * Get the players currently inside an event's area.
+     */
+    public Set<UUID> getPlayersInside(UUID eventId) {
+        Set<UUID> inside = watchers.get(eventId);
+        return inside != null ? Collections.unmodifiableSet(inside) : Collections.emptySet();
+    }
+
+    /**
+     * Get the ids of events whose area a player is inside.
+     */
+    public Set<UUID> getEventsOf(UUID playerId) {
+        Interest interest = interests.get(playerId);
+        return interest != null ? Collections.unmodifiableSet(interest.entered.keySet()) : Collections.emptySet();
+    }
+
+    /**
+     * Drop all state without firing callbacks. Used on shutdown.
+     */
+    public void clear() {
+        interests.clear();
+        watchers.clear();
+    }
+
+    private void update(Player player, Location location) {
+        World world = location.getWorld();
+        if (world == null) return;
+
+        Interest interest = interests.computeIfAbsent(player.getUniqueId(), k -> new Interest());
+
+        // Refresh candidates only on a cell, world or index change
+        UUID worldId = world.getUID();
+        long cellKey = EventSpatialIndex.cellKey(location.getX(), location.getZ());
+        long version = spatialIndex.getVersion();
+        if (cellKey != interest.cellKey || version != interest.version || !worldId.equals(interest.worldId)) {
+            interest.worldId = worldId;
+            interest.cellKey = cellKey;
+            interest.version = version;
+            interest.candidates = spatialIndex.getCell(worldId, location.getX(), location.getZ());
+        }
+
+        EventArea[] candidates = interest.candidates;
+        if (candidates.length == 0 && interest.entered.isEmpty()) return;
+
+        double x = location.getX();
+        double z = location.getZ();
+
+        // Leaves: anything entered that is no longer a containing candidate.
+        // An area containing the player always covers the player's cell.
+        if (!interest.entered.isEmpty()) {
+            for (UUID eventId : new ArrayList<>(interest.entered.keySet())) {
+                EventArea area = find(candidates, eventId);
+                if (area == null || !area.contains(x, z)) {
+                    leave(player, interest, eventId);
+                }
+            }
+        }
+
+        for (EventArea area : candidates) {
+            if (!interest.entered.containsKey(area.eventId()) && area.contains(x, z)) {
+                enter(player, interest, area.eventId());
+            }
+        }
+    }
+
+    private void enter(Player player, Interest interest, UUID eventId) {
+        Event event = eventManager.getEvent(eventId);
+        if (event == null || event.isEnded()) return;
+
+        interest.entered.put(eventId, System.currentTimeMillis());
+        watchers.computeIfAbsent(eventId, k -> ConcurrentHashMap.newKeySet()).add(player.getUniqueId());
+
+        for (InterestListener listener : listeners) {
+            listener.onEnter(player, event);
+        }
+    }
+
+    private void leave(Player player, Interest interest, UUID eventId) {
+        leave(player, interest, eventManager.getEvent(eventId), eventId);
+    }
+
+    private void leave(Player player, Interest interest, Event event, UUID eventId) {
+        Long enteredAt = interest.entered.remove(eventId);
+        if (enteredAt == null) return;
+
+        watchers.computeIfPresent(eventId, (k, inside) -> {
+            inside.remove(player.getUniqueId());
+            return inside.isEmpty() ? null : inside;
+        });
+
+        // Event already gone; nothing to credit
+        if (event == null) return;
+
+        long dwellMillis = System.currentTimeMillis() - enteredAt;
+        for (InterestListener listener : listeners) {
+            listener.onLeave(player, event, dwellMillis);
+        }
+    }
+
+    private static EventArea find(EventArea[] areas, UUID eventId) {
+        for (EventArea area : areas) {
+            if (area.eventId().equals(eventId)) return area;
+        }
+        return null;
+    }
+
+    /**
+     * Per-player cached cell lookup and entered events.
+     */
+    private static class Interest {
+        // Cell cache, only touched on the player's thread
+        UUID worldId;
+        long cellKey;
+        long version = -1;
+        EventArea[] candidates = new EventArea[0];
+        // Event id -> time entered
+        final Map<UUID, Long> entered = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Receives area enter/leave callbacks, normally on the player's thread.
+     * Leaves fired by {@link #release} run on the ending event's thread.
+     */
+    public interface InterestListener {
+        void onEnter(Player player, Event event);
+
+        /**
+         * @param dwellMillis Time spent inside since entering
+         */
+        void onLeave(Player player, Event event, long dwellMillis);
+
+        /**
+         * Called once an ending event has released all its players.
+         */
+        default void onReleased(Event event) {
+        }
+    }
+}
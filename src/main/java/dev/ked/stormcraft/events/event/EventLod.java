@@ -0,0 +1,10 @@
+package dev.ked.stormcraft.events.event;
+
+/**
+ * Level of detail an event is ticked at, based on player proximity.
+ */
+public enum EventLod {
+    FULL,        // Players close by - tick every cycle
+    REDUCED,     // Players at medium range - tick every few cycles
+    HIBERNATING  // Nobody in range or chunk unloaded - only the expiry clock runs
+}
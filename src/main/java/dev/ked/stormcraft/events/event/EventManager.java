@@ -2,29 +2,45 @@ package dev.ked.stormcraft.events.event;
 
 import dev.ked.stormcraft.events.StormcraftEventsPlugin;
 import dev.ked.stormcraft.events.config.ConfigManager;
+import dev.ked.stormcraft.events.config.ConfigSnapshot;
 import dev.ked.stormcraft.events.difficulty.DifficultyCalculator;
 import dev.ked.stormcraft.events.difficulty.DifficultyMultiplier;
 import dev.ked.stormcraft.events.difficulty.GroupRewardCalculator;
 import dev.ked.stormcraft.events.difficulty.PlayerDensityTracker;
 import dev.ked.stormcraft.events.integration.*;
+import dev.ked.stormcraft.events.persistence.EventSnapshot;
+import dev.ked.stormcraft.events.persistence.EventSnapshotStore;
+import dev.ked.stormcraft.events.reward.PayoutQueue;
+import dev.ked.stormcraft.events.reward.RewardLedger;
+import dev.ked.stormcraft.events.scheduler.PlayerPositions;
+import dev.ked.stormcraft.events.scheduler.TaskScheduler;
 import dev.ked.stormcraft.events.spawn.DensityTracker;
 import dev.ked.stormcraft.events.spawn.EventSpawner;
 import dev.ked.stormcraft.events.ui.EventNotifier;
+import dev.ked.stormcraft.events.ui.NotificationOutbox;
 import dev.ked.stormcraft.model.TravelingStorm;
 import net.milkbowl.vault.economy.Economy;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.event.HandlerList;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Core coordinator for event spawning, tracking, and lifecycle management.
+ *
+ * Spawn checks, the reaper and level-of-detail updates run on the global
+ * tick. Spawn checks pick the event type and location there without reading
+ * chunks; building and starting the event, and changing its level of detail,
+ * are handed to the region owning the event location.
  */
 public class EventManager {
     private final StormcraftEventsPlugin plugin;
+    private final TaskScheduler scheduler;
+    private final PlayerPositions positions;
     private final ConfigManager config;
     private final StormcraftIntegration stormcraft;
     private final EssenceIntegration essence;
@@ -34,13 +50,25 @@ public class EventManager {
     private final PlayerDensityTracker playerDensityTracker;
     private final DifficultyCalculator difficultyCalculator;
     private final GroupRewardCalculator rewardCalculator;
+    private final PayoutQueue payoutQueue;
+    private final RewardLedger rewardLedger;
+    private final NotificationOutbox outbox;
+    private final EventEntityTracker entityTracker;
+    private final EventSpatialIndex spatialIndex = new EventSpatialIndex();
+    private final EventInterestManager interestManager;
+    private final EventSnapshotStore snapshotStore;
+    private final EventRestorer restorer;
 
     // Active events tracking
     private final Map<UUID, Event> activeEvents = new ConcurrentHashMap<>();
     private final Map<EventType, Long> lastSpawnTimes = new ConcurrentHashMap<>();
 
-    private BukkitTask spawnCheckTask;
-    private long lastGlobalSpawn = 0;
+    private TaskScheduler.Task spawnCheckTask;
+    private TaskScheduler.Task reaperTask;
+    private TaskScheduler.Task lodTask;
+    private TaskScheduler.Task checkpointTask;
+    private volatile long lastGlobalSpawn = 0;
+    private volatile long totalReaped = 0;
 
     public EventManager(StormcraftEventsPlugin plugin, ConfigManager config,
                        StormcraftIntegration stormcraft, MythicMobsIntegration mythicMobs,
@@ -48,6 +76,8 @@ public class EventManager {
                        EssenceIntegration essence, DensityTracker densityTracker,
                        Economy economy) {
         this.plugin = plugin;
+        this.scheduler = plugin.getTaskScheduler();
+        this.positions = plugin.getPlayerPositions();
         this.config = config;
         this.stormcraft = stormcraft;
         this.essence = essence;
@@ -56,57 +86,94 @@ public class EventManager {
 
         // Initialize difficulty system
         this.playerDensityTracker = new PlayerDensityTracker(plugin, config.getDifficultyScanRadius());
-        this.difficultyCalculator = new DifficultyCalculator(plugin, config, playerDensityTracker, stormcraft);
-        this.rewardCalculator = new GroupRewardCalculator(plugin, config, essence, economy, playerDensityTracker);
-        loadDifficultyConfig();
-
-        this.spawner = new EventSpawner(plugin, config, stormcraft, mythicMobs,
-                                       towny, tan, essence, economy, densityTracker);
-    }
-
-    /**
-     * Load difficulty configuration from config.yml.
-     */
-    private void loadDifficultyConfig() {
-        if (!config.isDifficultyEnabled()) {
+        this.difficultyCalculator = new DifficultyCalculator(plugin, config, playerDensityTracker, stormcraft, towny, tan);
+        this.payoutQueue = new PayoutQueue(plugin, scheduler, essence, economy,
+                config.getPayoutFlushInterval(), config.getPayoutMaxRetries());
+        this.rewardLedger = config.isRewardLedgerEnabled()
+                ? new RewardLedger(plugin, config.getRewardLedgerFile(), config.getRewardLedgerRetentionHours()) : null;
+        this.outbox = new NotificationOutbox(scheduler, config.getOutboxSendsPerTick());
+        this.rewardCalculator = new GroupRewardCalculator(plugin, config, payoutQueue, playerDensityTracker, outbox);
+        if (config.isDifficultyEnabled()) {
+            plugin.getLogger().info("Difficulty system initialized");
+        } else {
             plugin.getLogger().info("Difficulty scaling disabled in config");
-            return;
         }
+        config.addReloadListener(this::reloadDifficultyConfig);
+
+        this.entityTracker = new EventEntityTracker(plugin, scheduler, this);
+        this.interestManager = new EventInterestManager(scheduler, this, spatialIndex);
+        this.interestManager.addListener(new EventInterestManager.InterestListener() {
+            @Override
+            public void onEnter(Player player, Event event) {
+                event.addParticipant(player);
+            }
 
-        difficultyCalculator.setPartyBonusPerMember(config.getPartyBonusPerMember());
-        difficultyCalculator.setMaxPartyBonus(config.getMaxPartyBonus());
-        difficultyCalculator.setProximityBonusPerPlayer(config.getProximityBonusPerPlayer());
-        difficultyCalculator.setMaxProximityBonus(config.getMaxProximityBonus());
-        difficultyCalculator.setWildernessBonus(config.getWildernessBonus());
-        difficultyCalculator.setStormProximityBonus(config.getStormProximityBonus());
-        difficultyCalculator.setStormProximityRadius(config.getStormProximityRadius());
-        difficultyCalculator.setTownClaimMultiplier(config.getTownClaimMultiplier());
+            @Override
+            public void onLeave(Player player, Event event, long dwellMillis) {
+                event.recordDwell(player.getUniqueId(), dwellMillis);
+            }
+        });
+        this.snapshotStore = new EventSnapshotStore(plugin, config.getPersistenceFile());
+        this.restorer = new EventRestorer(plugin, scheduler, this, snapshotStore);
 
-        plugin.getLogger().info("Difficulty system initialized");
+        this.spawner = new EventSpawner(plugin, config, stormcraft, mythicMobs,
+                                       towny, tan, essence, economy, densityTracker);
     }
 
     /**
-     * Reload difficulty configuration (for hot-reload).
+     * Swap in difficulty settings from a newly applied configuration.
      */
-    public void reloadDifficultyConfig() {
-        if (!config.isDifficultyEnabled()) {
-            return;
+    private void reloadDifficultyConfig(ConfigSnapshot snapshot) {
+        difficultyCalculator.reload(snapshot);
+        if (snapshot.difficultyEnabled) {
+            plugin.getLogger().info("Difficulty configuration reloaded");
         }
-
-        loadDifficultyConfig();
-        difficultyCalculator.loadWeightsFromConfig();
-        plugin.getLogger().info("Difficulty configuration reloaded");
     }
 
     /**
      * Start the event system.
      */
     public void start() {
+        // Track event-spawned entities
+        Bukkit.getPluginManager().registerEvents(entityTracker, plugin);
+
+        // Coalesce notifications and spread them over ticks
+        outbox.start();
+        EventNotifier.setOutbox(outbox);
+
+        // Join players to events as they walk into them
+        Bukkit.getPluginManager().registerEvents(interestManager, plugin);
+
+        // Deposit rewards off the main thread, replaying any the last run never confirmed
+        if (rewardLedger != null && payoutQueue.isEnabled()) {
+            List<RewardLedger.Intent> unconfirmed = rewardLedger.open();
+            payoutQueue.setLedger(rewardLedger);
+            payoutQueue.replay(unconfirmed);
+        }
+        payoutQueue.start();
+
+        // Resume events saved before the last shutdown
+        if (config.isPersistenceEnabled()) {
+            Bukkit.getPluginManager().registerEvents(restorer, plugin);
+            restorer.load();
+
+            int checkpointInterval = config.getCheckpointInterval() * 20;
+            checkpointTask = scheduler.runGlobalTimer(this::checkpoint, checkpointInterval, checkpointInterval);
+        }
+
         // Start periodic spawn checks
         int interval = config.getDensityCheckInterval() * 20;
-        spawnCheckTask = Bukkit.getScheduler().runTaskTimer(plugin, this::checkSpawns, 100L, interval);
+        spawnCheckTask = scheduler.runGlobalTimer(this::checkSpawns, 100L, interval);
+
+        // Start reaper for terminal/stale events
+        int reaperInterval = config.getReaperInterval() * 20;
+        reaperTask = scheduler.runGlobalTimer(this::reapEvents, reaperInterval, reaperInterval);
+
+        // Start proximity level-of-detail updates
+        int lodInterval = config.getLodCheckInterval() * 20;
+        lodTask = scheduler.runGlobalTimer(this::updateLod, lodInterval, lodInterval);
 
-        plugin.getLogger().info("Event Manager started");
+        plugin.getLogger().info("Event Manager started (max active events: " + config.getMaxActiveEvents() + ")");
     }
 
     /**
@@ -121,6 +188,11 @@ public class EventManager {
             return; // Still on global cooldown
         }
 
+        // Check active event cap
+        if (isAtCapacity()) {
+            return;
+        }
+
         // Get active storms
         List<TravelingStorm> storms = stormcraft.getActiveStorms();
         if (storms.isEmpty()) return;
@@ -132,7 +204,8 @@ public class EventManager {
     }
 
     /**
-     * Attempt to spawn an event near a storm.
+     * Attempt to spawn an event near a storm. The location is chosen here and
+     * the event is built and started on the region that owns it.
      */
     private void trySpawnEventNearStorm(TravelingStorm storm) {
         Location stormCenter = storm.getCurrentLocation();
@@ -150,8 +223,8 @@ public class EventManager {
         EventType selectedType = null;
 
         if (config.isDifficultyEnabled()) {
-            // Get nearby players
-            List<Player> nearbyPlayers = playerDensityTracker.getNearbyPlayers(stormCenter);
+            // Nearby players from the position snapshot; live players belong to their own regions
+            List<PlayerPositions.Position> nearbyPlayers = getNearbyPositions(stormCenter, config.getDifficultyScanRadius());
 
             if (!nearbyPlayers.isEmpty()) {
                 // Calculate difficulty multiplier
@@ -167,56 +240,257 @@ public class EventManager {
         }
 
         // Try to spawn event (with optional type override and difficulty)
-        Event event = spawner.trySpawnEvent(storm, selectedType, difficulty);
-        if (event != null) {
-            startEvent(event);
-        }
+        EventSpawner.SpawnPlan plan = spawner.planSpawn(storm, selectedType, difficulty);
+        if (plan == null) return;
+
+        scheduler.executeAt(plan.location(), () -> {
+            Event event = spawner.spawn(plan);
+            if (event != null) {
+                startEvent(event);
+            }
+        });
     }
 
     /**
      * Start an event.
+     * @return true if the event was started, false if the active event cap was reached
      */
-    public void startEvent(Event event) {
+    public boolean startEvent(Event event) {
+        if (isAtCapacity()) {
+            plugin.getLogger().warning("Not starting " + event.getType() + " - active event cap reached (" +
+                    activeEvents.size() + "/" + config.getMaxActiveEvents() + ")");
+            return false;
+        }
+
+        // Route terminal states back through the manager
+        event.setEndHandler((ended, success) -> endEvent(ended.getEventId(), success));
+        event.setEntityTracker(entityTracker);
+        event.setReducedTickInterval(config.getLodReducedTickInterval());
+        event.setRadius(config.getEventRadius(event.getType()));
+
         // Add to active events
         activeEvents.put(event.getEventId(), event);
+        spatialIndex.add(event);
         lastSpawnTimes.put(event.getType(), System.currentTimeMillis());
         lastGlobalSpawn = System.currentTimeMillis();
 
         // Start the event
         event.onStart();
+        interestManager.onEventStarted(event);
 
         // Notify nearby players
         List<Player> nearbyPlayers = getNearbyPlayers(event.getLocation(), config.getAnnounceRadius());
-        EventNotifier.announceSpawn(event, nearbyPlayers);
+        EventNotifier.announceSpawn(config.getMessages(), event, nearbyPlayers);
 
         plugin.getLogger().info("Started event: " + event.getType() + " at " +
                 event.getLocation().getBlockX() + ", " +
                 event.getLocation().getBlockY() + ", " +
                 event.getLocation().getBlockZ());
+        return true;
+    }
+
+    /**
+     * Resume an event from a saved snapshot.
+     * Bypasses the active event cap and spawn announcement, since the event was
+     * already running before the restart.
+     * @return The resumed event, or null if its world is not loaded
+     */
+    public Event resumeEvent(EventSnapshot snapshot) {
+        World world = Bukkit.getWorld(snapshot.getWorldId());
+        if (world == null) return null;
+
+        Location location = new Location(world, snapshot.getX(), snapshot.getY(), snapshot.getZ());
+        Event event = spawner.createEvent(snapshot.getType(), location, stormcraft.getNearestStorm(location));
+
+        event.setEndHandler((ended, success) -> endEvent(ended.getEventId(), success));
+        event.setEntityTracker(entityTracker);
+        event.setReducedTickInterval(config.getLodReducedTickInterval());
+        event.setRadius(config.getEventRadius(event.getType()));
+        event.resume(snapshot);
+
+        activeEvents.put(event.getEventId(), event);
+        spatialIndex.add(event);
+        interestManager.onEventStarted(event);
+
+        plugin.getLogger().info("Resumed event: " + event.getType() + " at " +
+                location.getBlockX() + ", " + location.getBlockY() + ", " + location.getBlockZ() +
+                " (" + event.getRemainingSeconds() + "s remaining)");
+        return event;
+    }
+
+    /**
+     * Check if an event is saved and waiting for its chunk to load.
+     */
+    public boolean isPendingRestore(UUID eventId) {
+        return restorer.isPending(eventId);
+    }
+
+    /**
+     * Save snapshots of all running events and of saved events still waiting to resume.
+     * Snapshots are taken on the global tick and written asynchronously.
+     */
+    private void checkpoint() {
+        List<EventSnapshot> snapshots = takeSnapshots();
+        long sequence = snapshotStore.nextSequence();
+        scheduler.runAsync(() -> snapshotStore.write(snapshots, sequence));
+    }
+
+    private List<EventSnapshot> takeSnapshots() {
+        List<EventSnapshot> snapshots = new ArrayList<>();
+        for (Event event : activeEvents.values()) {
+            if (event.isEnded() || event.getState().isTerminal()) continue;
+            if (event.getLocation().getWorld() == null) continue;
+
+            try {
+                snapshots.add(event.snapshot());
+            } catch (Exception e) {
+                plugin.getLogger().warning("Failed to snapshot " + event.getType() + ": " + e.getMessage());
+            }
+        }
+
+        // Saved events whose chunk has not loaded yet would otherwise be lost on the next write
+        snapshots.addAll(restorer.getPendingSnapshots());
+        return snapshots;
     }
 
     /**
      * End an event and distribute rewards.
+     * Safe to call more than once; only the first call for an event has any effect.
      */
     public void endEvent(UUID eventId, boolean success) {
         Event event = activeEvents.remove(eventId);
         if (event == null) return;
+        spatialIndex.remove(eventId);
+        if (!event.markEnded()) return;
+
+        // Drop it from the saved state now, so a crash before the next checkpoint cannot resume it
+        if (config.isPersistenceEnabled()) {
+            snapshotStore.markEnded(eventId);
+            scheduler.runAsync(() -> snapshotStore.remove(eventId));
+        }
 
+        // Credit dwell time for everyone still inside before checking eligibility
+        interestManager.release(event);
         List<Player> participants = event.getParticipants();
 
         if (success) {
             event.onComplete();
-            EventNotifier.announceCompletion(event, participants);
-            distributeRewards(event, participants);
+            EventNotifier.announceCompletion(config.getMessages(), event, participants);
+            distributeRewards(event, event.getEligibleParticipants(config.getMinDwellSeconds() * 1000L));
         } else {
             event.onFail();
-            EventNotifier.announceFailed(event, participants);
+            EventNotifier.announceFailed(config.getMessages(), event, participants);
         }
+        entityTracker.forget(event);
 
         plugin.getLogger().info("Ended event: " + event.getType() + " - " +
                 (success ? "SUCCESS" : "FAILED"));
     }
 
+    /**
+     * Evict terminal and stale events.
+     * Terminal events that bypassed endEvent are cleaned up; events running past
+     * their duration plus the grace period are failed through endEvent. Both
+     * are found on the global tick and handled on the event's region.
+     */
+    private void reapEvents() {
+        long now = System.currentTimeMillis();
+        long graceMs = config.getStaleEventGrace() * 1000L;
+        int reaped = 0;
+
+        for (Event event : new ArrayList<>(activeEvents.values())) {
+            if (event.getState().isTerminal() || event.isEnded()) {
+                // Reached a terminal state without going through the manager
+                if (activeEvents.remove(event.getEventId()) != null) {
+                    spatialIndex.remove(event.getEventId());
+                    // Entities and wave queues belong to the event's region
+                    scheduler.executeAt(event.getLocation(), () -> {
+                        interestManager.release(event);
+                        event.markEnded();
+                        event.cleanup();
+                        entityTracker.forget(event);
+                    });
+                    reaped++;
+                    plugin.getLogger().warning("Reaped terminal event: " + event.getType() +
+                            " (" + event.getState() + ")");
+                }
+                continue;
+            }
+
+            long deadline = event.getStartTime() + event.getDurationSeconds() * 1000L + graceMs;
+            if (now > deadline) {
+                scheduler.executeAt(event.getLocation(), () -> endEvent(event.getEventId(), false));
+                reaped++;
+                plugin.getLogger().warning("Reaped stale event: " + event.getType() + " (" +
+                        ((now - event.getStartTime()) / 1000) + "s old)");
+            }
+        }
+
+        totalReaped += reaped;
+
+        // Saved events whose chunk never loaded in time
+        restorer.purgeExpired();
+    }
+
+    /**
+     * Update each event's level of detail from the nearest player.
+     * Events with an unloaded center chunk or nobody within range hibernate.
+     * Distances come from the position snapshot; the change itself is applied
+     * on the event's region since it freezes and wakes entities.
+     */
+    private void updateLod() {
+        double fullRadiusSq = square(config.getLodFullRadius());
+        double reducedRadiusSq = square(config.getLodReducedRadius());
+
+        for (Event event : activeEvents.values()) {
+            Location loc = event.getLocation();
+            World world = loc.getWorld();
+
+            EventLod lod;
+            if (world == null || !world.isChunkLoaded(loc.getBlockX() >> 4, loc.getBlockZ() >> 4)) {
+                lod = EventLod.HIBERNATING;
+            } else {
+                double nearestSq = positions.nearestSquared(loc);
+                if (nearestSq <= fullRadiusSq) {
+                    lod = EventLod.FULL;
+                } else if (nearestSq <= reducedRadiusSq) {
+                    lod = EventLod.REDUCED;
+                } else {
+                    lod = EventLod.HIBERNATING;
+                }
+            }
+
+            if (lod != event.getLod()) {
+                scheduler.executeAt(loc, () -> event.setLod(lod));
+            }
+        }
+    }
+
+    private static double square(double value) {
+        return value * value;
+    }
+
+    /**
+     * Check if the active event cap has been reached.
+     */
+    public boolean isAtCapacity() {
+        return activeEvents.size() >= config.getMaxActiveEvents();
+    }
+
+    /**
+     * Get the number of active events.
+     */
+    public int getActiveEventCount() {
+        return activeEvents.size();
+    }
+
+    /**
+     * Get the number of events evicted by the reaper since startup.
+     */
+    public long getTotalReaped() {
+        return totalReaped;
+    }
+
     /**
      * Distribute rewards to participants.
      */
@@ -229,12 +503,10 @@ public class EventManager {
             int essenceReward = config.getEssenceReward(event.getType());
 
             for (Player player : participants) {
-                // Award essence via economy
-                if (economy != null && essence != null && essence.isEnabled()) {
-                    essence.awardEssence(player, essenceReward, economy);
-                }
+                // Queue essence payout
+                payoutQueue.enqueue(player.getUniqueId(), essenceReward, event.getEventId().toString());
 
-                player.sendMessage("§a+ " + essenceReward + " Essence");
+                outbox.queueReward(player, "§a+ " + essenceReward + " Essence");
             }
         }
     }
@@ -246,6 +518,28 @@ public class EventManager {
         return new ArrayList<>(activeEvents.values());
     }
 
+    /**
+     * Get areas of events within a distance of a location, measured to each
+     * event's area edge. Safe to call from any thread.
+     */
+    public List<EventSpatialIndex.EventArea> getEventsNear(Location location, double distance) {
+        return spatialIndex.getEventsNear(location, distance);
+    }
+
+    /**
+     * Check if any part of a chunk lies inside an event area. Safe to call from any thread.
+     */
+    public boolean isChunkInEvent(World world, int chunkX, int chunkZ) {
+        return spatialIndex.isChunkInEvent(world.getUID(), chunkX, chunkZ);
+    }
+
+    /**
+     * Get the spatial index of active event areas.
+     */
+    public EventSpatialIndex getSpatialIndex() {
+        return spatialIndex;
+    }
+
     /**
      * Get event by ID.
      */
@@ -253,16 +547,38 @@ public class EventManager {
         return activeEvents.get(eventId);
     }
 
+    /**
+     * Get captured positions of players within radius.
+     */
+    private List<PlayerPositions.Position> getNearbyPositions(Location location, double radius) {
+        List<PlayerPositions.Position> nearby = new ArrayList<>();
+        if (location.getWorld() == null) return nearby;
+
+        UUID worldId = location.getWorld().getUID();
+        double radiusSq = radius * radius;
+        for (PlayerPositions.Position position : positions.getAll()) {
+            if (position.worldId().equals(worldId) && position.distanceSquared(location) <= radiusSq) {
+                nearby.add(position);
+            }
+        }
+
+        return nearby;
+    }
+
     /**
      * Get nearby players within radius.
      */
     private List<Player> getNearbyPlayers(Location location, double radius) {
         List<Player> nearby = new ArrayList<>();
+        if (location.getWorld() == null) return nearby;
 
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            if (player.getWorld() != location.getWorld()) continue;
+        UUID worldId = location.getWorld().getUID();
+        double radiusSq = radius * radius;
+        for (PlayerPositions.Position position : positions.getAll()) {
+            if (!position.worldId().equals(worldId) || position.distanceSquared(location) > radiusSq) continue;
 
-            if (player.getLocation().distance(location) <= radius) {
+            Player player = Bukkit.getPlayer(position.playerId());
+            if (player != null) {
                 nearby.add(player);
             }
         }
@@ -279,12 +595,48 @@ public class EventManager {
             spawnCheckTask.cancel();
             spawnCheckTask = null;
         }
+        if (reaperTask != null) {
+            reaperTask.cancel();
+            reaperTask = null;
+        }
+        if (lodTask != null) {
+            lodTask.cancel();
+            lodTask = null;
+        }
+        if (checkpointTask != null) {
+            checkpointTask.cancel();
+            checkpointTask = null;
+        }
 
-        // End all active events
-        for (Event event : new ArrayList<>(activeEvents.values())) {
-            event.cleanup();
+        if (config.isPersistenceEnabled()) {
+            // Save running events and leave their entities in the world
+            snapshotStore.write(takeSnapshots(), snapshotStore.nextSequence());
+            for (Event event : new ArrayList<>(activeEvents.values())) {
+                event.markEnded();
+                event.suspend();
+            }
+        } else {
+            // End all active events
+            for (Event event : new ArrayList<>(activeEvents.values())) {
+                event.markEnded();
+                event.cleanup();
+            }
         }
         activeEvents.clear();
+        spatialIndex.clear();
+        interestManager.clear();
+
+        HandlerList.unregisterAll(entityTracker);
+        HandlerList.unregisterAll(interestManager);
+        HandlerList.unregisterAll(restorer);
+
+        // Deliver anything still queued
+        EventNotifier.setOutbox(null);
+        outbox.shutdown();
+        payoutQueue.shutdown();
+        if (rewardLedger != null) {
+            rewardLedger.close();
+        }
 
         plugin.getLogger().info("Event Manager shutdown");
     }
@@ -321,4 +673,24 @@ public class EventManager {
     public DifficultyCalculator getDifficultyCalculator() {
         return difficultyCalculator;
     }
+
+    public EventEntityTracker getEntityTracker() {
+        return entityTracker;
+    }
+
+    public EventInterestManager getInterestManager() {
+        return interestManager;
+    }
+
+    public EventRestorer getRestorer() {
+        return restorer;
+    }
+
+    public NotificationOutbox getOutbox() {
+        return outbox;
+    }
+
+    public PayoutQueue getPayoutQueue() {
+        return payoutQueue;
+    }
 }
@@ -0,0 +1,270 @@
+package dev.ked.stormcraft.events.event;
+
+import dev.ked.stormcraft.events.persistence.EventSnapshot;
+import dev.ked.stormcraft.events.persistence.EventSnapshotStore;
+import dev.ked.stormcraft.events.scheduler.TaskScheduler;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rehydrates events saved before a restart.
+ * Snapshots are held per world and chunk and only resumed once the chunk at
+ * the event center loads, so startup never forces chunks to load. Tagged
+ * entities that load before their event resumes are held and handed over
+ * when it does.
+ *
+ * Chunk and entity listeners call in from every region and the reaper from
+ * the global tick. The pending maps are guarded by this object's monitor, and
+ * a snapshot is claimed under it before it is resumed or dropped, so each one
+ * is handled exactly once. A claimed snapshot keeps adopting entities until it
+ * is released, so none that load mid-resume are mistaken for leftovers.
+ * Resuming and removing entities happen outside the lock, on the thread
+ * owning the chunk or entity.
+ */
+public class EventRestorer implements Listener {
+    private final JavaPlugin plugin;
+    private final TaskScheduler scheduler;
+    private final EventManager eventManager;
+    private final EventSnapshotStore store;
+
+    // World id -> chunk key -> snapshots waiting for that chunk. Guarded by this
+    private final Map<UUID, Map<Long, List<Pending>>> pendingByChunk = new HashMap<>();
+    // Concurrent so the chunk load fast path and status checks need no lock
+    private final Map<UUID, Pending> pendingById = new ConcurrentHashMap<>();
+
+    public EventRestorer(JavaPlugin plugin, TaskScheduler scheduler, EventManager eventManager,
+                         EventSnapshotStore store) {
+        this.plugin = plugin;
+        this.scheduler = scheduler;
+        this.eventManager = eventManager;
+        this.store = store;
+    }
+
+    /**
+     * Load saved snapshots. Events whose center chunk is already loaded resume
+     * on that chunk's region; the rest wait for their chunk.
+     */
+    public void load() {
+        long now = System.currentTimeMillis();
+        int queued = 0;
+        int dropped = 0;
+
+        synchronized (this) {
+            for (EventSnapshot snapshot : store.read()) {
+                World world = Bukkit.getWorld(snapshot.getWorldId());
+                if (world == null || snapshot.getRemainingSeconds() <= 0) {
+                    dropped++;
+                    continue;
+                }
+
+                Pending pending = new Pending(snapshot, now + snapshot.getRemainingSeconds() * 1000L);
+                pendingById.put(snapshot.getEventId(), pending);
+                pendingByChunk.computeIfAbsent(snapshot.getWorldId(), k -> new HashMap<>())
+                        .computeIfAbsent(chunkKey(snapshot.getChunkX(), snapshot.getChunkZ()), k -> new ArrayList<>())
+                        .add(pending);
+                queued++;
+            }
+        }
+
+        if (queued > 0 || dropped > 0) {
+            plugin.getLogger().info("Loaded " + queued + " saved events (" + dropped + " expired or unloadable)");
+        }
+
+        // Resume events already in loaded chunks
+        for (Pending pending : new ArrayList<>(pendingById.values())) {
+            EventSnapshot snapshot = pending.snapshot;
+            World world = Bukkit.getWorld(snapshot.getWorldId());
+            if (world != null && world.isChunkLoaded(snapshot.getChunkX(), snapshot.getChunkZ())) {
+                Location center = new Location(world, snapshot.getX(), snapshot.getY(), snapshot.getZ());
+                scheduler.runAt(center, () -> {
+                    if (claim(pending)) {
+                        rehydrate(pending);
+                    }
+                });
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent e) {
+        if (pendingById.isEmpty()) return;
+
+        List<Pending> ready;
+        synchronized (this) {
+            Map<Long, List<Pending>> worldPending = pendingByChunk.get(e.getWorld().getUID());
+            if (worldPending == null) return;
+
+            List<Pending> waiting = worldPending.get(chunkKey(e.getChunk().getX(), e.getChunk().getZ()));
+            if (waiting == null) return;
+
+            ready = new ArrayList<>(waiting);
+            for (Pending pending : ready) {
+                claim(pending);
+            }
+        }
+
+        for (Pending pending : ready) {
+            rehydrate(pending);
+        }
+    }
+
+    /**
+     * Check if an event is waiting to be resumed.
+     */
+    public boolean isPending(UUID eventId) {
+        return pendingById.containsKey(eventId);
+    }
+
+    /**
+     * Hold a tagged entity for an event that has not resumed yet.
+     * @return true if the entity belongs to a pending event
+     */
+    public synchronized boolean adopt(UUID eventId, Entity entity) {
+        Pending pending = pendingById.get(eventId);
+        if (pending == null) return false;
+
+        pending.entities.add(entity);
+        return true;
+    }
+
+    /**
+     * Drop pending snapshots that ran out of time before their chunk loaded.
+     */
+    public void purgeExpired() {
+        if (pendingById.isEmpty()) return;
+
+        long now = System.currentTimeMillis();
+        List<Pending> expired = new ArrayList<>();
+        synchronized (this) {
+            for (Pending pending : pendingById.values()) {
+                if (now >= pending.deadline && claim(pending)) {
+                    expired.add(pending);
+                }
+            }
+        }
+
+        for (Pending pending : expired) {
+            removeEntities(release(pending));
+            plugin.getLogger().info("Dropped saved event " + pending.snapshot.getType() + " - expired before resuming");
+        }
+    }
+
+    /**
+     * Get snapshots of events still waiting for their chunk, with the time
+     * left recounted from their deadline, so checkpoints keep them on disk.
+     */
+    public List<EventSnapshot> getPendingSnapshots() {
+        long now = System.currentTimeMillis();
+        List<EventSnapshot> snapshots = new ArrayList<>();
+        for (Pending pending : pendingById.values()) {
+            int remaining = (int) ((pending.deadline - now) / 1000L);
+            if (!pending.claimed && remaining > 0) {
+                snapshots.add(pending.snapshot.withRemainingSeconds(remaining));
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * Get the number of events waiting to resume.
+     */
+    public int getPendingCount() {
+        return pendingById.size();
+    }
+
+    /**
+     * Resume a claimed snapshot. Runs on the region owning its center chunk.
+     */
+    private void rehydrate(Pending pending) {
+        Event event = System.currentTimeMillis() < pending.deadline
+                ? eventManager.resumeEvent(pending.snapshot) : null;
+
+        // Once the event is active, entities loading from here on find it directly
+        List<Entity> entities = release(pending);
+        if (event == null) {
+            removeEntities(entities);
+            return;
+        }
+
+        for (Entity entity : entities) {
+            if (entity.isValid()) {
+                eventManager.getEntityTracker().attach(entity, event);
+            }
+        }
+    }
+
+    /**
+     * Take a snapshot off its chunk so nothing else resumes or drops it.
+     * It keeps adopting entities until {@link #release(Pending)}.
+     * @return false if it was already claimed elsewhere
+     */
+    private synchronized boolean claim(Pending pending) {
+        if (pending.claimed) return false;
+        pending.claimed = true;
+
+        EventSnapshot snapshot = pending.snapshot;
+
+        Map<Long, List<Pending>> worldPending = pendingByChunk.get(snapshot.getWorldId());
+        if (worldPending == null) return true;
+
+        long key = chunkKey(snapshot.getChunkX(), snapshot.getChunkZ());
+        List<Pending> waiting = worldPending.get(key);
+        if (waiting != null) {
+            waiting.remove(pending);
+            if (waiting.isEmpty()) {
+                worldPending.remove(key);
+            }
+        }
+        if (worldPending.isEmpty()) {
+            pendingByChunk.remove(snapshot.getWorldId());
+        }
+        return true;
+    }
+
+    /**
+     * Stop tracking a claimed snapshot.
+     * @return The entities adopted for it
+     */
+    private synchronized List<Entity> release(Pending pending) {
+        pendingById.remove(pending.snapshot.getEventId());
+        List<Entity> entities = new ArrayList<>(pending.entities);
+        pending.entities.clear();
+        return entities;
+    }
+
+    private void removeEntities(List<Entity> entities) {
+        for (Entity entity : entities) {
+            scheduler.executeFor(entity, () -> {
+                if (entity.isValid()) {
+                    entity.remove();
+                }
+            });
+        }
+    }
+
+    private static long chunkKey(int x, int z) {
+        return ((long) z << 32) | (x & 0xFFFFFFFFL);
+    }
+
+    private static class Pending {
+        final EventSnapshot snapshot;
+        final long deadline;
+        final List<Entity> entities = new ArrayList<>();
+        volatile boolean claimed;
+
+        Pending(EventSnapshot snapshot, long deadline) {
+            this.snapshot = snapshot;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package dev.ked.stormcraft.events.event;
+
+import org.bukkit.Location;
+
+import java.util.*;
+
+/**
+ * Per-world grid index of active event areas.
+ *
+ * Each event is registered in every cell its area overlaps. The index is an
+ * immutable snapshot swapped through a volatile reference whenever an event
+ * starts or ends, so queries are lock-free and safe from any thread. Queries
+ * return {@link EventArea} values rather than live events.
+ */
+public class EventSpatialIndex {
+    private static final int CELL_SHIFT = 7; // 128-block cells
+    private static final EventArea[] NO_AREAS = new EventArea[0];
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * Register or update an event's area. Main thread.
+     */
+    public synchronized void add(Event event) {
+        Location loc = event.getLocation();
+        if (loc.getWorld() == null) return;
+
+        EventArea area = new EventArea(event.getEventId(), event.getType(), loc.getWorld().getUID(),
+                loc.getX(), loc.getY(), loc.getZ(), event.getRadius());
+
+        Map<UUID, EventArea> areas = new HashMap<>(snapshot.areas);
+        areas.put(area.eventId(), area);
+        snapshot = Snapshot.build(areas, snapshot.version + 1);
+    }
+
+    /**
+     * Remove an event's area. Main thread.
+     */
+    public synchronized void remove(UUID eventId) {
+        if (!snapshot.areas.containsKey(eventId)) return;
+
+        Map<UUID, EventArea> areas = new HashMap<>(snapshot.areas);
+        areas.remove(eventId);
+        snapshot = Snapshot.build(areas, snapshot.version + 1);
+    }
+
+    public synchronized void clear() {
+        snapshot = Snapshot.build(Collections.emptyMap(), snapshot.version + 1);
+    }
+
+    /**
+     * Get the areas registered in the cell containing a point.
+     * The returned array is shared and must not be modified.
+     */
+    public EventArea[] getCell(UUID worldId, double x, double z) {
+        Map<Long, EventArea[]> cells = snapshot.cells.get(worldId);
+        if (cells == null) return NO_AREAS;
+
+        EventArea[] inCell = cells.get(cellKey(x, z));
+        return inCell != null ? inCell : NO_AREAS;
+    }
+
+    /**
+     * Get the key of the cell containing a point.
+     */
+    public static long cellKey(double x, double z) {
+        return key(cell(x), cell(z));
+    }
+
+    /**
+     * Get a counter that changes whenever an area is added or removed,
+     * so callers can tell when cached cell lookups are stale.
+     */
+    public long getVersion() {
+        return snapshot.version;
+    }
+
+    /**
+     * Get events whose area comes within a distance of a point.
+     * @param distance Extra distance beyond each event's own radius; 0 for "inside"
+     */
+    public List<EventArea> getEventsNear(UUID worldId, double x, double z, double distance) {
+        Snapshot current = snapshot;
+        Map<Long, EventArea[]> cells = current.cells.get(worldId);
+        if (cells == null) return Collections.emptyList();
+
+        int minCellX = cell(x - distance);
+        int maxCellX = cell(x + distance);
+        int minCellZ = cell(z - distance);
+        int maxCellZ = cell(z + distance);
+
+        List<EventArea> result = new ArrayList<>();
+        for (int cx = minCellX; cx <= maxCellX; cx++) {
+            for (int cz = minCellZ; cz <= maxCellZ; cz++) {
+                EventArea[] inCell = cells.get(key(cx, cz));
+                if (inCell == null) continue;
+
+                for (EventArea area : inCell) {
+                    if (!result.contains(area) && area.distanceTo(x, z) <= distance) {
+                        result.add(area);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get events within a distance of a location (measured to each event's area edge).
+     */
+    public List<EventArea> getEventsNear(Location location, double distance) {
+        if (location.getWorld() == null) return Collections.emptyList();
+        return getEventsNear(location.getWorld().getUID(), location.getX(), location.getZ(), distance);
+    }
+
+    /**
+     * Get events whose area contains a point.
+     */
+    public List<EventArea> getEventsAt(UUID worldId, double x, double z) {
+        return getEventsNear(worldId, x, z, 0);
+    }
+
+    /**
+     * Check if any part of a chunk lies inside an event area.
+     */
+    public boolean isChunkInEvent(UUID worldId, int chunkX, int chunkZ) {
+        Snapshot current = snapshot;
+        Map<Long, EventArea[]> cells = current.cells.get(worldId);
+        if (cells == null) return false;
+
+        EventArea[] inCell = cells.get(key(chunkX >> (CELL_SHIFT - 4), chunkZ >> (CELL_SHIFT - 4)));
+        if (inCell == null) return false;
+
+        double minX = chunkX << 4;
+        double minZ = chunkZ << 4;
+        for (EventArea area : inCell) {
+            // Closest point of the chunk to the event center
+            double nearestX = Math.max(minX, Math.min(area.x(), minX + 16));
+            double nearestZ = Math.max(minZ, Math.min(area.z(), minZ + 16));
+            if (area.distanceSquaredToCenter(nearestX, nearestZ) <= area.radius() * area.radius()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get an event's area by id.
+     */
+    public EventArea get(UUID eventId) {
+        return snapshot.areas.get(eventId);
+    }
+
+    /**
+     * Get all registered areas.
+     */
+    public Collection<EventArea> getAll() {
+        return snapshot.areas.values();
+    }
+
+    private static int cell(double coordinate) {
+        return ((int) Math.floor(coordinate)) >> CELL_SHIFT;
+    }
+
+    private static long key(int cellX, int cellZ) {
+        return ((long) cellZ << 32) | (cellX & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Immutable area of an active event.
+     */
+    public record EventArea(UUID eventId, EventType type, UUID worldId, double x, double y, double z, double radius) {
+        /**
+         * Distance from a point to the edge of the area, 0 if inside.
+         */
+        public double distanceTo(double px, double pz) {
+            return Math.max(0, Math.sqrt(distanceSquaredToCenter(px, pz)) - radius);
+        }
+
+        public double distanceSquaredToCenter(double px, double pz) {
+            double dx = px - x;
+            double dz = pz - z;
+            return dx * dx + dz * dz;
+        }
+
+        public boolean contains(double px, double pz) {
+            return distanceSquaredToCenter(px, pz) <= radius * radius;
+        }
+    }
+
+    /**
+     * Immutable view of the index.
+     */
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(Collections.emptyMap(), Collections.emptyMap(), 0);
+
+        final Map<UUID, EventArea> areas;
+        final Map<UUID, Map<Long, EventArea[]>> cells;
+        final long version;
+
+        Snapshot(Map<UUID, EventArea> areas, Map<UUID, Map<Long, EventArea[]>> cells, long version) {
+            this.areas = areas;
+            this.cells = cells;
+            this.version = version;
+        }
+
+        static Snapshot build(Map<UUID, EventArea> areas, long version) {
+            Map<UUID, Map<Long, List<EventArea>>> building = new HashMap<>();
+
+            for (EventArea area : areas.values()) {
+                Map<Long, List<EventArea>> worldCells = building.computeIfAbsent(area.worldId(), k -> new HashMap<>());
+                for (int cx = cell(area.x() - area.radius()); cx <= cell(area.x() + area.radius()); cx++) {
+                    for (int cz = cell(area.z() - area.radius()); cz <= cell(area.z() + area.radius()); cz++) {
+                        worldCells.computeIfAbsent(key(cx, cz), k -> new ArrayList<>()).add(area);
+                    }
+                }
+            }
+
+            Map<UUID, Map<Long, EventArea[]>> cells = new HashMap<>();
+            building.forEach((worldId, worldCells) -> {
+                Map<Long, EventArea[]> frozen = new HashMap<>();
+                worldCells.forEach((key, list) -> frozen.put(key, list.toArray(new EventArea[0])));
+                cells.put(worldId, Collections.unmodifiableMap(frozen));
+            });
+
+            return new Snapshot(Collections.unmodifiableMap(areas), Collections.unmodifiableMap(cells), version);
+        }
+    }
+}
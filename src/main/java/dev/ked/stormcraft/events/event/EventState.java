@@ -7,5 +7,12 @@ public enum EventState {
     SPAWNING,   // Event is being set up
     ACTIVE,     // Event is running
     COMPLETED,  // Event completed successfully
-    FAILED      // Event failed or expired
+    FAILED;     // Event failed or expired
+
+    /**
+     * Check if this state ends the event lifecycle.
+     */
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED;
+    }
 }
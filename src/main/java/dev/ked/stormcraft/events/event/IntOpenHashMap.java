@@ -0,0 +1,182 @@
+package dev.ked.stormcraft.events.event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Map from primitive int keys (entity ids) to values.
+ * Open addressing with linear probing and backward-shift deletion, so there
+ * is no boxing and no tombstones; a miss is a single probe in the common case.
+ * Not thread-safe.
+ *
+ * @param <V> Value type; null values are not supported
+ */
+class IntOpenHashMap<V> {
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    private final int initialCapacity;
+    private int[] keys;
+    private Object[] values;
+    private int size;
+
+    IntOpenHashMap(int expected) {
+        this.initialCapacity = Integer.highestOneBit(Math.max(4, expected * 2 - 1)) << 1;
+        allocate(initialCapacity);
+    }
+
+    /**
+     * Map a key to a value.
+     * @return The previous value, or null if the key was absent
+     */
+    @SuppressWarnings("unchecked")
+    V put(int key, V value) {
+        int slot = indexOf(key);
+        if (keys[slot] == key) {
+            V previous = (V) values[slot];
+            values[slot] = value;
+            return previous;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > keys.length) {
+            rehash(keys.length << 1);
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        int slot = indexOf(key);
+        return keys[slot] == key ? (V) values[slot] : null;
+    }
+
+    boolean containsKey(int key) {
+        return keys[indexOf(key)] == key;
+    }
+
+    /**
+     * Remove a key.
+     * @return The removed value, or null if the key was absent
+     */
+    @SuppressWarnings("unchecked")
+    V remove(int key) {
+        int slot = indexOf(key);
+        if (keys[slot] != key) return null;
+
+        V removed = (V) values[slot];
+        deleteSlot(slot);
+        size--;
+        return removed;
+    }
+
+    /**
+     * Remove every entry whose value matches, rebuilding the table once.
+     * @return The number of entries removed
+     */
+    @SuppressWarnings("unchecked")
+    int removeValues(Predicate<? super V> filter) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        int oldSize = size;
+        allocate(oldKeys.length);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY && !filter.test((V) oldValues[i])) {
+                insertFresh(oldKeys[i], oldValues[i]);
+            }
+        }
+        return oldSize - size;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Copy out every value.
+     */
+    @SuppressWarnings("unchecked")
+    List<V> values() {
+        List<V> copy = new ArrayList<>(size);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                copy.add((V) values[i]);
+            }
+        }
+        return copy;
+    }
+
+    void clear() {
+        allocate(initialCapacity);
+    }
+
+    private int indexOf(int key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Backward-shift deletion keeps probe chains intact without tombstones.
+     */
+    private void deleteSlot(int slot) {
+        int mask = keys.length - 1;
+        int hole = slot;
+        int next = (slot + 1) & mask;
+
+        while (keys[next] != EMPTY) {
+            int home = mix(keys[next]) & mask;
+            boolean movable = hole <= next ? (home <= hole || home > next) : (home <= hole && home > next);
+            if (movable) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+
+        keys[hole] = EMPTY;
+        values[hole] = null;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                insertFresh(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void insertFresh(int key, Object value) {
+        int slot = indexOf(key);
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -5,14 +5,16 @@ import dev.ked.stormcraft.events.config.ConfigManager;
 import dev.ked.stormcraft.events.event.Event;
 import dev.ked.stormcraft.events.event.EventState;
 import dev.ked.stormcraft.events.event.EventType;
+import dev.ked.stormcraft.events.integration.MythicMobsIntegration;
 import dev.ked.stormcraft.events.objectives.objectives.DefendObjective;
+import dev.ked.stormcraft.events.persistence.EventSnapshot;
+import dev.ked.stormcraft.events.scheduler.TaskScheduler;
+import dev.ked.stormcraft.events.spawn.WaveSpawnQueue;
 import dev.ked.stormcraft.model.TravelingStorm;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -25,24 +27,28 @@ public class StormRiftEvent extends Event {
     private final StormcraftEventsPlugin plugin;
     private final ConfigManager config;
     private final TravelingStorm storm;
-    private final List<Entity> spawnedMobs = new ArrayList<>();
+    private final WaveSpawnQueue spawnQueue;
+    private final List<MythicMobsIntegration.MobDefinition> waveMobs;
 
     private DefendObjective objective;
-    private BukkitTask tickTask;
-    private BukkitTask waveTask;
+    private TaskScheduler.Task tickTask;
+    private TaskScheduler.Task waveTask;
     private int currentWave = 0;
     private int totalWaves;
     private int mobsPerWave;
 
     public StormRiftEvent(StormcraftEventsPlugin plugin, ConfigManager config,
-                         Location location, TravelingStorm storm) {
+                         MythicMobsIntegration mythicMobs, Location location, TravelingStorm storm) {
         super(EventType.STORM_RIFT, location, config.getEventDuration(EventType.STORM_RIFT));
         this.plugin = plugin;
         this.config = config;
         this.storm = storm;
 
-        this.totalWaves = config.getConfig().getInt("events.types.STORM_RIFT.waveCount", 5);
-        this.mobsPerWave = config.getConfig().getInt("events.types.STORM_RIFT.mobsPerWave", 10);
+        this.totalWaves = config.getWaveCount(EventType.STORM_RIFT);
+        this.mobsPerWave = config.getMobsPerWave(EventType.STORM_RIFT);
+        this.spawnQueue = new WaveSpawnQueue(plugin.getTaskScheduler(), location, config.getSpawnsPerTick(), config.getSpawnTickBudgetMs());
+        this.waveMobs = mythicMobs != null && mythicMobs.isEnabled()
+                ? mythicMobs.getMobs(config.getWaveMythicMobs(EventType.STORM_RIFT)) : List.of();
     }
 
     @Override
@@ -54,58 +60,98 @@ public class StormRiftEvent extends Event {
         objectives.add(objective);
 
         // Start tick task
-        tickTask = Bukkit.getScheduler().runTaskTimer(plugin, this::onTick, 0L, 20L);
+        tickTask = plugin.getTaskScheduler().runAtTimer(location, this::tick, 0L, 20L);
 
         // Start first wave
         scheduleNextWave(2); // 2 second delay for first wave
     }
 
-    private void scheduleNextWave(int delaySeconds) {
-        waveTask = Bukkit.getScheduler().runTaskLater(plugin, () -> {
-            currentWave++;
-            objective.nextWave();
-            spawnWave();
-
-            // Schedule next wave if not complete
-            if (currentWave < totalWaves) {
-                scheduleNextWave(30); // 30 seconds between waves
-            }
-        }, delaySeconds * 20L);
+    @Override
+    protected void onResume(EventSnapshot snapshot) {
+        this.state = EventState.ACTIVE;
+        this.currentWave = snapshot.getWave();
+
+        // Recreate objective
+        objective = new DefendObjective(totalWaves);
+        objectives.add(objective);
+
+        // Start tick task
+        tickTask = plugin.getTaskScheduler().runAtTimer(location, this::tick, 0L, 20L);
+
+        // Continue with the next wave; mobs from earlier waves re-attach as their chunks load
+        if (currentWave < totalWaves) {
+            scheduleNextWave(2);
+        }
+    }
+
+    @Override
+    protected void saveState(EventSnapshot.Builder builder) {
+        builder.wave(currentWave);
     }
 
-    private void spawnWave() {
-        // Spawn rift particle effect
-        location.getWorld().spawnParticle(Particle.PORTAL, location, 100, 2, 2, 2, 0.5);
+    private void scheduleNextWave(int delaySeconds) {
+        // Resolve spawn positions now, away from the wave boundary
+        List<WaveSpawnQueue.PendingSpawn> wave = planWave();
+
+        waveTask = plugin.getTaskScheduler().runAtLater(location, () -> runWhenAwake(() -> {
+            // Spawn rift particle effect
+            location.getWorld().spawnParticle(Particle.PORTAL, location, 100, 2, 2, 2, 0.5);
+
+            spawnQueue.submit(wave, this::trackMob, () -> {
+                // Wave fully materialized
+                currentWave++;
+                objective.nextWave();
+
+                // Schedule next wave if not complete
+                if (currentWave < totalWaves) {
+                    scheduleNextWave(30); // 30 seconds between waves
+                }
+            });
+        }), delaySeconds * 20L);
+    }
 
+    private List<WaveSpawnQueue.PendingSpawn> planWave() {
         EntityType[] mobTypes = {
                 EntityType.ZOMBIE, EntityType.SKELETON, EntityType.SPIDER,
                 EntityType.CREEPER, EntityType.WITCH
         };
 
+        List<WaveSpawnQueue.PendingSpawn> wave = new ArrayList<>(mobsPerWave);
         for (int i = 0; i < mobsPerWave; i++) {
             Location spawnLoc = getRandomLocationNear(location, 15);
             EntityType type = mobTypes[ThreadLocalRandom.current().nextInt(mobTypes.length)];
+            wave.add(new WaveSpawnQueue.PendingSpawn(spawnLoc, type, pickWaveMob()));
+        }
+        return wave;
+    }
 
-            Entity mob = location.getWorld().spawnEntity(spawnLoc, type);
-            mob.setCustomName("§5Storm-Corrupted " + type.name());
-            spawnedMobs.add(mob);
+    /**
+     * A configured MythicMobs wave mob at random, or null for vanilla mobs.
+     */
+    private MythicMobsIntegration.MobDefinition pickWaveMob() {
+        if (waveMobs.isEmpty()) return null;
+        return waveMobs.get(ThreadLocalRandom.current().nextInt(waveMobs.size()));
+    }
+
+    private void trackMob(Entity mob) {
+        // MythicMobs mobs keep their configured display name
+        if (mob.getCustomName() == null) {
+            mob.setCustomName("§5Storm-Corrupted " + mob.getType().name());
         }
+        trackEntity(mob);
     }
 
     @Override
     public void onTick() {
-        // Remove dead mobs from list
-        spawnedMobs.removeIf(mob -> !mob.isValid() || mob.isDead());
-
         // Check if all waves complete
         if (objective.isComplete()) {
-            onComplete();
+            finish(true);
             return;
         }
 
         // Check if expired
         if (isExpired()) {
-            onFail();
+            finish(false);
         }
     }
 
@@ -124,12 +170,10 @@ public class StormRiftEvent extends Event {
     @Override
     public void cleanup() {
         // Remove remaining mobs
-        for (Entity mob : spawnedMobs) {
-            if (mob.isValid() && !mob.isDead()) {
-                mob.remove();
-            }
-        }
-        spawnedMobs.clear();
+        removeTrackedEntities();
+
+        // Drop any partially spawned wave
+        spawnQueue.cancel();
 
         // Cancel tasks
         if (tickTask != null) {
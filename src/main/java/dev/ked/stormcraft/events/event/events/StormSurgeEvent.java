@@ -6,17 +6,16 @@ import dev.ked.stormcraft.events.event.Event;
 import dev.ked.stormcraft.events.event.EventState;
 import dev.ked.stormcraft.events.event.EventType;
 import dev.ked.stormcraft.events.objectives.objectives.CollectObjective;
+import dev.ked.stormcraft.events.persistence.EventSnapshot;
+import dev.ked.stormcraft.events.scheduler.TaskScheduler;
 import dev.ked.stormcraft.model.TravelingStorm;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.entity.Item;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.scheduler.BukkitTask;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -27,8 +26,7 @@ public class StormSurgeEvent extends Event {
     private final StormcraftEventsPlugin plugin;
     private final ConfigManager config;
     private final TravelingStorm storm;
-    private final List<Item> crystals = new ArrayList<>();
-    private BukkitTask tickTask;
+    private TaskScheduler.Task tickTask;
     private CollectObjective objective;
 
     public StormSurgeEvent(StormcraftEventsPlugin plugin, ConfigManager config,
@@ -44,7 +42,7 @@ public class StormSurgeEvent extends Event {
         this.state = EventState.ACTIVE;
 
         // Create objective
-        int crystalCount = config.getConfig().getInt("events.types.STORM_SURGE.crystalCount", 5);
+        int crystalCount = config.getCrystalCount();
         objective = new CollectObjective(crystalCount);
         objectives.add(objective);
 
@@ -52,7 +50,20 @@ public class StormSurgeEvent extends Event {
         spawnCrystals(crystalCount);
 
         // Start tick task
-        tickTask = Bukkit.getScheduler().runTaskTimer(plugin, this::onTick, 0L, 20L);
+        tickTask = plugin.getTaskScheduler().runAtTimer(location, this::tick, 0L, 20L);
+    }
+
+    @Override
+    protected void onResume(EventSnapshot snapshot) {
+        this.state = EventState.ACTIVE;
+
+        // Recreate objective; crystals still in the world re-attach as their chunks load
+        int crystalCount = config.getCrystalCount();
+        objective = new CollectObjective(crystalCount);
+        objectives.add(objective);
+
+        // Start tick task
+        tickTask = plugin.getTaskScheduler().runAtTimer(location, this::tick, 0L, 20L);
     }
 
     private void spawnCrystals(int count) {
@@ -64,10 +75,15 @@ public class StormSurgeEvent extends Event {
             Item item = spawnLoc.getWorld().dropItem(spawnLoc, crystal);
             item.setPickupDelay(20); // 1 second delay
             item.setGlowing(true);
-            crystals.add(item);
+            trackEntity(item);
         }
     }
 
+    @Override
+    protected void onItemPickup(Item item, Player player) {
+        objective.updateProgress(player, item.getItemStack().getAmount());
+    }
+
     private ItemStack createStormCrystal() {
         ItemStack crystal = new ItemStack(Material.AMETHYST_SHARD);
         ItemMeta meta = crystal.getItemMeta();
@@ -84,16 +100,13 @@ public class StormSurgeEvent extends Event {
     public void onTick() {
         // Check if expired
         if (isExpired()) {
-            onFail();
+            finish(false);
             return;
         }
 
-        // Remove dead crystals
-        crystals.removeIf(item -> !item.isValid() || item.isDead());
-
         // Check completion
         if (objective.isComplete()) {
-            onComplete();
+            finish(true);
         }
     }
 
@@ -112,12 +125,7 @@ public class StormSurgeEvent extends Event {
     @Override
     public void cleanup() {
         // Remove remaining crystals
-        for (Item item : crystals) {
-            if (item.isValid()) {
-                item.remove();
-            }
-        }
-        crystals.clear();
+        removeTrackedEntities();
 
         // Cancel tick task
         if (tickTask != null) {
@@ -2,25 +2,34 @@ package dev.ked.stormcraft.events.event.events;
 
 import dev.ked.stormcraft.events.StormcraftEventsPlugin;
 import dev.ked.stormcraft.events.config.ConfigManager;
+import dev.ked.stormcraft.events.event.BossEvent;
 import dev.ked.stormcraft.events.event.DamageTracker;
+import dev.ked.stormcraft.events.event.DpsMeter;
 import dev.ked.stormcraft.events.event.Event;
 import dev.ked.stormcraft.events.event.EventState;
 import dev.ked.stormcraft.events.event.EventType;
 import dev.ked.stormcraft.events.integration.MythicMobsIntegration;
 import dev.ked.stormcraft.events.objectives.objectives.KillObjective;
+import dev.ked.stormcraft.events.persistence.EventSnapshot;
+import dev.ked.stormcraft.events.scheduler.TaskScheduler;
+import dev.ked.stormcraft.events.ui.Message;
+import dev.ked.stormcraft.events.ui.MessageTemplate;
+import dev.ked.stormcraft.events.ui.MessageTemplates;
 import dev.ked.stormcraft.model.TravelingStorm;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.attribute.Attribute;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
 import org.bukkit.entity.Giant;
-import org.bukkit.scheduler.BukkitTask;
+
+import java.util.UUID;
 
 /**
  * Storm Titan Event: World boss for 10+ players.
  */
-public class StormTitanEvent extends Event {
+public class StormTitanEvent extends Event implements BossEvent {
     private final StormcraftEventsPlugin plugin;
     private final ConfigManager config;
     private final MythicMobsIntegration mythicMobs;
@@ -28,7 +37,8 @@ public class StormTitanEvent extends Event {
     private final DamageTracker damageTracker;
 
     private Entity bossEntity;
-    private BukkitTask tickTask;
+    private UUID bossId;
+    private TaskScheduler.Task tickTask;
     private KillObjective objective;
 
     public StormTitanEvent(StormcraftEventsPlugin plugin, ConfigManager config,
@@ -39,7 +49,7 @@ public class StormTitanEvent extends Event {
         this.config = config;
         this.mythicMobs = mythicMobs;
         this.storm = storm;
-        this.damageTracker = new DamageTracker(config.getMinDamagePercent());
+        this.damageTracker = new DamageTracker(config.getMinDamagePercent(), config.getBossLeaderboardSize());
     }
 
     @Override
@@ -48,13 +58,14 @@ public class StormTitanEvent extends Event {
 
         // Spawn world boss
         spawnBoss();
+        trackBoss();
 
         // Create objective
         objective = new KillObjective("Storm Titan", 1, true);
         objectives.add(objective);
 
         // Start tick task
-        tickTask = Bukkit.getScheduler().runTaskTimer(plugin, this::onTick, 0L, 20L);
+        tickTask = plugin.getTaskScheduler().runAtTimer(location, this::tick, 0L, 20L);
 
         // Announce spawn (broadcast to entire server)
         broadcastSpawn();
@@ -86,25 +97,80 @@ public class StormTitanEvent extends Event {
     }
 
     private void broadcastSpawn() {
-        String message = "§c§l⚡ STORM TITAN §r§chas spawned at §e" +
-                (int)location.getX() + ", " + (int)location.getY() + ", " + (int)location.getZ() + "§c!";
-        String subtitle = "§7A massive storm creature has emerged from the tempest...";
+        MessageTemplates messages = config.getMessages();
+        Bukkit.broadcast(messages.get(Message.TITAN_SPAWN)
+                .with("x", (int) location.getX())
+                .with("y", (int) location.getY())
+                .with("z", (int) location.getZ())
+                .component());
+        Bukkit.broadcast(messages.get(Message.TITAN_SPAWN_FLAVOR).component());
+    }
+
+    @Override
+    protected void onResume(EventSnapshot snapshot) {
+        this.state = EventState.ACTIVE;
+
+        // Boss re-attaches through onEntityRestored when its chunk loads
+        bossId = snapshot.getBossId();
+        snapshot.getDamage().forEach(damageTracker::restore);
+
+        // Recreate objective
+        objective = new KillObjective("Storm Titan", 1, true);
+        objectives.add(objective);
 
-        Bukkit.broadcast(net.kyori.adventure.text.Component.text(message));
-        Bukkit.broadcast(net.kyori.adventure.text.Component.text(subtitle));
+        // Start tick task
+        tickTask = plugin.getTaskScheduler().runAtTimer(location, this::tick, 0L, 20L);
+    }
+
+    @Override
+    protected void saveState(EventSnapshot.Builder builder) {
+        builder.bossId(bossId).damage(damageTracker.snapshot());
+    }
+
+    private void trackBoss() {
+        if (bossEntity != null) {
+            bossId = bossEntity.getUniqueId();
+            trackEntity(bossEntity);
+        }
     }
 
     @Override
     public void onTick() {
-        // Check if boss is dead
-        if (bossEntity == null || !bossEntity.isValid() || bossEntity.isDead()) {
-            onComplete();
+        // Boss failed to spawn
+        if (bossId == null) {
+            finish(false);
             return;
         }
 
         // Check if expired
         if (isExpired()) {
-            onFail();
+            finish(false);
+        }
+    }
+
+    @Override
+    protected void onEntityDeath(Entity entity, Player killer) {
+        if (entity.getUniqueId().equals(bossId)) {
+            if (killer != null) {
+                objective.updateProgress(killer, 1);
+            }
+            objective.markComplete();
+            finish(true);
+        }
+    }
+
+    @Override
+    protected void onEntityDamaged(Entity entity, Player attacker, double damage) {
+        if (entity.getUniqueId().equals(bossId)) {
+            damageTracker.recordDamage(attacker, damage);
+        }
+    }
+
+    @Override
+    protected void onEntityRestored(Entity entity) {
+        // Refresh reference after the boss chunk reloads
+        if (entity.getUniqueId().equals(bossId)) {
+            bossEntity = entity;
         }
     }
 
@@ -125,14 +191,15 @@ public class StormTitanEvent extends Event {
     }
 
     private void broadcastDefeat() {
-        Bukkit.broadcast(net.kyori.adventure.text.Component.text(
-                "§a§l⚔ STORM TITAN §r§ahas been defeated!"));
+        MessageTemplates messages = config.getMessages();
+        Bukkit.broadcast(messages.get(Message.TITAN_DEFEATED).component());
 
         // Show top 3 contributors
         var topContributors = damageTracker.getTopContributors(3);
         if (!topContributors.isEmpty()) {
-            Bukkit.broadcast(net.kyori.adventure.text.Component.text("§7Top Contributors:"));
+            Bukkit.broadcast(messages.get(Message.TITAN_TOP_HEADER).component());
 
+            MessageTemplate entryTemplate = messages.get(Message.TITAN_TOP_ENTRY);
             int rank = 1;
             for (var entry : topContributors) {
                 org.bukkit.entity.Player player = Bukkit.getPlayer(entry.getKey());
@@ -140,9 +207,12 @@ public class StormTitanEvent extends Event {
                     double damage = entry.getValue();
                     double percent = damageTracker.getDamagePercent(entry.getKey());
 
-                    String msg = String.format("§e  %d. %s §7- §f%.0f damage §7(§6%.1f%%§7)",
-                            rank, player.getName(), damage, percent);
-                    Bukkit.broadcast(net.kyori.adventure.text.Component.text(msg));
+                    Bukkit.broadcast(entryTemplate
+                            .with("rank", rank)
+                            .with("player", player.getName())
+                            .with("damage", String.format("%.0f", damage))
+                            .with("percent", String.format("%.1f", percent))
+                            .component());
                     rank++;
                 }
             }
@@ -152,9 +222,7 @@ public class StormTitanEvent extends Event {
     @Override
     public void cleanup() {
         // Remove boss if still alive
-        if (bossEntity != null && bossEntity.isValid() && !bossEntity.isDead()) {
-            bossEntity.remove();
-        }
+        removeTrackedEntities();
 
         // Cancel tick task
         if (tickTask != null) {
@@ -163,11 +231,28 @@ public class StormTitanEvent extends Event {
         }
     }
 
+    @Override
     public Entity getBossEntity() {
         return bossEntity;
     }
 
+    @Override
     public DamageTracker getDamageTracker() {
         return damageTracker;
     }
+
+    /**
+     * Get a participant's DPS meter against the boss.
+     * @return The meter, or null if the player has not damaged the boss
+     */
+    public DpsMeter getDpsMeter(UUID playerId) {
+        return damageTracker.getDpsMeter(playerId);
+    }
+
+    /**
+     * Get a participant's damage per second against the boss over a window.
+     */
+    public double getDps(UUID playerId, DpsMeter.Window window) {
+        return damageTracker.getDps(playerId, window);
+    }
 }
@@ -2,26 +2,31 @@ package dev.ked.stormcraft.events.event.events;
 
 import dev.ked.stormcraft.events.StormcraftEventsPlugin;
 import dev.ked.stormcraft.events.config.ConfigManager;
+import dev.ked.stormcraft.events.event.BossEvent;
 import dev.ked.stormcraft.events.event.DamageTracker;
+import dev.ked.stormcraft.events.event.DpsMeter;
 import dev.ked.stormcraft.events.event.Event;
 import dev.ked.stormcraft.events.event.EventState;
 import dev.ked.stormcraft.events.event.EventType;
 import dev.ked.stormcraft.events.integration.MythicMobsIntegration;
 import dev.ked.stormcraft.events.objectives.objectives.KillObjective;
+import dev.ked.stormcraft.events.persistence.EventSnapshot;
+import dev.ked.stormcraft.events.scheduler.TaskScheduler;
 import dev.ked.stormcraft.model.TravelingStorm;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.attribute.Attribute;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
 import org.bukkit.entity.Ravager;
-import org.bukkit.scheduler.BukkitTask;
+
+import java.util.UUID;
 
 /**
  * Tempest Guardian Event: Mini-boss fight with 3+ players.
  */
-public class TempestGuardianEvent extends Event {
+public class TempestGuardianEvent extends Event implements BossEvent {
     private final StormcraftEventsPlugin plugin;
     private final ConfigManager config;
     private final MythicMobsIntegration mythicMobs;
@@ -29,7 +34,8 @@ public class TempestGuardianEvent extends Event {
     private final DamageTracker damageTracker;
 
     private Entity bossEntity;
-    private BukkitTask tickTask;
+    private UUID bossId;
+    private TaskScheduler.Task tickTask;
     private KillObjective objective;
 
     public TempestGuardianEvent(StormcraftEventsPlugin plugin, ConfigManager config,
@@ -40,7 +46,7 @@ public class TempestGuardianEvent extends Event {
         this.config = config;
         this.mythicMobs = mythicMobs;
         this.storm = storm;
-        this.damageTracker = new DamageTracker(config.getMinDamagePercent());
+        this.damageTracker = new DamageTracker(config.getMinDamagePercent(), config.getBossLeaderboardSize());
     }
 
     @Override
@@ -49,13 +55,14 @@ public class TempestGuardianEvent extends Event {
 
         // Spawn boss
         spawnBoss();
+        trackBoss();
 
         // Create objective
         objective = new KillObjective("Tempest Guardian", 1, true);
         objectives.add(objective);
 
         // Start tick task
-        tickTask = Bukkit.getScheduler().runTaskTimer(plugin, this::onTick, 0L, 20L);
+        tickTask = plugin.getTaskScheduler().runAtTimer(location, this::tick, 0L, 20L);
     }
 
     private void spawnBoss() {
@@ -80,17 +87,71 @@ public class TempestGuardianEvent extends Event {
         }
     }
 
+    @Override
+    protected void onResume(EventSnapshot snapshot) {
+        this.state = EventState.ACTIVE;
+
+        // Boss re-attaches through onEntityRestored when its chunk loads
+        bossId = snapshot.getBossId();
+        snapshot.getDamage().forEach(damageTracker::restore);
+
+        // Recreate objective
+        objective = new KillObjective("Tempest Guardian", 1, true);
+        objectives.add(objective);
+
+        // Start tick task
+        tickTask = plugin.getTaskScheduler().runAtTimer(location, this::tick, 0L, 20L);
+    }
+
+    @Override
+    protected void saveState(EventSnapshot.Builder builder) {
+        builder.bossId(bossId).damage(damageTracker.snapshot());
+    }
+
+    private void trackBoss() {
+        if (bossEntity != null) {
+            bossId = bossEntity.getUniqueId();
+            trackEntity(bossEntity);
+        }
+    }
+
     @Override
     public void onTick() {
-        // Check if boss is dead
-        if (bossEntity == null || !bossEntity.isValid() || bossEntity.isDead()) {
-            onComplete();
+        // Boss failed to spawn
+        if (bossId == null) {
+            finish(false);
             return;
         }
 
         // Check if expired
         if (isExpired()) {
-            onFail();
+            finish(false);
+        }
+    }
+
+    @Override
+    protected void onEntityDeath(Entity entity, Player killer) {
+        if (entity.getUniqueId().equals(bossId)) {
+            if (killer != null) {
+                objective.updateProgress(killer, 1);
+            }
+            objective.markComplete();
+            finish(true);
+        }
+    }
+
+    @Override
+    protected void onEntityDamaged(Entity entity, Player attacker, double damage) {
+        if (entity.getUniqueId().equals(bossId)) {
+            damageTracker.recordDamage(attacker, damage);
+        }
+    }
+
+    @Override
+    protected void onEntityRestored(Entity entity) {
+        // Refresh reference after the boss chunk reloads
+        if (entity.getUniqueId().equals(bossId)) {
+            bossEntity = entity;
         }
     }
 
@@ -109,9 +170,7 @@ public class TempestGuardianEvent extends Event {
     @Override
     public void cleanup() {
         // Remove boss if still alive
-        if (bossEntity != null && bossEntity.isValid() && !bossEntity.isDead()) {
-            bossEntity.remove();
-        }
+        removeTrackedEntities();
 
         // Cancel tick task
         if (tickTask != null) {
@@ -120,11 +179,28 @@ public class TempestGuardianEvent extends Event {
         }
     }
 
+    @Override
     public Entity getBossEntity() {
         return bossEntity;
     }
 
+    @Override
     public DamageTracker getDamageTracker() {
         return damageTracker;
     }
+
+    /**
+     * Get a participant's DPS meter against the boss.
+     * @return The meter, or null if the player has not damaged the boss
+     */
+    public DpsMeter getDpsMeter(UUID playerId) {
+        return damageTracker.getDpsMeter(playerId);
+    }
+
+    /**
+     * Get a participant's damage per second against the boss over a window.
+     */
+    public double getDps(UUID playerId, DpsMeter.Window window) {
+        return damageTracker.getDps(playerId, window);
+    }
 }
@@ -6,18 +6,27 @@ import dev.ked.stormcraft.events.config.ConfigManager;
 import dev.ked.stormcraft.events.event.Event;
 import dev.ked.stormcraft.events.event.EventState;
 import dev.ked.stormcraft.events.event.EventType;
+import dev.ked.stormcraft.events.integration.MythicMobsIntegration;
+import dev.ked.stormcraft.events.integration.TownIndex;
 import dev.ked.stormcraft.events.integration.TownsAndNationsIntegration;
 import dev.ked.stormcraft.events.integration.TownyIntegration;
 import dev.ked.stormcraft.events.objectives.objectives.DefendObjective;
+import dev.ked.stormcraft.events.persistence.EventSnapshot;
+import dev.ked.stormcraft.events.scheduler.PlayerPositions;
+import dev.ked.stormcraft.events.scheduler.TaskScheduler;
+import dev.ked.stormcraft.events.spawn.WaveSpawnQueue;
+import dev.ked.stormcraft.events.ui.EventNotifier;
+import dev.ked.stormcraft.events.ui.Message;
 import dev.ked.stormcraft.model.TravelingStorm;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
-import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
@@ -29,19 +38,24 @@ public class TownSiegeEvent extends Event {
     private final TownyIntegration towny;
     private final TownsAndNationsIntegration tan;
     private final TravelingStorm storm;
-    private final List<Entity> spawnedMobs = new ArrayList<>();
+    private final WaveSpawnQueue spawnQueue;
+    private final List<MythicMobsIntegration.MobDefinition> waveMobs;
 
     private DefendObjective objective;
-    private BukkitTask tickTask;
-    private BukkitTask waveTask;
+    private TaskScheduler.Task tickTask;
+    private TaskScheduler.Task waveTask;
     private int currentWave = 0;
     private int totalWaves;
     private int mobsPerWave;
+    private String townId;
     private String townName;
 
-    public TownSiegeEvent(StormcraftEventsPlugin plugin, ConfigManager config,
+    /**
+     * @param target The besieged town, or null to find it from the claim at the location (e.g. when resuming)
+     */
+    public TownSiegeEvent(StormcraftEventsPlugin plugin, ConfigManager config, MythicMobsIntegration mythicMobs,
                          TownyIntegration towny, TownsAndNationsIntegration tan,
-                         Location location, TravelingStorm storm) {
+                         Location location, TravelingStorm storm, TownIndex.TownArea target) {
         super(EventType.TOWN_SIEGE, location, config.getEventDuration(EventType.TOWN_SIEGE));
         this.plugin = plugin;
         this.config = config;
@@ -51,15 +65,24 @@ public class TownSiegeEvent extends Event {
 
         this.totalWaves = config.getSiegeWaveCount();
         this.mobsPerWave = config.getSiegeMobsPerWave();
-
-        // Determine town name
-        determineTownName();
+        this.spawnQueue = new WaveSpawnQueue(plugin.getTaskScheduler(), location, config.getSpawnsPerTick(), config.getSpawnTickBudgetMs());
+        this.waveMobs = mythicMobs != null && mythicMobs.isEnabled()
+                ? mythicMobs.getMobs(config.getWaveMythicMobs(EventType.TOWN_SIEGE)) : List.of();
+
+        // Use the town chosen by the spawner; the claim at its center may belong to a neighbour
+        if (target != null) {
+            townId = target.id();
+            townName = target.name();
+        } else {
+            determineTownName();
+        }
     }
 
     private void determineTownName() {
         if (towny != null && towny.isEnabled()) {
             Town town = towny.getTownAt(location);
             if (town != null) {
+                townId = town.getUUID().toString();
                 townName = town.getName();
             }
         } else if (tan != null && tan.isEnabled()) {
@@ -86,40 +109,79 @@ public class TownSiegeEvent extends Event {
         announceSiege();
 
         // Start tick task
-        tickTask = Bukkit.getScheduler().runTaskTimer(plugin, this::onTick, 0L, 20L);
+        tickTask = plugin.getTaskScheduler().runAtTimer(location, this::tick, 0L, 20L);
 
         // Start first wave
         scheduleNextWave(5); // 5 second delay for first wave
     }
 
     private void announceSiege() {
-        String message = "§c§l[SIEGE] §c" + townName + " §fis under attack by storm-corrupted forces!";
-
         // Notify players near the town
-        for (org.bukkit.entity.Player player : Bukkit.getOnlinePlayers()) {
-            if (player.getWorld() == location.getWorld()) {
-                double distance = player.getLocation().distance(location);
-                if (distance <= config.getAnnounceRadius()) {
-                    player.sendMessage(net.kyori.adventure.text.Component.text(message));
+        announce(Message.SIEGE_START);
+    }
+
+    /**
+     * Send a siege message to everyone within the announce radius.
+     * Rendered once and queued for the group.
+     */
+    private void announce(Message message) {
+        double radiusSq = config.getAnnounceRadius() * config.getAnnounceRadius();
+        UUID worldId = location.getWorld().getUID();
+        List<Player> recipients = new ArrayList<>();
+        for (PlayerPositions.Position position : plugin.getPlayerPositions().getAll()) {
+            if (position.worldId().equals(worldId) && position.distanceSquared(location) <= radiusSq) {
+                Player player = Bukkit.getPlayer(position.playerId());
+                if (player != null) {
+                    recipients.add(player);
                 }
             }
         }
+
+        EventNotifier.send(recipients, config.getMessages().get(message).with("town", townName).component());
+    }
+
+    @Override
+    protected void onResume(EventSnapshot snapshot) {
+        this.state = EventState.ACTIVE;
+        this.currentWave = snapshot.getWave();
+
+        // Recreate objective
+        objective = new DefendObjective(totalWaves);
+        objectives.add(objective);
+
+        // Start tick task
+        tickTask = plugin.getTaskScheduler().runAtTimer(location, this::tick, 0L, 20L);
+
+        // Continue with the next wave; mobs from earlier waves re-attach as their chunks load
+        if (currentWave < totalWaves) {
+            scheduleNextWave(5);
+        }
+    }
+
+    @Override
+    protected void saveState(EventSnapshot.Builder builder) {
+        builder.wave(currentWave);
     }
 
     private void scheduleNextWave(int delaySeconds) {
-        waveTask = Bukkit.getScheduler().runTaskLater(plugin, () -> {
-            currentWave++;
-            objective.nextWave();
-            spawnWave();
-
-            // Schedule next wave if not complete
-            if (currentWave < totalWaves) {
-                scheduleNextWave(60); // 60 seconds between waves
-            }
-        }, delaySeconds * 20L);
+        // Resolve spawn positions now, away from the wave boundary
+        List<WaveSpawnQueue.PendingSpawn> wave = planWave();
+
+        waveTask = plugin.getTaskScheduler().runAtLater(location, () -> runWhenAwake(() -> {
+            spawnQueue.submit(wave, this::trackMob, () -> {
+                // Wave fully materialized
+                currentWave++;
+                objective.nextWave();
+
+                // Schedule next wave if not complete
+                if (currentWave < totalWaves) {
+                    scheduleNextWave(60); // 60 seconds between waves
+                }
+            });
+        }), delaySeconds * 20L);
     }
 
-    private void spawnWave() {
+    private List<WaveSpawnQueue.PendingSpawn> planWave() {
         // Spawn mobs around town perimeter
         int spawnPoints = 4;
         EntityType[] mobTypes = {
@@ -127,6 +189,9 @@ public class TownSiegeEvent extends Event {
                 EntityType.SPIDER, EntityType.WITCH
         };
 
+        int mobsPerPoint = mobsPerWave / spawnPoints;
+        List<WaveSpawnQueue.PendingSpawn> wave = new ArrayList<>(mobsPerPoint * spawnPoints);
+
         for (int i = 0; i < spawnPoints; i++) {
             double angle = (i / (double) spawnPoints) * 2 * Math.PI;
             double distance = 50; // 50 blocks from town center
@@ -138,30 +203,41 @@ public class TownSiegeEvent extends Event {
             spawnLoc.setY(spawnLoc.getWorld().getHighestBlockYAt(spawnLoc) + 1);
 
             // Spawn mobs at this point
-            int mobsPerPoint = mobsPerWave / spawnPoints;
             for (int j = 0; j < mobsPerPoint; j++) {
                 EntityType type = mobTypes[ThreadLocalRandom.current().nextInt(mobTypes.length)];
-                Entity mob = spawnLoc.getWorld().spawnEntity(spawnLoc, type);
-                mob.setCustomName("§5Storm-Corrupted " + type.name());
-                spawnedMobs.add(mob);
+                wave.add(new WaveSpawnQueue.PendingSpawn(spawnLoc, type, pickWaveMob()));
             }
         }
+        return wave;
+    }
+
+    /**
+     * A configured MythicMobs wave mob at random, or null for vanilla mobs.
+     */
+    private MythicMobsIntegration.MobDefinition pickWaveMob() {
+        if (waveMobs.isEmpty()) return null;
+        return waveMobs.get(ThreadLocalRandom.current().nextInt(waveMobs.size()));
+    }
+
+    private void trackMob(Entity mob) {
+        // MythicMobs mobs keep their configured display name
+        if (mob.getCustomName() == null) {
+            mob.setCustomName("§5Storm-Corrupted " + mob.getType().name());
+        }
+        trackEntity(mob);
     }
 
     @Override
     public void onTick() {
-        // Remove dead mobs from list
-        spawnedMobs.removeIf(mob -> !mob.isValid() || mob.isDead());
-
         // Check if all waves complete
         if (objective.isComplete()) {
-            onComplete();
+            finish(true);
             return;
         }
 
         // Check if expired
         if (isExpired()) {
-            onFail();
+            finish(false);
         }
     }
 
@@ -170,15 +246,7 @@ public class TownSiegeEvent extends Event {
         this.state = EventState.COMPLETED;
 
         // Announce victory
-        String message = "§a§l[SIEGE] §a" + townName + " §fhas successfully defended against the siege!";
-        for (org.bukkit.entity.Player player : Bukkit.getOnlinePlayers()) {
-            if (player.getWorld() == location.getWorld()) {
-                double distance = player.getLocation().distance(location);
-                if (distance <= config.getAnnounceRadius()) {
-                    player.sendMessage(net.kyori.adventure.text.Component.text(message));
-                }
-            }
-        }
+        announce(Message.SIEGE_DEFENDED);
 
         cleanup();
     }
@@ -188,15 +256,7 @@ public class TownSiegeEvent extends Event {
         this.state = EventState.FAILED;
 
         // Announce failure
-        String message = "§c§l[SIEGE] §c" + townName + " §ffailed to defend against the siege!";
-        for (org.bukkit.entity.Player player : Bukkit.getOnlinePlayers()) {
-            if (player.getWorld() == location.getWorld()) {
-                double distance = player.getLocation().distance(location);
-                if (distance <= config.getAnnounceRadius()) {
-                    player.sendMessage(net.kyori.adventure.text.Component.text(message));
-                }
-            }
-        }
+        announce(Message.SIEGE_FAILED);
 
         cleanup();
     }
@@ -204,12 +264,10 @@ public class TownSiegeEvent extends Event {
     @Override
     public void cleanup() {
         // Remove remaining mobs
-        for (Entity mob : spawnedMobs) {
-            if (mob.isValid() && !mob.isDead()) {
-                mob.remove();
-            }
-        }
-        spawnedMobs.clear();
+        removeTrackedEntities();
+
+        // Drop any partially spawned wave
+        spawnQueue.cancel();
 
         // Cancel tasks
         if (tickTask != null) {
@@ -226,6 +284,14 @@ public class TownSiegeEvent extends Event {
         return townName;
     }
 
+    /**
+     * Get the id of the besieged town.
+     * @return The town id, or null if the town could not be identified
+     */
+    public String getTownId() {
+        return townId;
+    }
+
     public int getCurrentWave() {
         return currentWave;
     }
@@ -1,6 +1,7 @@
 package dev.ked.stormcraft.events.integration;
 
 import net.milkbowl.vault.economy.Economy;
+import net.milkbowl.vault.economy.EconomyResponse;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
@@ -63,6 +64,28 @@ public class EssenceIntegration {
         }
     }
 
+    /**
+     * Deposit essence and report whether the economy accepted it.
+     * Safe to call off the main thread; used by the payout worker.
+     * @return true if the deposit succeeded
+     */
+    public boolean depositEssence(UUID playerId, double amount, Economy economy) {
+        if (!enabled || economy == null) return false;
+
+        try {
+            OfflinePlayer player = Bukkit.getOfflinePlayer(playerId);
+            EconomyResponse response = economy.depositPlayer(player, amount);
+            if (response != null && !response.transactionSuccess()) {
+                plugin.getLogger().warning("Essence deposit to " + playerId + " rejected: " + response.errorMessage);
+                return false;
+            }
+            return true;
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to award essence to " + playerId + ": " + e.getMessage());
+            return false;
+        }
+    }
+
     /**
      * Get player's essence balance.
      */
@@ -1,79 +1,254 @@
 package dev.ked.stormcraft.events.integration;
 
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Entity;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
 import org.bukkit.plugin.Plugin;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
- * Integration with MythicMobs for boss spawning.
+ * Integration with MythicMobs for boss and wave mob spawning.
+ *
+ * MythicMobs is not a compile-time dependency. The API methods used here are
+ * looked up once at construction and bound into method handles whose types
+ * are checked then, so a spawn is a handful of direct calls with no
+ * reflection. Mob definitions are resolved once per name and cached until
+ * MythicMobs reloads its configuration.
  */
 public class MythicMobsIntegration {
+    private static final String MYTHIC_BUKKIT = "io.lumine.mythic.bukkit.MythicBukkit";
+    private static final String BUKKIT_ADAPTER = "io.lumine.mythic.bukkit.BukkitAdapter";
+    private static final String RELOADED_EVENT = "io.lumine.mythic.bukkit.events.MythicReloadedEvent";
+
     private final Plugin plugin;
+    private final Map<String, Optional<MobDefinition>> definitions = new ConcurrentHashMap<>();
     private boolean enabled = false;
 
+    // Bound at construction; all erased to Object so call sites need no MythicMobs types
+    private Object mobManager;
+    private MethodHandle getMythicMob;    // (MobExecutor, String) -> Optional<MythicMob>
+    private MethodHandle adaptLocation;   // (Location) -> AbstractLocation
+    private MethodHandle spawn;           // (MythicMob, AbstractLocation, double) -> ActiveMob
+    private MethodHandle getEntity;       // (ActiveMob) -> AbstractEntity
+    private MethodHandle getBukkitEntity; // (AbstractEntity) -> Entity
+    private MethodHandle isActiveMob;     // (MobExecutor, UUID) -> boolean, optional
+
     public MythicMobsIntegration(Plugin plugin) {
         this.plugin = plugin;
         try {
-            // Test if MythicMobs API is available via reflection
-            Class.forName("io.lumine.mythic.bukkit.MythicBukkit");
+            bind();
             this.enabled = true;
             plugin.getLogger().info("MythicMobs integration initialized");
-        } catch (ClassNotFoundException e) {
-            plugin.getLogger().warning("MythicMobs API not available: " + e.getMessage());
+        } catch (ReflectiveOperationException e) {
+            plugin.getLogger().warning("MythicMobs API not available: " + e);
+        } catch (Throwable e) {
+            plugin.getLogger().warning("MythicMobs API could not be bound: " + e);
+        }
+    }
+
+    private void bind() throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        Class<?> mythicBukkit = Class.forName(MYTHIC_BUKKIT);
+        Class<?> bukkitAdapter = Class.forName(BUKKIT_ADAPTER);
+
+        Object instance = lookup.unreflect(mythicBukkit.getMethod("inst")).invoke();
+        Method getMobManager = mythicBukkit.getMethod("getMobManager");
+        mobManager = lookup.unreflect(getMobManager).invoke(instance);
+        Class<?> mobManagerType = getMobManager.getReturnType();
+
+        Method getMob = mobManagerType.getMethod("getMythicMob", String.class);
+        requireReturn(getMob, Optional.class);
+        getMythicMob = erase(lookup.unreflect(getMob));
+
+        Method adapt = bukkitAdapter.getMethod("adapt", Location.class);
+        adaptLocation = erase(lookup.unreflect(adapt));
+        Class<?> abstractLocation = adapt.getReturnType();
+
+        // The mob type is an interface; resolve spawn against it rather than an implementation
+        Class<?> mythicMob = Class.forName("io.lumine.mythic.api.mobs.MythicMob");
+        Method spawnMethod = findSpawn(mythicMob, abstractLocation);
+        spawn = MethodHandles.explicitCastArguments(lookup.unreflect(spawnMethod),
+                MethodType.methodType(Object.class, Object.class, Object.class, double.class));
+
+        Method entityMethod = spawnMethod.getReturnType().getMethod("getEntity");
+        getEntity = erase(lookup.unreflect(entityMethod));
+
+        Method bukkitEntity = entityMethod.getReturnType().getMethod("getBukkitEntity");
+        requireReturn(bukkitEntity, Entity.class);
+        getBukkitEntity = erase(lookup.unreflect(bukkitEntity));
+
+        try {
+            Method activeMob = mobManagerType.getMethod("isActiveMob", UUID.class);
+            isActiveMob = lookup.unreflect(activeMob)
+                    .asType(MethodType.methodType(boolean.class, Object.class, UUID.class));
+        } catch (NoSuchMethodException e) {
+            plugin.getLogger().warning("MythicMobs active mob lookup unavailable; isMythicMob will report false");
         }
     }
 
     /**
-     * Spawn a MythicMobs mob at a location.
-     * @return The spawned entity, or null if failed
+     * MythicMobs 5 takes the level as a double; older builds took an int.
      */
-    public Entity spawnMythicMob(String mobType, Location location, int level) {
-        if (!enabled) return null;
-
+    private static Method findSpawn(Class<?> mythicMob, Class<?> abstractLocation) throws NoSuchMethodException {
         try {
-            // Use reflection to avoid compile-time dependencies
-            Class<?> mythicBukkitClass = Class.forName("io.lumine.mythic.bukkit.MythicBukkit");
-            Object mythicBukkit = mythicBukkitClass.getMethod("inst").invoke(null);
-            Object mobManager = mythicBukkitClass.getMethod("getMobManager").invoke(mythicBukkit);
+            return mythicMob.getMethod("spawn", abstractLocation, double.class);
+        } catch (NoSuchMethodException e) {
+            return mythicMob.getMethod("spawn", abstractLocation, int.class);
+        }
+    }
+
+    private static void requireReturn(Method method, Class<?> expected) throws NoSuchMethodException {
+        if (!expected.isAssignableFrom(method.getReturnType())) {
+            throw new NoSuchMethodException(method + " does not return " + expected.getName());
+        }
+    }
+
+    /**
+     * Adapt a handle to take and return Object, checking the conversion now.
+     */
+    private static MethodHandle erase(MethodHandle handle) {
+        return handle.asType(handle.type().erase());
+    }
 
-            Object mobOptional = mobManager.getClass().getMethod("getMythicMob", String.class).invoke(mobManager, mobType);
+    /**
+     * Drop cached definitions when MythicMobs reloads, since they may have changed.
+     * Global tick; the constructor only binds the API.
+     */
+    @SuppressWarnings("unchecked")
+    public void start() {
+        if (!enabled) return;
 
-            // Check if Optional is present
-            if ((boolean) mobOptional.getClass().getMethod("isPresent").invoke(mobOptional)) {
-                Object mob = mobOptional.getClass().getMethod("get").invoke(mobOptional);
+        try {
+            Class<? extends Event> reloaded = (Class<? extends Event>) Class.forName(RELOADED_EVENT)
+                    .asSubclass(Event.class);
+            Bukkit.getPluginManager().registerEvent(reloaded, new Listener() {}, EventPriority.MONITOR,
+                    (listener, event) -> {
+                        if (reloaded.isInstance(event)) {
+                            definitions.clear();
+                        }
+                    }, plugin);
+        } catch (ClassNotFoundException | ClassCastException e) {
+            plugin.getLogger().warning("MythicMobs reload event unavailable; mob definitions stay cached until restart");
+        }
+    }
 
-                // Spawn the mob
-                Class<?> bukkitAdapterClass = Class.forName("io.lumine.mythic.bukkit.BukkitAdapter");
-                Object adaptedLocation = bukkitAdapterClass.getMethod("adapt", Location.class).invoke(null, location);
+    /**
+     * Get a mob definition by name, resolving and caching it on first use.
+     * @return The definition, or null if MythicMobs has no such mob
+     */
+    public MobDefinition getMob(String mobType) {
+        if (!enabled || mobType == null || mobType.isEmpty()) return null;
+        return definitions.computeIfAbsent(mobType, this::resolve).orElse(null);
+    }
 
-                Object activeMob = mob.getClass().getMethod("spawn", adaptedLocation.getClass(), int.class).invoke(mob, adaptedLocation, level);
-                Object entity = activeMob.getClass().getMethod("getEntity").invoke(activeMob);
-                return (Entity) entity.getClass().getMethod("getBukkitEntity").invoke(entity);
-            } else {
+    private Optional<MobDefinition> resolve(String mobType) {
+        try {
+            Object result = getMythicMob.invokeExact(mobManager, (Object) mobType);
+            Optional<?> mob = (Optional<?>) result;
+            if (mob.isEmpty()) {
                 plugin.getLogger().warning("MythicMobs mob type not found: " + mobType);
-                return null;
+                return Optional.empty();
             }
-        } catch (Exception e) {
-            plugin.getLogger().warning("Failed to spawn MythicMob " + mobType + ": " + e.getMessage());
-            return null;
+            return Optional.of(new MobDefinition(mobType, mob.get()));
+        } catch (Throwable e) {
+            plugin.getLogger().warning("Failed to resolve MythicMob " + mobType + ": " + e.getMessage());
+            return Optional.empty();
         }
     }
 
+    /**
+     * Resolve several mob names, skipping any MythicMobs does not know.
+     */
+    public List<MobDefinition> getMobs(List<String> mobTypes) {
+        List<MobDefinition> mobs = new ArrayList<>(mobTypes.size());
+        for (String mobType : mobTypes) {
+            MobDefinition mob = getMob(mobType);
+            if (mob != null) {
+                mobs.add(mob);
+            }
+        }
+        return mobs;
+    }
+
+    /**
+     * Spawn a MythicMobs mob at a location.
+     * @return The spawned entity, or null if failed
+     */
+    public Entity spawnMythicMob(String mobType, Location location, int level) {
+        MobDefinition mob = getMob(mobType);
+        return mob != null ? mob.spawn(location, level) : null;
+    }
+
     /**
      * Check if a mob type exists in MythicMobs config.
      */
     public boolean mobTypeExists(String mobType) {
-        return enabled;
+        return getMob(mobType) != null;
     }
 
     /**
      * Check if an entity is a MythicMobs mob.
      */
     public boolean isMythicMob(Entity entity) {
-        return false;
+        if (!enabled || isActiveMob == null) return false;
+
+        try {
+            return (boolean) isActiveMob.invokeExact(mobManager, entity.getUniqueId());
+        } catch (Throwable e) {
+            return false;
+        }
     }
 
     public boolean isEnabled() {
         return enabled;
     }
+
+    /**
+     * A resolved MythicMobs mob type, ready to spawn without further lookups.
+     */
+    public final class MobDefinition {
+        private final String name;
+        private final Object mob;
+
+        private MobDefinition(String name, Object mob) {
+            this.name = name;
+            this.mob = mob;
+        }
+
+        /**
+         * Spawn this mob. Must run on the thread owning the location.
+         * @return The spawned entity, or null if failed
+         */
+        public Entity spawn(Location location, double level) {
+            try {
+                Object adapted = adaptLocation.invokeExact((Object) location);
+                Object activeMob = spawn.invokeExact(mob, adapted, level);
+                if (activeMob == null) return null;
+                Object entity = getEntity.invokeExact(activeMob);
+                if (entity == null) return null;
+                Object bukkitEntity = getBukkitEntity.invokeExact(entity);
+                return (Entity) bukkitEntity;
+            } catch (Throwable e) {
+                plugin.getLogger().warning("Failed to spawn MythicMob " + name + ": " + e.getMessage());
+                return null;
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
 }
@@ -0,0 +1,295 @@
+package dev.ked.stormcraft.events.integration;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-world grid index of town claims, with online resident counts.
+ *
+ * Each town is registered in every cell holding at least one of its claimed
+ * chunks, so outposts far from the town do not stretch it across the map.
+ * Like the event index, the grid is an immutable snapshot swapped through a
+ * volatile reference when a town changes, so queries are lock-free and cost
+ * a few cell lookups no matter how many towns exist. An update rebuilds only
+ * the cells the changed towns occupied or now occupy; every other cell array
+ * is shared with the previous snapshot.
+ *
+ * Online counts are kept up to date by the owning integration from join,
+ * quit and membership events instead of scanning residents per query.
+ */
+public class TownIndex {
+    private static final int CELL_SHIFT = 8; // 256-block cells
+    private static final TownArea[] NO_TOWNS = new TownArea[0];
+
+    private final Map<String, AtomicInteger> online = new ConcurrentHashMap<>();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * Replace every town at once.
+     */
+    public synchronized void replaceAll(Collection<TownArea> towns) {
+        Map<String, TownArea> areas = new HashMap<>();
+        for (TownArea town : towns) {
+            areas.put(town.id(), town);
+        }
+        snapshot = Snapshot.build(areas);
+    }
+
+    /**
+     * Add or replace some towns and drop the areas of others in one swap.
+     * Online counts are kept, since a town without an area may still exist.
+     */
+    public synchronized void update(Collection<TownArea> changed, Collection<String> removed) {
+        if (changed.isEmpty() && removed.isEmpty()) return;
+
+        Snapshot current = snapshot;
+        Map<String, TownArea> towns = new HashMap<>(current.towns);
+        Set<String> replaced = new HashSet<>();
+        // World -> cell -> towns entering it; a cell a town leaves maps to an empty list
+        Map<UUID, Map<Long, List<TownArea>>> touched = new HashMap<>();
+
+        for (String id : removed) {
+            TownArea old = towns.remove(id);
+            if (old != null) {
+                replaced.add(id);
+                touch(touched, old, false);
+            }
+        }
+        for (TownArea town : changed) {
+            TownArea old = towns.put(town.id(), town);
+            replaced.add(town.id());
+            if (old != null) {
+                touch(touched, old, false);
+            }
+            touch(touched, town, true);
+        }
+
+        Map<UUID, Map<Long, TownArea[]>> cells = new HashMap<>(current.cells);
+        touched.forEach((worldId, entering) -> {
+            Map<Long, TownArea[]> worldCells = new HashMap<>(current.cells.getOrDefault(worldId, Map.of()));
+            entering.forEach((cellKey, added) -> {
+                List<TownArea> inCell = new ArrayList<>(added);
+                for (TownArea town : worldCells.getOrDefault(cellKey, NO_TOWNS)) {
+                    if (!replaced.contains(town.id())) {
+                        inCell.add(town);
+                    }
+                }
+                if (inCell.isEmpty()) {
+                    worldCells.remove(cellKey);
+                } else {
+                    worldCells.put(cellKey, inCell.toArray(NO_TOWNS));
+                }
+            });
+
+            if (worldCells.isEmpty()) {
+                cells.remove(worldId);
+            } else {
+                cells.put(worldId, Collections.unmodifiableMap(worldCells));
+            }
+        });
+
+        snapshot = new Snapshot(Collections.unmodifiableMap(towns), Collections.unmodifiableMap(cells));
+    }
+
+    /**
+     * Drop a deleted town, along with its online count.
+     */
+    public void remove(String townId) {
+        update(List.of(), List.of(townId));
+        online.remove(townId);
+    }
+
+    private static void touch(Map<UUID, Map<Long, List<TownArea>>> touched, TownArea town, boolean entering) {
+        Map<Long, List<TownArea>> worldCells = touched.computeIfAbsent(town.worldId(), k -> new HashMap<>());
+        for (long cellKey : town.cells()) {
+            List<TownArea> added = worldCells.computeIfAbsent(cellKey, k -> new ArrayList<>());
+            if (entering) {
+                added.add(town);
+            }
+        }
+    }
+
+    /**
+     * Get a town by id.
+     */
+    public TownArea get(String townId) {
+        return snapshot.towns.get(townId);
+    }
+
+    /**
+     * Get the town claiming the chunk containing a point, or null for wilderness.
+     */
+    public TownArea getAt(UUID worldId, double x, double z) {
+        int chunkX = ((int) Math.floor(x)) >> 4;
+        int chunkZ = ((int) Math.floor(z)) >> 4;
+        for (TownArea town : getCell(worldId, chunkX >> (CELL_SHIFT - 4), chunkZ >> (CELL_SHIFT - 4))) {
+            if (town.claims(chunkX, chunkZ)) {
+                return town;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get towns with a claim within a distance of a point.
+     */
+    public List<TownArea> getNear(UUID worldId, double x, double z, double distance) {
+        int minCellX = cell(x - distance);
+        int maxCellX = cell(x + distance);
+        int minCellZ = cell(z - distance);
+        int maxCellZ = cell(z + distance);
+
+        List<TownArea> result = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (int cx = minCellX; cx <= maxCellX; cx++) {
+            for (int cz = minCellZ; cz <= maxCellZ; cz++) {
+                for (TownArea town : getCell(worldId, cx, cz)) {
+                    if (seen.add(town.id()) && town.distanceTo(x, z) <= distance) {
+                        result.add(town);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the number of indexed towns.
+     */
+    public int size() {
+        return snapshot.towns.size();
+    }
+
+    // Online residents
+
+    /**
+     * Get the number of a town's residents currently online.
+     */
+    public int getOnline(String townId) {
+        AtomicInteger count = online.get(townId);
+        return count != null ? Math.max(0, count.get()) : 0;
+    }
+
+    /**
+     * Record a resident of a town coming online (+1) or going offline (-1).
+     */
+    public void adjustOnline(String townId, int delta) {
+        online.computeIfAbsent(townId, k -> new AtomicInteger()).addAndGet(delta);
+    }
+
+    /**
+     * Replace every online count, e.g. after a full recount.
+     */
+    public void resetOnline(Map<String, Integer> counts) {
+        online.clear();
+        counts.forEach((townId, count) -> online.put(townId, new AtomicInteger(count)));
+    }
+
+    private TownArea[] getCell(UUID worldId, int cellX, int cellZ) {
+        Map<Long, TownArea[]> cells = snapshot.cells.get(worldId);
+        if (cells == null) return NO_TOWNS;
+
+        TownArea[] inCell = cells.get(key(cellX, cellZ));
+        return inCell != null ? inCell : NO_TOWNS;
+    }
+
+    private static int cell(double coordinate) {
+        return ((int) Math.floor(coordinate)) >> CELL_SHIFT;
+    }
+
+    static long key(int x, int z) {
+        return ((long) z << 32) | (x & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Immutable claim footprint of a town.
+     *
+     * @param id      Stable id from the town plugin
+     * @param centerX Town spawn or home block, where sieges are centered
+     * @param chunks  Sorted keys of every claimed chunk in this world
+     */
+    public record TownArea(String id, String name, UUID worldId, double centerX, double centerZ, long[] chunks) {
+
+        /**
+         * Build an area from claimed chunk coordinates.
+         */
+        public static TownArea of(String id, String name, UUID worldId, double centerX, double centerZ,
+                                  Collection<long[]> chunkCoords) {
+            long[] keys = new long[chunkCoords.size()];
+            int i = 0;
+            for (long[] chunk : chunkCoords) {
+                keys[i++] = key((int) chunk[0], (int) chunk[1]);
+            }
+            Arrays.sort(keys);
+            return new TownArea(id, name, worldId, centerX, centerZ, keys);
+        }
+
+        public boolean claims(int chunkX, int chunkZ) {
+            return Arrays.binarySearch(chunks, key(chunkX, chunkZ)) >= 0;
+        }
+
+        /**
+         * Keys of the index cells holding at least one claimed chunk.
+         */
+        Set<Long> cells() {
+            Set<Long> cells = new HashSet<>();
+            for (long chunk : chunks) {
+                int chunkX = (int) chunk;
+                int chunkZ = (int) (chunk >> 32);
+                cells.add(key(chunkX >> (CELL_SHIFT - 4), chunkZ >> (CELL_SHIFT - 4)));
+            }
+            return cells;
+        }
+
+        /**
+         * Distance from a point to the nearest claimed chunk, 0 if inside one.
+         */
+        public double distanceTo(double x, double z) {
+            double nearestSq = Double.MAX_VALUE;
+            for (long chunk : chunks) {
+                double minX = ((int) chunk) << 4;
+                double minZ = ((int) (chunk >> 32)) << 4;
+                double dx = Math.max(0, Math.max(minX - x, x - (minX + 16)));
+                double dz = Math.max(0, Math.max(minZ - z, z - (minZ + 16)));
+                nearestSq = Math.min(nearestSq, dx * dx + dz * dz);
+            }
+            return Math.sqrt(nearestSq);
+        }
+    }
+
+    /**
+     * Immutable view of the index.
+     */
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(Collections.emptyMap(), Collections.emptyMap());
+
+        final Map<String, TownArea> towns;
+        final Map<UUID, Map<Long, TownArea[]>> cells;
+
+        Snapshot(Map<String, TownArea> towns, Map<UUID, Map<Long, TownArea[]>> cells) {
+            this.towns = towns;
+            this.cells = cells;
+        }
+
+        static Snapshot build(Map<String, TownArea> towns) {
+            Map<UUID, Map<Long, List<TownArea>>> building = new HashMap<>();
+
+            for (TownArea town : towns.values()) {
+                Map<Long, List<TownArea>> worldCells = building.computeIfAbsent(town.worldId(), k -> new HashMap<>());
+                for (long cellKey : town.cells()) {
+                    worldCells.computeIfAbsent(cellKey, k -> new ArrayList<>()).add(town);
+                }
+            }
+
+            Map<UUID, Map<Long, TownArea[]>> cells = new HashMap<>();
+            building.forEach((worldId, worldCells) -> {
+                Map<Long, TownArea[]> frozen = new HashMap<>();
+                worldCells.forEach((key, list) -> frozen.put(key, list.toArray(NO_TOWNS)));
+                cells.put(worldId, Collections.unmodifiableMap(frozen));
+            });
+
+            return new Snapshot(Collections.unmodifiableMap(towns), Collections.unmodifiableMap(cells));
+        }
+    }
+}
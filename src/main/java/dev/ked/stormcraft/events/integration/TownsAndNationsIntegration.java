@@ -1,60 +1,418 @@
 package dev.ked.stormcraft.events.integration;
 
 import dev.ked.stormcraft.events.config.ConfigManager;
-import org.bukkit.Chunk;
+import dev.ked.stormcraft.events.scheduler.TaskScheduler;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.Plugin;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Integration with TownsAndNations for town siege events.
+ * Integration with TownsAndNations for town siege events and claim-aware difficulty.
  * Mutually exclusive with Towny integration.
+ *
+ * TAN is not a compile-time dependency. Its storage accessors are looked up
+ * once at construction and bound into method handles. Claims are copied into
+ * a local chunk to territory map, and towns into a {@link TownIndex}, so
+ * lookups from the HUD and spawn paths are plain map reads. The copy is
+ * refreshed after TAN claim events (when the running TAN version has them)
+ * and on a slow timer as a fallback. Copies run on an async thread and publish
+ * whole new maps; only the online recount comes back to the global tick.
  */
-public class TownsAndNationsIntegration {
+public class TownsAndNationsIntegration implements Listener {
+    private static final String TERRITORY_DATA = "org.leralix.tan.dataclass.territory.TerritoryData";
+    private static final String TOWN_DATA = "org.leralix.tan.dataclass.territory.TownData";
+    private static final String CLAIMED_CHUNK = "org.leralix.tan.dataclass.chunk.ClaimedChunk2";
+    private static final String TOWN_STORAGE = "org.leralix.tan.storage.stored.TownDataStorage";
+    private static final String REGION_STORAGE = "org.leralix.tan.storage.stored.RegionDataStorage";
+    private static final String CHUNK_STORAGE = "org.leralix.tan.storage.stored.NewClaimedChunkStorage";
+
+    // Fired by TAN when territories or claims change; ones missing in the running version are skipped
+    private static final String[] CLAIM_EVENTS = {
+            "org.leralix.tan.events.ChunkClaimedEvent",
+            "org.leralix.tan.events.ChunkUnclaimedEvent",
+            "org.leralix.tan.events.TownCreatedEvent",
+            "org.leralix.tan.events.TownDeletedEvent",
+            "org.leralix.tan.events.PlayerJoinTownEvent",
+            "org.leralix.tan.events.PlayerLeaveTownEvent"
+    };
+
     private final Plugin plugin;
+    private final TaskScheduler scheduler;
     private final ConfigManager config;
+    private final TownIndex index = new TownIndex();
     private boolean enabled = false;
 
-    public TownsAndNationsIntegration(Plugin plugin, ConfigManager config) {
+    // Bound at construction, erased to Object
+    private Object townStorage;
+    private Object regionStorage;        // optional
+    private Object chunkStorage;
+    private MethodHandle getAllTowns;    // (TownDataStorage) -> Map or Collection of TownData
+    private MethodHandle getAllRegions;  // (RegionDataStorage) -> Map or Collection of RegionData, optional
+    private MethodHandle getAllChunks;   // (ChunkStorage) -> Map or Collection of ClaimedChunk2
+    private MethodHandle territoryId;    // (TerritoryData) -> String
+    private MethodHandle territoryName;  // (TerritoryData) -> String
+    private MethodHandle townMembers;    // (TownData) -> Collection of player id strings
+    private MethodHandle chunkX;         // (ClaimedChunk2) -> int
+    private MethodHandle chunkZ;         // (ClaimedChunk2) -> int
+    private MethodHandle chunkWorld;     // (ClaimedChunk2) -> String world UUID
+    private MethodHandle chunkOwner;     // (ClaimedChunk2) -> String territory id
+
+    // Local copies, replaced whole on each sync
+    private volatile Map<UUID, Map<Long, Territory>> claims = Collections.emptyMap();
+    private volatile Map<UUID, String> memberTowns = Collections.emptyMap();
+    // Online player -> id of their town
+    private final Map<UUID, String> onlineMembers = new ConcurrentHashMap<>();
+    // Guarded by this: a copy is in flight, and another was asked for meanwhile
+    private boolean syncRunning = false;
+    private boolean syncDirty = false;
+    private TaskScheduler.Task resyncTask;
+
+    public TownsAndNationsIntegration(Plugin plugin, TaskScheduler scheduler, ConfigManager config) {
         this.plugin = plugin;
+        this.scheduler = scheduler;
         this.config = config;
         try {
-            // Test if TAN API is available
-            Class.forName("org.leralix.tan.TownsAndNations");
+            bind();
+            copyTerritories();
             this.enabled = true;
             plugin.getLogger().info("TownsAndNations integration initialized");
-        } catch (ClassNotFoundException e) {
-            plugin.getLogger().warning("TownsAndNations API unavailable: " + e.getMessage());
+        } catch (ReflectiveOperationException e) {
+            plugin.getLogger().warning("TownsAndNations API unavailable: " + e);
+        } catch (Throwable e) {
+            plugin.getLogger().warning("TownsAndNations API could not be bound: " + e);
+        }
+    }
+
+    /**
+     * Register listeners, count online members and start the resync timer.
+     * Global tick; the constructor only binds and copies territories.
+     */
+    public void start() {
+        if (!enabled) return;
+
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+        registerClaimListeners();
+        recountOnline();
+
+        long interval = config.getTerritoryResyncInterval() * 20L;
+        resyncTask = scheduler.runGlobalTimer(this::scheduleSync, interval, interval);
+    }
+
+    private void bind() throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+        Class<?> townStorageType = Class.forName(TOWN_STORAGE);
+        townStorage = lookup.unreflect(townStorageType.getMethod("getInstance")).invoke();
+        getAllTowns = erase(lookup.unreflect(townStorageType.getMethod("getAll")));
+
+        try {
+            Class<?> regionStorageType = Class.forName(REGION_STORAGE);
+            regionStorage = lookup.unreflect(regionStorageType.getMethod("getInstance")).invoke();
+            getAllRegions = erase(lookup.unreflect(regionStorageType.getMethod("getAll")));
+        } catch (ReflectiveOperationException e) {
+            plugin.getLogger().info("TownsAndNations regions unavailable; only town claims are tracked");
+        }
+
+        Class<?> chunkStorageType = Class.forName(CHUNK_STORAGE);
+        chunkStorage = lookup.unreflect(chunkStorageType.getMethod("getInstance")).invoke();
+        getAllChunks = erase(lookup.unreflect(findMethod(chunkStorageType, "getClaimedChunksMap", "getAll")));
+
+        Class<?> territory = Class.forName(TERRITORY_DATA);
+        territoryId = erase(lookup.unreflect(territory.getMethod("getID")));
+        territoryName = erase(lookup.unreflect(territory.getMethod("getName")));
+        townMembers = erase(lookup.unreflect(Class.forName(TOWN_DATA).getMethod("getPlayerIDList")));
+
+        Class<?> chunk = Class.forName(CLAIMED_CHUNK);
+        chunkX = lookup.unreflect(chunk.getMethod("getX")).asType(MethodType.methodType(int.class, Object.class));
+        chunkZ = lookup.unreflect(chunk.getMethod("getZ")).asType(MethodType.methodType(int.class, Object.class));
+        chunkWorld = erase(lookup.unreflect(chunk.getMethod("getWorldUUID")));
+        chunkOwner = erase(lookup.unreflect(chunk.getMethod("getOwnerID")));
+    }
+
+    private static Method findMethod(Class<?> type, String... names) throws NoSuchMethodException {
+        for (String name : names) {
+            try {
+                return type.getMethod(name);
+            } catch (NoSuchMethodException ignored) {
+            }
+        }
+        throw new NoSuchMethodException(type.getName() + " has none of " + String.join(", ", names));
+    }
+
+    private static MethodHandle erase(MethodHandle handle) {
+        return handle.asType(handle.type().erase());
+    }
+
+    /**
+     * Resync after any TAN claim or membership event that exists in this version.
+     */
+    @SuppressWarnings("unchecked")
+    private void registerClaimListeners() {
+        int registered = 0;
+        for (String name : CLAIM_EVENTS) {
+            try {
+                Class<? extends Event> type = (Class<? extends Event>) Class.forName(name).asSubclass(Event.class);
+                Bukkit.getPluginManager().registerEvent(type, this, EventPriority.MONITOR, (listener, event) -> {
+                    if (type.isInstance(event)) {
+                        scheduleSync();
+                    }
+                }, plugin);
+                registered++;
+            } catch (ClassNotFoundException | ClassCastException ignored) {
+            }
+        }
+        if (registered == 0) {
+            plugin.getLogger().info("No TownsAndNations claim events found; territories resync every "
+                    + config.getTerritoryResyncInterval() + "s");
+        }
+    }
+
+    /**
+     * Copy territories off the tick threads, folding a burst of events into one
+     * pass plus at most one follow-up for events that arrive while it runs.
+     */
+    private void scheduleSync() {
+        synchronized (this) {
+            if (syncRunning) {
+                syncDirty = true;
+                return;
+            }
+            syncRunning = true;
+        }
+        scheduler.runAsync(this::sync);
+    }
+
+    /**
+     * Refresh territories, then online counts on the global tick. Async.
+     */
+    private void sync() {
+        while (true) {
+            copyTerritories();
+            synchronized (this) {
+                if (!syncDirty) {
+                    syncRunning = false;
+                    break;
+                }
+                syncDirty = false;
+            }
+        }
+        scheduler.runGlobal(this::recountOnline);
+    }
+
+    /**
+     * Copy every territory and claim out of TAN and swap the local maps.
+     */
+    private void copyTerritories() {
+        try {
+            Map<String, Territory> territories = new HashMap<>();
+            Map<UUID, String> members = new HashMap<>();
+            Set<String> townIds = new HashSet<>();
+
+            for (Object town : values(getAllTowns.invokeExact(townStorage))) {
+                Territory territory = toTerritory(town);
+                territories.put(territory.id(), territory);
+                townIds.add(territory.id());
+
+                Object memberIds = townMembers.invokeExact(town);
+                for (Object member : values(memberIds)) {
+                    try {
+                        members.put(UUID.fromString(member.toString()), territory.id());
+                    } catch (IllegalArgumentException ignored) {
+                    }
+                }
+            }
+            if (getAllRegions != null) {
+                for (Object region : values(getAllRegions.invokeExact(regionStorage))) {
+                    Territory territory = toTerritory(region);
+                    territories.put(territory.id(), territory);
+                }
+            }
+
+            Map<UUID, Map<Long, Territory>> chunkMap = new HashMap<>();
+            // Town id -> world -> claimed chunks, for the siege index
+            Map<String, Map<UUID, List<long[]>>> townChunks = new HashMap<>();
+            for (Object chunk : values(getAllChunks.invokeExact(chunkStorage))) {
+                Object ownerId = chunkOwner.invokeExact(chunk);
+                Territory territory = ownerId != null ? territories.get(ownerId.toString()) : null;
+                if (territory == null) continue;
+
+                Object worldId = chunkWorld.invokeExact(chunk);
+                UUID world = UUID.fromString(worldId.toString());
+                int x = (int) chunkX.invokeExact(chunk);
+                int z = (int) chunkZ.invokeExact(chunk);
+
+                chunkMap.computeIfAbsent(world, k -> new HashMap<>()).put(TownIndex.key(x, z), territory);
+                if (townIds.contains(territory.id())) {
+                    townChunks.computeIfAbsent(territory.id(), k -> new HashMap<>())
+                            .computeIfAbsent(world, k -> new ArrayList<>()).add(new long[] {x, z});
+                }
+            }
+
+            List<TownIndex.TownArea> areas = new ArrayList<>();
+            townChunks.forEach((id, byWorld) -> areas.add(toArea(territories.get(id), byWorld)));
+
+            Map<UUID, Map<Long, Territory>> frozen = new HashMap<>();
+            chunkMap.forEach((world, chunks) -> frozen.put(world, Collections.unmodifiableMap(chunks)));
+            claims = Collections.unmodifiableMap(frozen);
+            memberTowns = Collections.unmodifiableMap(members);
+            index.replaceAll(areas);
+        } catch (Throwable e) {
+            plugin.getLogger().warning("TownsAndNations territory sync failed: " + e.getMessage());
         }
     }
 
+    private Territory toTerritory(Object data) throws Throwable {
+        Object id = territoryId.invokeExact(data);
+        Object name = territoryName.invokeExact(data);
+        return new Territory(id.toString(), name != null ? name.toString() : id.toString());
+    }
+
     /**
-     * Get territory name at a location (simplified - returns null if not implemented).
+     * A town's area in the world holding most of its claims, centered on the
+     * claimed chunk nearest the middle of them.
+     */
+    private static TownIndex.TownArea toArea(Territory town, Map<UUID, List<long[]>> byWorld) {
+        Map.Entry<UUID, List<long[]>> main = Collections.max(byWorld.entrySet(),
+                Comparator.comparingInt(entry -> entry.getValue().size()));
+        List<long[]> chunks = main.getValue();
+
+        double meanX = 0;
+        double meanZ = 0;
+        for (long[] chunk : chunks) {
+            meanX += chunk[0];
+            meanZ += chunk[1];
+        }
+        meanX /= chunks.size();
+        meanZ /= chunks.size();
+
+        long[] center = chunks.get(0);
+        double bestSq = Double.MAX_VALUE;
+        for (long[] chunk : chunks) {
+            double dx = chunk[0] - meanX;
+            double dz = chunk[1] - meanZ;
+            if (dx * dx + dz * dz < bestSq) {
+                bestSq = dx * dx + dz * dz;
+                center = chunk;
+            }
+        }
+
+        return TownIndex.TownArea.of(town.id(), town.name(), main.getKey(),
+                (center[0] << 4) + 8, (center[1] << 4) + 8, chunks);
+    }
+
+    private static Collection<?> values(Object result) {
+        if (result instanceof Map<?, ?> map) return map.values();
+        if (result instanceof Collection<?> collection) return collection;
+        return Collections.emptyList();
+    }
+
+    // Online member counters
+
+    private void recountOnline() {
+        Map<UUID, String> towns = memberTowns;
+        Map<String, Integer> counts = new HashMap<>();
+        onlineMembers.clear();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            String townId = towns.get(player.getUniqueId());
+            if (townId != null) {
+                onlineMembers.put(player.getUniqueId(), townId);
+                counts.merge(townId, 1, Integer::sum);
+            }
+        }
+        index.resetOnline(counts);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        String townId = memberTowns.get(event.getPlayer().getUniqueId());
+        if (townId != null && onlineMembers.put(event.getPlayer().getUniqueId(), townId) == null) {
+            index.adjustOnline(townId, 1);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        String townId = onlineMembers.remove(event.getPlayer().getUniqueId());
+        if (townId != null) {
+            index.adjustOnline(townId, -1);
+        }
+    }
+
+    /**
+     * Stop the resync timer.
+     */
+    public void stop() {
+        if (resyncTask != null) {
+            resyncTask.cancel();
+            resyncTask = null;
+        }
+    }
+
+    private Territory getTerritoryAt(Location location) {
+        if (!enabled || location.getWorld() == null) return null;
+
+        Map<Long, Territory> worldClaims = claims.get(location.getWorld().getUID());
+        if (worldClaims == null) return null;
+        return worldClaims.get(TownIndex.key(location.getBlockX() >> 4, location.getBlockZ() >> 4));
+    }
+
+    /**
+     * Get territory name at a location, or null for wilderness.
      */
     public String getTerritoryNameAt(Location location) {
-        // Simplified implementation - would need reflection to fully implement
-        return null;
+        Territory territory = getTerritoryAt(location);
+        return territory != null ? territory.name() : null;
     }
 
     /**
-     * Get territories near a location (simplified - returns empty list).
+     * Get names of towns with a claim within a distance of a location.
      */
     public List<String> getTerritoryNamesNear(Location location, double maxDistance) {
-        // Simplified implementation - would need reflection to fully implement
-        return new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        if (!enabled || location.getWorld() == null) return names;
+
+        for (TownIndex.TownArea area : index.getNear(location.getWorld().getUID(),
+                location.getX(), location.getZ(), maxDistance)) {
+            names.add(area.name());
+        }
+        return names;
     }
 
     /**
-     * Check if location is in a claimed territory (simplified - returns false).
+     * Check if location is in a claimed territory.
      */
     public boolean isInTerritory(Location location) {
-        // Simplified implementation - would need reflection to fully implement
-        return false;
+        return getTerritoryAt(location) != null;
+    }
+
+    /**
+     * Get the index of town claims, or null if TAN is unavailable.
+     */
+    public TownIndex getTownIndex() {
+        return enabled ? index : null;
     }
 
     public boolean isEnabled() {
         return enabled;
     }
+
+    /**
+     * A town or region as copied from TAN.
+     */
+    private record Territory(String id, String name) {
+    }
 }
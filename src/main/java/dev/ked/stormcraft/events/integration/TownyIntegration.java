@@ -1,25 +1,57 @@
 package dev.ked.stormcraft.events.integration;
 
 import com.palmergames.bukkit.towny.TownyAPI;
+import com.palmergames.bukkit.towny.event.DeleteTownEvent;
+import com.palmergames.bukkit.towny.event.NewTownEvent;
+import com.palmergames.bukkit.towny.event.RenameTownEvent;
+import com.palmergames.bukkit.towny.event.TownAddResidentEvent;
+import com.palmergames.bukkit.towny.event.TownClaimEvent;
+import com.palmergames.bukkit.towny.event.TownRemoveResidentEvent;
+import com.palmergames.bukkit.towny.event.town.TownUnclaimEvent;
+import com.palmergames.bukkit.towny.object.Resident;
 import com.palmergames.bukkit.towny.object.Town;
+import com.palmergames.bukkit.towny.object.TownBlock;
 import dev.ked.stormcraft.events.config.ConfigManager;
+import dev.ked.stormcraft.events.scheduler.TaskScheduler;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.Plugin;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Integration with Towny for town siege events.
+ *
+ * Towns are kept in a {@link TownIndex} built once at startup and updated
+ * from Towny's claim, rename and delete events, so nearby-town queries no
+ * longer walk every town. Changed towns are re-read on the next global tick,
+ * which folds a burst of claims into one rebuild. Online resident counts are
+ * tracked from join, quit and membership events.
  */
-public class TownyIntegration {
+public class TownyIntegration implements Listener {
     private final Plugin plugin;
+    private final TaskScheduler scheduler;
     private final ConfigManager config;
+    private final TownIndex index = new TownIndex();
     private boolean enabled = false;
 
-    public TownyIntegration(Plugin plugin, ConfigManager config) {
+    // Online player -> id of their town
+    private final Map<UUID, String> onlineResidents = new ConcurrentHashMap<>();
+    // Towns whose claims changed since the last flush
+    private final Set<UUID> dirtyTowns = ConcurrentHashMap.newKeySet();
+    private boolean flushScheduled = false;
+
+    public TownyIntegration(Plugin plugin, TaskScheduler scheduler, ConfigManager config) {
         this.plugin = plugin;
+        this.scheduler = scheduler;
         this.config = config;
         try {
             // Test if Towny API is available
@@ -28,32 +60,236 @@ public class TownyIntegration {
             plugin.getLogger().info("Towny integration initialized");
         } catch (Exception e) {
             plugin.getLogger().warning("Towny found but API unavailable: " + e.getMessage());
+            return;
         }
+
+        indexTowns();
     }
 
     /**
-     * Get all towns near a location within a certain distance.
+     * Register listeners and count online residents. Global tick; the
+     * constructor only builds the town index.
      */
-    public List<Town> getTownsNear(Location location, double maxDistance) {
-        if (!enabled) return new ArrayList<>();
+    public void start() {
+        if (!enabled) return;
 
-        List<Town> nearbyTowns = new ArrayList<>();
-        TownyAPI towny = TownyAPI.getInstance();
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+        recountOnline();
+    }
+
+    /**
+     * Index every town from scratch.
+     */
+    private void indexTowns() {
+        long start = System.nanoTime();
+        List<TownIndex.TownArea> areas = new ArrayList<>();
+        for (Town town : TownyAPI.getInstance().getTowns()) {
+            TownIndex.TownArea area = toArea(town);
+            if (area != null) {
+                areas.add(area);
+            }
+        }
+        index.replaceAll(areas);
+
+        plugin.getLogger().info(String.format("Indexed %d towns in %.1fms",
+                index.size(), (System.nanoTime() - start) / 1_000_000.0));
+    }
+
+    /**
+     * Recount online residents of every town.
+     */
+    private void recountOnline() {
+        Map<String, Integer> counts = new HashMap<>();
+        onlineResidents.clear();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            Town town = getTown(player.getUniqueId());
+            if (town != null) {
+                String id = town.getUUID().toString();
+                onlineResidents.put(player.getUniqueId(), id);
+                counts.merge(id, 1, Integer::sum);
+            }
+        }
+        index.resetOnline(counts);
+    }
+
+    /**
+     * Capture a town's claims in its home world.
+     * @return The area, or null if the town has no claims
+     */
+    private TownIndex.TownArea toArea(Town town) {
+        try {
+            TownBlock home = town.getHomeBlockOrNull();
+            Collection<TownBlock> blocks = town.getTownBlocks();
+            if (home == null) {
+                if (blocks.isEmpty()) return null;
+                home = blocks.iterator().next();
+            }
 
-        Collection<Town> allTowns = towny.getTowns();
-        for (Town town : allTowns) {
-            try {
-                Location townSpawn = town.getSpawn();
-                if (townSpawn == null) continue;
-                if (townSpawn.getWorld() != location.getWorld()) continue;
+            World world = home.getWorldCoord().getBukkitWorld();
+            if (world == null) return null;
 
-                double distance = townSpawn.distance(location);
-                if (distance <= maxDistance) {
-                    nearbyTowns.add(town);
+            String worldName = home.getWorldName();
+            List<long[]> chunks = new ArrayList<>(blocks.size());
+            for (TownBlock block : blocks) {
+                if (worldName.equals(block.getWorldName())) {
+                    chunks.add(new long[] {block.getX(), block.getZ()});
                 }
-            } catch (Exception e) {
-                // Town might not have spawn set
-                continue;
+            }
+
+            // Sieges center on the town spawn, or the middle of the home block without one
+            Location spawn = town.getSpawnOrNull();
+            double centerX = (home.getX() << 4) + 8;
+            double centerZ = (home.getZ() << 4) + 8;
+            if (spawn != null && world.equals(spawn.getWorld())) {
+                centerX = spawn.getX();
+                centerZ = spawn.getZ();
+            }
+
+            return TownIndex.TownArea.of(town.getUUID().toString(), town.getName(), world.getUID(),
+                    centerX, centerZ, chunks);
+        } catch (Exception e) {
+            // Town data mid-change; it will be re-read on its next event
+            return null;
+        }
+    }
+
+    private Town getTown(UUID playerId) {
+        Resident resident = TownyAPI.getInstance().getResident(playerId);
+        return resident != null ? resident.getTownOrNull() : null;
+    }
+
+    /**
+     * Re-read a town on the next global tick.
+     */
+    private void markDirty(Town town) {
+        if (town == null) return;
+        dirtyTowns.add(town.getUUID());
+
+        synchronized (this) {
+            if (flushScheduled) return;
+            flushScheduled = true;
+        }
+        scheduler.runGlobal(this::flushDirty);
+    }
+
+    private void flushDirty() {
+        synchronized (this) {
+            flushScheduled = false;
+        }
+
+        List<TownIndex.TownArea> changed = new ArrayList<>();
+        // Towns with no area right now (deleted, or briefly without claims); counters stay
+        List<String> removed = new ArrayList<>();
+        for (Iterator<UUID> it = dirtyTowns.iterator(); it.hasNext(); ) {
+            UUID townId = it.next();
+            it.remove();
+
+            Town town = TownyAPI.getInstance().getTown(townId);
+            TownIndex.TownArea area = town != null ? toArea(town) : null;
+            if (area != null) {
+                changed.add(area);
+            } else {
+                removed.add(townId.toString());
+            }
+        }
+        index.update(changed, removed);
+    }
+
+    // Index maintenance
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onNewTown(NewTownEvent event) {
+        markDirty(event.getTown());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onClaim(TownClaimEvent event) {
+        markDirty(event.getTownBlock().getTownOrNull());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onUnclaim(TownUnclaimEvent event) {
+        markDirty(event.getTown());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRename(RenameTownEvent event) {
+        markDirty(event.getTown());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDeleteTown(DeleteTownEvent event) {
+        String id = event.getTownUUID().toString();
+        onlineResidents.values().removeIf(id::equals);
+        index.remove(id);
+    }
+
+    // Online resident counters
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        Town town = getTown(event.getPlayer().getUniqueId());
+        if (town != null) {
+            setOnlineTown(event.getPlayer().getUniqueId(), town.getUUID().toString());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        setOnlineTown(event.getPlayer().getUniqueId(), null);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onResidentAdded(TownAddResidentEvent event) {
+        Resident resident = event.getResident();
+        if (resident.isOnline()) {
+            setOnlineTown(resident.getUUID(), event.getTown().getUUID().toString());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onResidentRemoved(TownRemoveResidentEvent event) {
+        String id = event.getTown().getUUID().toString();
+        if (id.equals(onlineResidents.get(event.getResident().getUUID()))) {
+            setOnlineTown(event.getResident().getUUID(), null);
+        }
+    }
+
+    /**
+     * Move an online player's count to another town, or drop it with null.
+     */
+    private void setOnlineTown(UUID playerId, String townId) {
+        String previous = townId != null ? onlineResidents.put(playerId, townId) : onlineResidents.remove(playerId);
+        if (Objects.equals(previous, townId)) return;
+
+        if (previous != null) {
+            index.adjustOnline(previous, -1);
+        }
+        if (townId != null) {
+            index.adjustOnline(townId, 1);
+        }
+    }
+
+    /**
+     * Get the index of town claims, or null if Towny is unavailable.
+     */
+    public TownIndex getTownIndex() {
+        return enabled ? index : null;
+    }
+
+    /**
+     * Get all towns with a claim within a certain distance of a location.
+     */
+    public List<Town> getTownsNear(Location location, double maxDistance) {
+        if (!enabled || location.getWorld() == null) return new ArrayList<>();
+
+        List<Town> nearbyTowns = new ArrayList<>();
+        TownyAPI towny = TownyAPI.getInstance();
+        for (TownIndex.TownArea area : index.getNear(location.getWorld().getUID(),
+                location.getX(), location.getZ(), maxDistance)) {
+            Town town = towny.getTown(UUID.fromString(area.id()));
+            if (town != null) {
+                nearbyTowns.add(town);
             }
         }
 
@@ -91,14 +327,7 @@ public class TownyIntegration {
      */
     public int getOnlineResidents(Town town) {
         if (!enabled) return 0;
-
-        try {
-            return (int) town.getResidents().stream()
-                    .filter(resident -> resident.isOnline())
-                    .count();
-        } catch (Exception e) {
-            return 0;
-        }
+        return index.getOnline(town.getUUID().toString());
     }
 
     /**
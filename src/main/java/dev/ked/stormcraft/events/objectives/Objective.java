@@ -84,6 +84,37 @@ public abstract class Objective {
         return target;
     }
 
+    /**
+     * Get a copy of per-player progress.
+     */
+    public Map<UUID, Integer> getProgressMap() {
+        return new HashMap<>(progress);
+    }
+
+    /**
+     * Get the objective-wide stage (e.g. current wave). 0 if not staged.
+     */
+    public int getStage() {
+        return 0;
+    }
+
+    /**
+     * Restore saved progress (used when resuming an event after a restart).
+     */
+    public void restore(Map<UUID, Integer> savedProgress, int stage, boolean savedCompleted) {
+        progress.clear();
+        progress.putAll(savedProgress);
+        completed = savedCompleted;
+        restoreStage(stage);
+    }
+
+    /**
+     * Restore the objective-wide stage. Override in staged objectives.
+     */
+    protected void restoreStage(int stage) {
+        // Not staged by default
+    }
+
     /**
      * Reset objective.
      */
@@ -1,15 +1,39 @@
 package dev.ked.stormcraft.events.objectives.objectives;
 
 import dev.ked.stormcraft.events.objectives.Objective;
+import org.bukkit.entity.Player;
 
 /**
  * Objective to collect a certain number of items.
+ * Completes once all participants together have collected the target.
  */
 public class CollectObjective extends Objective {
     public CollectObjective(int target) {
         super("Collect Storm Crystals", target);
     }
 
+    @Override
+    public boolean updateProgress(Player player, int amount) {
+        super.updateProgress(player, amount);
+
+        if (!completed && getTotalProgress() >= target) {
+            completed = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Get the number of items collected by all participants.
+     */
+    public int getTotalProgress() {
+        int total = 0;
+        for (int collected : progress.values()) {
+            total += collected;
+        }
+        return total;
+    }
+
     @Override
     public String getProgressString(java.util.UUID playerId) {
         return "§bStorm Crystals: §e" + getProgress(playerId) + "§7/§e" + target;
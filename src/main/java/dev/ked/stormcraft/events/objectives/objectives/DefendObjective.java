@@ -31,6 +31,16 @@ public class DefendObjective extends Objective {
         return currentWave;
     }
 
+    @Override
+    public int getStage() {
+        return currentWave;
+    }
+
+    @Override
+    protected void restoreStage(int stage) {
+        currentWave = stage;
+    }
+
     @Override
     public String getProgressString(java.util.UUID playerId) {
         return "§5Wave: §e" + currentWave + "§7/§e" + target;
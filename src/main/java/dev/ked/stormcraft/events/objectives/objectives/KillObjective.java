@@ -17,6 +17,13 @@ public class KillObjective extends Objective {
         return isBoss;
     }
 
+    /**
+     * Mark the target as defeated regardless of individual progress.
+     */
+    public void markComplete() {
+        completed = true;
+    }
+
     @Override
     public String getProgressString(java.util.UUID playerId) {
         if (isBoss) {
@@ -0,0 +1,225 @@
+package dev.ked.stormcraft.events.persistence;
+
+import dev.ked.stormcraft.events.difficulty.DifficultyMultiplier;
+import dev.ked.stormcraft.events.event.EventType;
+
+import java.util.*;
+
+/**
+ * Point-in-time state of an active event, used to resume it after a restart.
+ */
+public class EventSnapshot {
+    private final UUID eventId;
+    private final EventType type;
+    private final UUID worldId;
+    private final double x;
+    private final double y;
+    private final double z;
+    private final int durationSeconds;
+    private final int elapsedSeconds;
+    private final int wave;
+    private final UUID bossId;
+    private final Set<UUID> participants;
+    private final List<ObjectiveState> objectives;
+    private final Map<UUID, Double> damage;
+    private final DifficultyMultiplier difficulty;
+
+    private EventSnapshot(Builder builder) {
+        this.eventId = builder.eventId;
+        this.type = builder.type;
+        this.worldId = builder.worldId;
+        this.x = builder.x;
+        this.y = builder.y;
+        this.z = builder.z;
+        this.durationSeconds = builder.durationSeconds;
+        this.elapsedSeconds = builder.elapsedSeconds;
+        this.wave = builder.wave;
+        this.bossId = builder.bossId;
+        this.participants = Collections.unmodifiableSet(builder.participants);
+        this.objectives = Collections.unmodifiableList(builder.objectives);
+        this.damage = Collections.unmodifiableMap(builder.damage);
+        this.difficulty = builder.difficulty;
+    }
+
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public EventType getType() {
+        return type;
+    }
+
+    public UUID getWorldId() {
+        return worldId;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getZ() {
+        return z;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public int getElapsedSeconds() {
+        return elapsedSeconds;
+    }
+
+    public int getRemainingSeconds() {
+        return Math.max(0, durationSeconds - elapsedSeconds);
+    }
+
+    public int getWave() {
+        return wave;
+    }
+
+    public UUID getBossId() {
+        return bossId;
+    }
+
+    public Set<UUID> getParticipants() {
+        return participants;
+    }
+
+    public List<ObjectiveState> getObjectives() {
+        return objectives;
+    }
+
+    public Map<UUID, Double> getDamage() {
+        return damage;
+    }
+
+    public DifficultyMultiplier getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Chunk X of the event center.
+     */
+    public int getChunkX() {
+        return ((int) Math.floor(x)) >> 4;
+    }
+
+    /**
+     * Chunk Z of the event center.
+     */
+    public int getChunkZ() {
+        return ((int) Math.floor(z)) >> 4;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Copy this snapshot with a different amount of time left.
+     */
+    public EventSnapshot withRemainingSeconds(int remainingSeconds) {
+        Builder builder = builder()
+                .eventId(eventId)
+                .type(type)
+                .location(worldId, x, y, z)
+                .durationSeconds(durationSeconds)
+                .elapsedSeconds(Math.max(0, durationSeconds - remainingSeconds))
+                .wave(wave)
+                .bossId(bossId)
+                .participants(participants)
+                .damage(damage)
+                .difficulty(difficulty);
+        objectives.forEach(builder::objective);
+        return builder.build();
+    }
+
+    /**
+     * Saved progress of a single objective.
+     */
+    public record ObjectiveState(boolean completed, int stage, Map<UUID, Integer> progress) {
+    }
+
+    public static class Builder {
+        private UUID eventId;
+        private EventType type;
+        private UUID worldId;
+        private double x;
+        private double y;
+        private double z;
+        private int durationSeconds;
+        private int elapsedSeconds;
+        private int wave = 0;
+        private UUID bossId;
+        private final Set<UUID> participants = new HashSet<>();
+        private final List<ObjectiveState> objectives = new ArrayList<>();
+        private final Map<UUID, Double> damage = new HashMap<>();
+        private DifficultyMultiplier difficulty;
+
+        public Builder eventId(UUID eventId) {
+            this.eventId = eventId;
+            return this;
+        }
+
+        public Builder type(EventType type) {
+            this.type = type;
+            return this;
+        }
+
+        public Builder location(UUID worldId, double x, double y, double z) {
+            this.worldId = worldId;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            return this;
+        }
+
+        public Builder durationSeconds(int durationSeconds) {
+            this.durationSeconds = durationSeconds;
+            return this;
+        }
+
+        public Builder elapsedSeconds(int elapsedSeconds) {
+            this.elapsedSeconds = elapsedSeconds;
+            return this;
+        }
+
+        public Builder wave(int wave) {
+            this.wave = wave;
+            return this;
+        }
+
+        public Builder bossId(UUID bossId) {
+            this.bossId = bossId;
+            return this;
+        }
+
+        public Builder participants(Collection<UUID> participants) {
+            this.participants.addAll(participants);
+            return this;
+        }
+
+        public Builder objective(ObjectiveState objective) {
+            this.objectives.add(objective);
+            return this;
+        }
+
+        public Builder damage(Map<UUID, Double> damage) {
+            this.damage.putAll(damage);
+            return this;
+        }
+
+        public Builder difficulty(DifficultyMultiplier difficulty) {
+            this.difficulty = difficulty;
+            return this;
+        }
+
+        public EventSnapshot build() {
+            return new EventSnapshot(this);
+        }
+    }
+}
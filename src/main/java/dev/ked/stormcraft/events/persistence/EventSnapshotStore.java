@@ -0,0 +1,305 @@
+package dev.ked.stormcraft.events.persistence;
+
+import dev.ked.stormcraft.events.difficulty.DifficultyMultiplier;
+import dev.ked.stormcraft.events.event.EventType;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reads and writes active-event snapshots as a compact versioned binary file.
+ *
+ * Layout: magic, version, save time, record count, then one length-prefixed
+ * record per event. New fields are only ever appended to a record, so an
+ * older reader reads the fields it knows and skips the rest of each record.
+ * Writes go to a temp file that is moved over the old one.
+ *
+ * Ended events are removed from the file straight away rather than at the
+ * next checkpoint, and are filtered out of checkpoints that were taken before
+ * they ended.
+ */
+public class EventSnapshotStore {
+    private static final int MAGIC = 0x53434556; // "SCEV"
+    private static final short VERSION = 1;
+
+    private final JavaPlugin plugin;
+    private final File file;
+    private final AtomicLong latestSequence = new AtomicLong();
+    private long writtenSequence = 0;
+
+    // Ended event id -> latest sequence reserved when it ended
+    private final Map<UUID, Long> ended = new ConcurrentHashMap<>();
+
+    public EventSnapshotStore(JavaPlugin plugin, String fileName) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), fileName);
+    }
+
+    /**
+     * Reserve a sequence number for a write. Writes with an older sequence than
+     * one already on disk are dropped, so out-of-order async writes never
+     * replace newer state.
+     */
+    public long nextSequence() {
+        return latestSequence.incrementAndGet();
+    }
+
+    /**
+     * Write snapshots to disk.
+     */
+    public synchronized void write(List<EventSnapshot> snapshots, long sequence) {
+        if (sequence < writtenSequence) return;
+
+        if (!ended.isEmpty()) {
+            Set<UUID> written = new HashSet<>();
+            List<EventSnapshot> kept = new ArrayList<>(snapshots.size());
+            for (EventSnapshot snapshot : snapshots) {
+                written.add(snapshot.getEventId());
+                if (!ended.containsKey(snapshot.getEventId())) {
+                    kept.add(snapshot);
+                }
+            }
+            // A checkpoint reserved after the end that no longer holds the event means later ones will not either
+            ended.entrySet().removeIf(entry -> entry.getValue() < sequence && !written.contains(entry.getKey()));
+            snapshots = kept;
+        }
+
+        if (writeFile(snapshots)) {
+            writtenSequence = sequence;
+        }
+    }
+
+    /**
+     * Record that an event ended. Cheap; safe from any thread.
+     * Call {@link #remove(UUID)} afterwards to drop it from the file.
+     */
+    public void markEnded(UUID eventId) {
+        ended.put(eventId, latestSequence.get());
+    }
+
+    /**
+     * Rewrite the file without an ended event. Blocking; call off the tick threads.
+     */
+    public synchronized void remove(UUID eventId) {
+        if (!file.exists()) return;
+
+        List<EventSnapshot> snapshots = read();
+        if (snapshots.removeIf(snapshot -> snapshot.getEventId().equals(eventId))) {
+            writeFile(snapshots);
+        }
+    }
+
+    private boolean writeFile(List<EventSnapshot> snapshots) {
+        File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try {
+            file.getParentFile().mkdirs();
+
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+                out.writeLong(System.currentTimeMillis());
+                out.writeInt(snapshots.size());
+
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+                for (EventSnapshot snapshot : snapshots) {
+                    buffer.reset();
+                    writeRecord(new DataOutputStream(buffer), snapshot);
+                    out.writeInt(buffer.size());
+                    buffer.writeTo(out);
+                }
+            }
+
+            try {
+                Files.move(temp.toPath(), file.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to write event snapshots: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Read snapshots from disk.
+     * @return Saved snapshots, or an empty list if none exist or the file is unreadable
+     */
+    public synchronized List<EventSnapshot> read() {
+        if (!file.exists()) return new ArrayList<>();
+
+        List<EventSnapshot> snapshots = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                plugin.getLogger().warning("Ignoring event snapshot file with unknown format");
+                return snapshots;
+            }
+
+            short version = in.readShort();
+            if (version > VERSION) {
+                // Records are length-prefixed, so fields this version does not know are skipped
+                plugin.getLogger().info("Reading event snapshots from newer version " + version
+                        + "; unknown fields are ignored");
+            }
+
+            in.readLong(); // Save time
+            int count = in.readInt();
+
+            for (int i = 0; i < count; i++) {
+                byte[] record = new byte[in.readInt()];
+                in.readFully(record);
+
+                try {
+                    snapshots.add(readRecord(new DataInputStream(new ByteArrayInputStream(record))));
+                } catch (IOException | IllegalArgumentException e) {
+                    plugin.getLogger().warning("Skipping unreadable event snapshot: " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to read event snapshots: " + e.getMessage());
+        }
+
+        return snapshots;
+    }
+
+    /**
+     * Delete the snapshot file.
+     */
+    public synchronized void clear() {
+        if (file.exists() && !file.delete()) {
+            plugin.getLogger().warning("Failed to delete " + file.getName());
+        }
+    }
+
+    private void writeRecord(DataOutputStream out, EventSnapshot s) throws IOException {
+        writeUuid(out, s.getEventId());
+        out.writeUTF(s.getType().name());
+        writeUuid(out, s.getWorldId());
+        out.writeDouble(s.getX());
+        out.writeDouble(s.getY());
+        out.writeDouble(s.getZ());
+        out.writeInt(s.getDurationSeconds());
+        out.writeInt(s.getElapsedSeconds());
+        out.writeInt(s.getWave());
+        writeNullableUuid(out, s.getBossId());
+
+        out.writeInt(s.getParticipants().size());
+        for (UUID participant : s.getParticipants()) {
+            writeUuid(out, participant);
+        }
+
+        out.writeInt(s.getObjectives().size());
+        for (EventSnapshot.ObjectiveState objective : s.getObjectives()) {
+            out.writeBoolean(objective.completed());
+            out.writeInt(objective.stage());
+            out.writeInt(objective.progress().size());
+            for (Map.Entry<UUID, Integer> entry : objective.progress().entrySet()) {
+                writeUuid(out, entry.getKey());
+                out.writeInt(entry.getValue());
+            }
+        }
+
+        out.writeInt(s.getDamage().size());
+        for (Map.Entry<UUID, Double> entry : s.getDamage().entrySet()) {
+            writeUuid(out, entry.getKey());
+            out.writeDouble(entry.getValue());
+        }
+
+        DifficultyMultiplier d = s.getDifficulty();
+        out.writeBoolean(d != null);
+        if (d != null) {
+            out.writeDouble(d.getMultiplier());
+            out.writeInt(d.getPlayerCount());
+            out.writeInt(d.getPartyMembers());
+            out.writeInt(d.getProximityPlayers());
+            out.writeBoolean(d.isInWilderness());
+            out.writeBoolean(d.isNearStorm());
+            out.writeDouble(d.getPartyBonus());
+            out.writeDouble(d.getProximityBonus());
+            out.writeDouble(d.getWildernessBonus());
+            out.writeDouble(d.getStormBonus());
+        }
+    }
+
+    private EventSnapshot readRecord(DataInputStream in) throws IOException {
+        EventSnapshot.Builder builder = EventSnapshot.builder()
+                .eventId(readUuid(in))
+                .type(EventType.valueOf(in.readUTF()))
+                .location(readUuid(in), in.readDouble(), in.readDouble(), in.readDouble())
+                .durationSeconds(in.readInt())
+                .elapsedSeconds(in.readInt())
+                .wave(in.readInt())
+                .bossId(readNullableUuid(in));
+
+        int participantCount = in.readInt();
+        List<UUID> participants = new ArrayList<>(participantCount);
+        for (int i = 0; i < participantCount; i++) {
+            participants.add(readUuid(in));
+        }
+        builder.participants(participants);
+
+        int objectiveCount = in.readInt();
+        for (int i = 0; i < objectiveCount; i++) {
+            boolean completed = in.readBoolean();
+            int stage = in.readInt();
+            int progressCount = in.readInt();
+            Map<UUID, Integer> progress = new HashMap<>();
+            for (int j = 0; j < progressCount; j++) {
+                progress.put(readUuid(in), in.readInt());
+            }
+            builder.objective(new EventSnapshot.ObjectiveState(completed, stage, progress));
+        }
+
+        int damageCount = in.readInt();
+        Map<UUID, Double> damage = new HashMap<>();
+        for (int i = 0; i < damageCount; i++) {
+            damage.put(readUuid(in), in.readDouble());
+        }
+        builder.damage(damage);
+
+        if (in.readBoolean()) {
+            builder.difficulty(DifficultyMultiplier.builder()
+                    .multiplier(in.readDouble())
+                    .playerCount(in.readInt())
+                    .partyMembers(in.readInt())
+                    .proximityPlayers(in.readInt())
+                    .inWilderness(in.readBoolean())
+                    .nearStorm(in.readBoolean())
+                    .partyBonus(in.readDouble())
+                    .proximityBonus(in.readDouble())
+                    .wildernessBonus(in.readDouble())
+                    .stormBonus(in.readDouble())
+                    .build());
+        }
+
+        return builder.build();
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static void writeNullableUuid(DataOutputStream out, UUID uuid) throws IOException {
+        out.writeBoolean(uuid != null);
+        if (uuid != null) {
+            writeUuid(out, uuid);
+        }
+    }
+
+    private static UUID readNullableUuid(DataInputStream in) throws IOException {
+        return in.readBoolean() ? readUuid(in) : null;
+    }
+}
@@ -0,0 +1,251 @@
+package dev.ked.stormcraft.events.reward;
+
+import dev.ked.stormcraft.events.integration.EssenceIntegration;
+import net.milkbowl.vault.economy.Economy;
+import dev.ked.stormcraft.events.scheduler.TaskScheduler;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves essence deposits off the main thread.
+ *
+ * Payouts are queued from any tick thread and combined per player for one flush
+ * window, then deposited by a single worker thread so a slow economy backend
+ * never blocks the tick. Results come back to the global tick; failed deposits
+ * are retried on later windows up to a limit. When a ledger is attached every
+ * payout is recorded as an intent first and confirmed once deposited.
+ */
+public class PayoutQueue {
+    private final JavaPlugin plugin;
+    private final TaskScheduler scheduler;
+    private final EssenceIntegration essence;
+    private final Economy economy;
+    private final int flushIntervalTicks;
+    private final int maxRetries;
+
+    // Guarded by this; events on different regions may enqueue concurrently
+    private Map<UUID, Payout> pending = new LinkedHashMap<>();
+    private final List<ResultHandler> handlers = new ArrayList<>();
+
+    private RewardLedger ledger;
+    private ExecutorService worker;
+    private TaskScheduler.Task flushTask;
+    private volatile boolean shuttingDown = false;
+
+    public PayoutQueue(JavaPlugin plugin, TaskScheduler scheduler, EssenceIntegration essence, Economy economy,
+                       int flushIntervalTicks, int maxRetries) {
+        this.plugin = plugin;
+        this.scheduler = scheduler;
+        this.essence = essence;
+        this.economy = economy;
+        this.flushIntervalTicks = Math.max(1, flushIntervalTicks);
+        this.maxRetries = Math.max(0, maxRetries);
+    }
+
+    /**
+     * Start the flush timer and worker.
+     */
+    public void start() {
+        if (!isEnabled()) return;
+
+        worker = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "StormcraftEvents-Payouts");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flushTask = scheduler.runGlobalTimer(this::flush, flushIntervalTicks, flushIntervalTicks);
+    }
+
+    /**
+     * Record payouts in a ledger so they survive crashes.
+     */
+    public void setLedger(RewardLedger ledger) {
+        this.ledger = ledger;
+        addResultHandler(ledger);
+    }
+
+    /**
+     * Queue intents recovered from the ledger without recording them again.
+     */
+    public synchronized void replay(List<RewardLedger.Intent> intents) {
+        if (!isEnabled()) return;
+
+        for (RewardLedger.Intent intent : intents) {
+            add(intent.playerId(), intent.amount(), intent.reference());
+        }
+    }
+
+    /**
+     * Check if deposits can be made at all.
+     */
+    public boolean isEnabled() {
+        return essence != null && essence.isEnabled() && economy != null;
+    }
+
+    /**
+     * Queue an essence payout. Safe to call from any tick thread.
+     *
+     * @param playerId  Player to pay
+     * @param amount    Essence amount
+     * @param reference Identifies what the payout is for; kept through coalescing
+     */
+    public synchronized void enqueue(UUID playerId, double amount, String reference) {
+        if (!isEnabled() || amount <= 0) return;
+
+        // A reference still awaiting payment is not queued twice for the same player
+        if (ledger != null && !ledger.recordIntent(reference, playerId, amount)) return;
+
+        add(playerId, amount, reference);
+    }
+
+    private void add(UUID playerId, double amount, String reference) {
+        Payout payout = pending.computeIfAbsent(playerId, Payout::new);
+        payout.amount += amount;
+        payout.references.add(reference);
+    }
+
+    /**
+     * Register a handler for payout results. Called on the global tick.
+     */
+    public void addResultHandler(ResultHandler handler) {
+        handlers.add(handler);
+    }
+
+    /**
+     * Hand the current window to the worker.
+     */
+    private synchronized void flush() {
+        if (pending.isEmpty() || worker == null) return;
+
+        List<Payout> batch = new ArrayList<>(pending.values());
+        pending = new LinkedHashMap<>();
+        worker.execute(() -> process(batch));
+    }
+
+    /**
+     * Deposit a batch. Runs on the worker thread.
+     */
+    private void process(List<Payout> batch) {
+        List<Payout> succeeded = new ArrayList<>();
+        List<Payout> failed = new ArrayList<>();
+
+        // Intents must be on disk before money moves
+        if (ledger != null) {
+            ledger.sync();
+        }
+
+        for (Payout payout : batch) {
+            if (essence.depositEssence(payout.playerId, payout.amount, economy)) {
+                succeeded.add(payout);
+            } else {
+                failed.add(payout);
+            }
+        }
+
+        if (shuttingDown || !plugin.isEnabled()) {
+            // Main thread is waiting on us; report inline
+            complete(succeeded, failed);
+        } else {
+            scheduler.runGlobal(() -> complete(succeeded, failed));
+        }
+    }
+
+    private synchronized void complete(List<Payout> succeeded, List<Payout> failed) {
+        for (Payout payout : succeeded) {
+            handlers.forEach(handler -> handler.onPaid(payout));
+        }
+
+        for (Payout payout : failed) {
+            if (!shuttingDown && payout.attempts < maxRetries) {
+                // Retry next window, merged with anything new for the player
+                Payout retry = pending.computeIfAbsent(payout.playerId, Payout::new);
+                retry.amount += payout.amount;
+                retry.references.addAll(payout.references);
+                retry.attempts = Math.max(retry.attempts, payout.attempts + 1);
+                continue;
+            }
+
+            plugin.getLogger().warning("Giving up on essence payout of " + payout.amount + " to " +
+                    payout.playerId + " after " + (payout.attempts + 1) + " attempts");
+            handlers.forEach(handler -> handler.onFailed(payout));
+        }
+    }
+
+    /**
+     * Get the number of players with payouts waiting for the next flush.
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Flush everything still queued and wait for the worker to finish.
+     */
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        if (worker == null) return;
+
+        shuttingDown = true;
+        flush();
+        worker.shutdown();
+        try {
+            if (!worker.awaitTermination(10, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Timed out waiting for essence payouts to finish");
+                worker.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            worker.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        worker = null;
+    }
+
+    /**
+     * Combined payout to one player for one flush window.
+     */
+    public static class Payout {
+        private final UUID playerId;
+        private double amount = 0;
+        private int attempts = 0;
+        private final List<String> references = new ArrayList<>();
+
+        Payout(UUID playerId) {
+            this.playerId = playerId;
+        }
+
+        public UUID getPlayerId() {
+            return playerId;
+        }
+
+        public double getAmount() {
+            return amount;
+        }
+
+        public int getAttempts() {
+            return attempts;
+        }
+
+        /**
+         * References of every payout combined into this one.
+         */
+        public List<String> getReferences() {
+            return references;
+        }
+    }
+
+    /**
+     * Receives payout results on the global tick.
+     */
+    public interface ResultHandler {
+        void onPaid(Payout payout);
+
+        void onFailed(Payout payout);
+    }
+}
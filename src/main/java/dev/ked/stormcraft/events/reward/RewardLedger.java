@@ -0,0 +1,297 @@
+package dev.ked.stormcraft.events.reward;
+
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only log of reward intents and confirmations.
+ *
+ * An intent is written when a reward is granted and a confirmation once the
+ * deposit lands, both keyed by reference (event id) plus player. Entries are
+ * appended by a writer thread that fsyncs once per batch, so callers only pay
+ * for a queue offer. On startup unconfirmed intents are handed back for replay
+ * and the file is compacted down to them plus confirmations younger than the
+ * retention period, so a reward paid just before a crash is not granted again
+ * when its event resumes.
+ *
+ * Lines are plain text so the file can be inspected by hand:
+ * {@code I <reference> <player> <amount>} and {@code C <reference> <player> <time>}.
+ */
+public class RewardLedger implements PayoutQueue.ResultHandler {
+    private final JavaPlugin plugin;
+    private final File file;
+
+    private final long retentionMs;
+
+    // Reference|player keys with an intent, confirmed or not, for idempotent intents.
+    // Written from event threads and the payout worker
+    private final Set<String> recorded = ConcurrentHashMap.newKeySet();
+
+    private final BlockingQueue<String> queue = new LinkedBlockingQueue<>();
+    private final Object durableLock = new Object();
+    private long appendedSequence = 0;
+    private long durableSequence = 0;
+
+    private FileChannel channel;
+    private Thread writer;
+    private volatile boolean running = false;
+
+    /**
+     * @param retentionHours How long confirmations are kept across compactions
+     */
+    public RewardLedger(JavaPlugin plugin, String fileName, int retentionHours) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), fileName);
+        this.retentionMs = retentionHours * 3_600_000L;
+    }
+
+    /**
+     * Load the ledger, compact it and start the writer.
+     * @return Intents that were never confirmed and should be paid again
+     */
+    public List<Intent> open() {
+        Map<String, Confirmation> confirmed = new LinkedHashMap<>();
+        List<Intent> unconfirmed = load(confirmed);
+
+        long cutoff = System.currentTimeMillis() - retentionMs;
+        confirmed.values().removeIf(confirmation -> confirmation.time() < cutoff);
+
+        try {
+            compact(unconfirmed, confirmed.values());
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to open reward ledger: " + e.getMessage());
+            return unconfirmed;
+        }
+
+        for (Intent intent : unconfirmed) {
+            recorded.add(key(intent.reference(), intent.playerId()));
+        }
+        recorded.addAll(confirmed.keySet());
+
+        running = true;
+        writer = new Thread(this::writeLoop, "StormcraftEvents-RewardLedger");
+        writer.setDaemon(true);
+        writer.start();
+
+        if (!unconfirmed.isEmpty()) {
+            plugin.getLogger().info("Replaying " + unconfirmed.size() + " unconfirmed reward(s) from ledger");
+        }
+        return unconfirmed;
+    }
+
+    /**
+     * Record that a reward was granted. Safe from any thread.
+     * @return false if this reference was already granted to the player
+     */
+    public boolean recordIntent(String reference, UUID playerId, double amount) {
+        if (!recorded.add(key(reference, playerId))) return false;
+
+        append("I " + reference + " " + playerId + " " + amount);
+        return true;
+    }
+
+    /**
+     * Block until everything appended so far has been written and synced.
+     * Used by the payout worker so intents are durable before deposits.
+     */
+    public void sync() {
+        long target;
+        synchronized (durableLock) {
+            target = appendedSequence;
+            while (running && durableSequence < target) {
+                try {
+                    durableLock.wait(1000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onPaid(PayoutQueue.Payout payout) {
+        for (String reference : payout.getReferences()) {
+            // The key stays recorded so the same reference is never granted twice
+            append("C " + reference + " " + payout.getPlayerId() + " " + System.currentTimeMillis());
+        }
+    }
+
+    @Override
+    public void onFailed(PayoutQueue.Payout payout) {
+        // Left unconfirmed; replayed on next startup
+        plugin.getLogger().warning("Reward for " + payout.getPlayerId() + " kept in ledger for replay: " +
+                String.join(", ", payout.getReferences()));
+    }
+
+    private void append(String line) {
+        if (!running) return;
+
+        synchronized (durableLock) {
+            appendedSequence++;
+            queue.add(line);
+        }
+    }
+
+    /**
+     * Writer thread: drain whatever is queued, write it in one go, fsync once.
+     */
+    private void writeLoop() {
+        List<String> batch = new ArrayList<>();
+
+        while (running || !queue.isEmpty()) {
+            try {
+                String first = queue.poll(250, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+            } catch (InterruptedException e) {
+                if (!running) break;
+                continue;
+            }
+            queue.drainTo(batch);
+
+            StringBuilder out = new StringBuilder(batch.size() * 64);
+            for (String line : batch) {
+                out.append(line).append('\n');
+            }
+
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(out.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                plugin.getLogger().severe("Failed to write reward ledger: " + e.getMessage());
+            }
+
+            synchronized (durableLock) {
+                durableSequence += batch.size();
+                durableLock.notifyAll();
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Read intents and return those without a confirmation.
+     * A torn final line from a crash is ignored.
+     *
+     * @param confirmed Filled with every confirmation found, by key
+     */
+    private List<Intent> load(Map<String, Confirmation> confirmed) {
+        Map<String, Intent> intents = new LinkedHashMap<>();
+        if (!file.exists()) return new ArrayList<>();
+
+        try {
+            String content = Files.readString(file.toPath(), StandardCharsets.UTF_8);
+            int end = content.lastIndexOf('\n');
+            if (end < 0) return new ArrayList<>();
+
+            for (String line : content.substring(0, end).split("\n")) {
+                String[] parts = line.split(" ");
+                try {
+                    if (parts.length == 4 && parts[0].equals("I")) {
+                        UUID playerId = UUID.fromString(parts[2]);
+                        String key = key(parts[1], playerId);
+                        if (!confirmed.containsKey(key)) {
+                            intents.putIfAbsent(key, new Intent(parts[1], playerId, Double.parseDouble(parts[3])));
+                        }
+                    } else if ((parts.length == 3 || parts.length == 4) && parts[0].equals("C")) {
+                        UUID playerId = UUID.fromString(parts[2]);
+                        // Lines from before confirmations carried a time are kept for one retention period
+                        long time = parts.length == 4 ? Long.parseLong(parts[3]) : System.currentTimeMillis();
+                        String key = key(parts[1], playerId);
+                        intents.remove(key);
+                        confirmed.put(key, new Confirmation(parts[1], playerId, time));
+                    }
+                } catch (IllegalArgumentException e) {
+                    plugin.getLogger().warning("Skipping malformed reward ledger line: " + line);
+                }
+            }
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to read reward ledger: " + e.getMessage());
+        }
+
+        return new ArrayList<>(intents.values());
+    }
+
+    /**
+     * Rewrite the ledger with only the given intents and confirmations.
+     */
+    private void compact(List<Intent> intents, Collection<Confirmation> confirmations) throws IOException {
+        file.getParentFile().mkdirs();
+        File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+
+        try (FileOutputStream stream = new FileOutputStream(temp);
+             Writer out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8))) {
+            for (Intent intent : intents) {
+                out.write("I " + intent.reference() + " " + intent.playerId() + " " + intent.amount() + "\n");
+            }
+            for (Confirmation confirmation : confirmations) {
+                out.write("C " + confirmation.reference() + " " + confirmation.playerId() + " " +
+                        confirmation.time() + "\n");
+            }
+            out.flush();
+            stream.getFD().sync();
+        }
+
+        try {
+            Files.move(temp.toPath(), file.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Stop the writer after flushing everything queued.
+     */
+    public void close() {
+        if (!running) return;
+
+        running = false;
+        try {
+            writer.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            channel.close();
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to close reward ledger: " + e.getMessage());
+        }
+    }
+
+    private static String key(String reference, UUID playerId) {
+        return reference + "|" + playerId;
+    }
+
+    /**
+     * A granted reward.
+     */
+    public record Intent(String reference, UUID playerId, double amount) {
+    }
+
+    /**
+     * A paid reward and when it was confirmed.
+     */
+    private record Confirmation(String reference, UUID playerId, long time) {
+    }
+}
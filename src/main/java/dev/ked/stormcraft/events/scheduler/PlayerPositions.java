@@ -0,0 +1,149 @@
+package dev.ked.stormcraft.events.scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scoreboard.Team;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Last known position of every online player, readable from any thread.
+ *
+ * Each player's entry is refreshed on that player's own thread and replaced
+ * as a whole, so readers on other regions or worker threads see consistent
+ * positions without touching the live Player. Server-wide aggregation (spawn
+ * density, event level of detail, threat HUD) reads from here instead of
+ * iterating players directly.
+ */
+public class PlayerPositions implements Listener {
+    private final Plugin plugin;
+    private final TaskScheduler scheduler;
+    private final long refreshInterval;
+    private final Map<UUID, Position> positions = new ConcurrentHashMap<>();
+    private TaskScheduler.Task refreshTask;
+
+    public PlayerPositions(Plugin plugin, TaskScheduler scheduler, long refreshInterval) {
+        this.plugin = plugin;
+        this.scheduler = scheduler;
+        this.refreshInterval = Math.max(1, refreshInterval);
+    }
+
+    /**
+     * Start refreshing positions.
+     */
+    public void start() {
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        refreshTask = scheduler.runGlobalTimer(() -> scheduler.forEachPlayer(this::capture), 0L, refreshInterval);
+    }
+
+    /**
+     * Stop refreshing and forget all positions.
+     */
+    public void stop() {
+        if (refreshTask != null) {
+            refreshTask.cancel();
+            refreshTask = null;
+        }
+        HandlerList.unregisterAll(this);
+        positions.clear();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        capture(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        positions.remove(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Record a player's current position. Must run on the player's thread.
+     */
+    public void capture(Player player) {
+        if (!player.isOnline()) return;
+
+        Location loc = player.getLocation();
+        World world = loc.getWorld();
+        if (world == null) return;
+
+        Team team = player.getScoreboard().getPlayerTeam(player);
+        positions.put(player.getUniqueId(), new Position(player.getUniqueId(), world.getUID(), world.getName(),
+                loc.getX(), loc.getY(), loc.getZ(), team != null ? team.getName() : null));
+    }
+
+    /**
+     * Get every known position. The view is live but each entry is immutable.
+     */
+    public Collection<Position> getAll() {
+        return Collections.unmodifiableCollection(positions.values());
+    }
+
+    /**
+     * Get a player's last known position, or null if unknown.
+     */
+    public Position get(UUID playerId) {
+        return positions.get(playerId);
+    }
+
+    /**
+     * Count players within a radius of a location.
+     */
+    public int countNear(Location location, double radius) {
+        if (location.getWorld() == null) return 0;
+
+        UUID worldId = location.getWorld().getUID();
+        double radiusSq = radius * radius;
+        int count = 0;
+        for (Position position : positions.values()) {
+            if (position.worldId.equals(worldId) && position.distanceSquared(location) <= radiusSq) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Squared distance from a location to the nearest player in its world,
+     * or {@link Double#MAX_VALUE} if there is none.
+     */
+    public double nearestSquared(Location location) {
+        if (location.getWorld() == null) return Double.MAX_VALUE;
+
+        UUID worldId = location.getWorld().getUID();
+        double nearestSq = Double.MAX_VALUE;
+        for (Position position : positions.values()) {
+            if (position.worldId.equals(worldId)) {
+                nearestSq = Math.min(nearestSq, position.distanceSquared(location));
+            }
+        }
+        return nearestSq;
+    }
+
+    /**
+     * A player's position and scoreboard team at the time of capture.
+     */
+    public record Position(UUID playerId, UUID worldId, String worldName,
+                           double x, double y, double z, String team) {
+
+        public double distanceSquared(Location location) {
+            double dx = x - location.getX();
+            double dy = y - location.getY();
+            double dz = z - location.getZ();
+            return dx * dx + dy * dy + dz * dz;
+        }
+    }
+}
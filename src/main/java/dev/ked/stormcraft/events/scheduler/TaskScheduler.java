@@ -0,0 +1,219 @@
+package dev.ked.stormcraft.events.scheduler;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.function.Consumer;
+
+/**
+ * Schedules work on the thread that owns it.
+ *
+ * On Folia tasks go to the region scheduler for a location, the entity
+ * scheduler for an entity, the global region scheduler for server-wide work
+ * or the async scheduler. On Paper every synchronous flavour runs on the main
+ * thread through the Bukkit scheduler, so behaviour there is unchanged.
+ * Delays and periods are in ticks.
+ */
+public class TaskScheduler {
+    private static final boolean FOLIA = detectFolia();
+
+    private final Plugin plugin;
+
+    public TaskScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Check if the server runs Folia's regionised ticking.
+     */
+    public static boolean isFolia() {
+        return FOLIA;
+    }
+
+    // Global: server-wide work not tied to a location
+
+    public Task runGlobal(Runnable task) {
+        if (FOLIA) {
+            return wrap(Bukkit.getGlobalRegionScheduler().run(plugin, t -> task.run()));
+        }
+        return wrap(Bukkit.getScheduler().runTask(plugin, task));
+    }
+
+    public Task runGlobalLater(Runnable task, long delay) {
+        if (FOLIA) {
+            return wrap(Bukkit.getGlobalRegionScheduler().runDelayed(plugin, t -> task.run(), Math.max(1, delay)));
+        }
+        return wrap(Bukkit.getScheduler().runTaskLater(plugin, task, delay));
+    }
+
+    public Task runGlobalTimer(Runnable task, long delay, long period) {
+        if (FOLIA) {
+            return wrap(Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, t -> task.run(),
+                    Math.max(1, delay), Math.max(1, period)));
+        }
+        return wrap(Bukkit.getScheduler().runTaskTimer(plugin, task, delay, period));
+    }
+
+    // Region: work touching blocks or entities around a location
+
+    public Task runAt(Location location, Runnable task) {
+        if (FOLIA) {
+            return wrap(Bukkit.getRegionScheduler().run(plugin, location, t -> task.run()));
+        }
+        return wrap(Bukkit.getScheduler().runTask(plugin, task));
+    }
+
+    public Task runAtLater(Location location, Runnable task, long delay) {
+        if (FOLIA) {
+            return wrap(Bukkit.getRegionScheduler().runDelayed(plugin, location, t -> task.run(), Math.max(1, delay)));
+        }
+        return wrap(Bukkit.getScheduler().runTaskLater(plugin, task, delay));
+    }
+
+    public Task runAtTimer(Location location, Runnable task, long delay, long period) {
+        if (FOLIA) {
+            return wrap(Bukkit.getRegionScheduler().runAtFixedRate(plugin, location, t -> task.run(),
+                    Math.max(1, delay), Math.max(1, period)));
+        }
+        return wrap(Bukkit.getScheduler().runTaskTimer(plugin, task, delay, period));
+    }
+
+    /**
+     * Run now if the current thread owns the location, otherwise on its region.
+     */
+    public void executeAt(Location location, Runnable task) {
+        if (isOwnedByCurrentThread(location)) {
+            task.run();
+        } else {
+            runAt(location, task);
+        }
+    }
+
+    // Entity: work on one entity or player, following it across regions
+
+    /**
+     * Run on the entity's thread. Dropped if the entity is removed first.
+     */
+    public Task runFor(Entity entity, Runnable task) {
+        if (FOLIA) {
+            return wrap(entity.getScheduler().run(plugin, t -> task.run(), null));
+        }
+        return wrap(Bukkit.getScheduler().runTask(plugin, task));
+    }
+
+    public Task runForTimer(Entity entity, Runnable task, long delay, long period) {
+        if (FOLIA) {
+            return wrap(entity.getScheduler().runAtFixedRate(plugin, t -> task.run(), null,
+                    Math.max(1, delay), Math.max(1, period)));
+        }
+        return wrap(Bukkit.getScheduler().runTaskTimer(plugin, task, delay, period));
+    }
+
+    /**
+     * Run now if the current thread owns the entity, otherwise on its scheduler.
+     */
+    public void executeFor(Entity entity, Runnable task) {
+        if (isOwnedByCurrentThread(entity)) {
+            task.run();
+        } else {
+            runFor(entity, task);
+        }
+    }
+
+    /**
+     * Run an action for every online player on that player's own thread.
+     * On Paper this runs inline, one after another.
+     */
+    public void forEachPlayer(Consumer<Player> action) {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            if (FOLIA) {
+                player.getScheduler().run(plugin, t -> action.accept(player), null);
+            } else {
+                action.accept(player);
+            }
+        }
+    }
+
+    // Async: no world access
+
+    public Task runAsync(Runnable task) {
+        if (FOLIA) {
+            return wrap(Bukkit.getAsyncScheduler().runNow(plugin, t -> task.run()));
+        }
+        return wrap(Bukkit.getScheduler().runTaskAsynchronously(plugin, task));
+    }
+
+    public boolean isOwnedByCurrentThread(Location location) {
+        return FOLIA ? Bukkit.isOwnedByCurrentRegion(location) : Bukkit.isPrimaryThread();
+    }
+
+    public boolean isOwnedByCurrentThread(Entity entity) {
+        return FOLIA ? Bukkit.isOwnedByCurrentRegion(entity) : Bukkit.isPrimaryThread();
+    }
+
+    private static Task wrap(BukkitTask task) {
+        return new Task() {
+            @Override
+            public void cancel() {
+                task.cancel();
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return task.isCancelled();
+            }
+        };
+    }
+
+    private static Task wrap(ScheduledTask task) {
+        if (task == null) {
+            // Entity was already removed; nothing was scheduled
+            return Task.NONE;
+        }
+        return new Task() {
+            @Override
+            public void cancel() {
+                task.cancel();
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return task.isCancelled();
+            }
+        };
+    }
+
+    private static boolean detectFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Handle to a scheduled task on either platform.
+     */
+    public interface Task {
+        Task NONE = new Task() {
+            @Override
+            public void cancel() {
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return true;
+            }
+        };
+
+        void cancel();
+
+        boolean isCancelled();
+    }
+}
@@ -2,22 +2,26 @@ package dev.ked.stormcraft.events.spawn;
 
 import dev.ked.stormcraft.events.StormcraftEventsPlugin;
 import dev.ked.stormcraft.events.config.ConfigManager;
+import dev.ked.stormcraft.events.scheduler.PlayerPositions;
+import dev.ked.stormcraft.events.scheduler.TaskScheduler;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
 
 /**
  * Tracks player density in different areas to determine event spawn chances.
  * Uses logarithmic scaling to prevent spam with many players.
+ * Counts come from the {@link PlayerPositions} snapshot, so they are safe to
+ * take from any thread.
  */
 public class DensityTracker {
     private final StormcraftEventsPlugin plugin;
     private final ConfigManager config;
-    private final Map<Location, Integer> densityMap = new HashMap<>();
-    private BukkitTask trackingTask;
+    private volatile Map<Location, Integer> densityMap = Collections.emptyMap();
+    private TaskScheduler.Task trackingTask;
 
     public DensityTracker(StormcraftEventsPlugin plugin, ConfigManager config) {
         this.plugin = plugin;
@@ -30,7 +34,7 @@ public class DensityTracker {
     public void start() {
         int interval = config.getDensityCheckInterval() * 20; // Convert to ticks
 
-        trackingTask = Bukkit.getScheduler().runTaskTimer(plugin, this::updateDensity, 0L, interval);
+        trackingTask = plugin.getTaskScheduler().runGlobalTimer(this::updateDensity, 0L, interval);
         plugin.getLogger().info("Density tracker started (interval: " + config.getDensityCheckInterval() + "s)");
     }
 
@@ -48,41 +52,35 @@ public class DensityTracker {
      * Update density map based on current player positions.
      */
     private void updateDensity() {
-        densityMap.clear();
+        Map<Location, Integer> density = new HashMap<>();
 
         // Grid size for grouping players (in blocks)
         final int GRID_SIZE = 50;
 
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            if (!config.isWorldEnabled(player.getWorld().getName())) continue;
+        for (PlayerPositions.Position position : plugin.getPlayerPositions().getAll()) {
+            if (!config.isWorldEnabled(position.worldName())) continue;
 
-            Location loc = player.getLocation();
+            World world = Bukkit.getWorld(position.worldId());
+            if (world == null) continue;
 
             // Round to grid
-            int gridX = (int) (Math.floor(loc.getX() / GRID_SIZE) * GRID_SIZE);
-            int gridZ = (int) (Math.floor(loc.getZ() / GRID_SIZE) * GRID_SIZE);
+            int gridX = (int) (Math.floor(position.x() / GRID_SIZE) * GRID_SIZE);
+            int gridZ = (int) (Math.floor(position.z() / GRID_SIZE) * GRID_SIZE);
 
-            Location gridLoc = new Location(loc.getWorld(), gridX, 0, gridZ);
+            Location gridLoc = new Location(world, gridX, 0, gridZ);
 
-            densityMap.merge(gridLoc, 1, Integer::sum);
+            density.merge(gridLoc, 1, Integer::sum);
         }
+
+        // Publish whole so readers never see a half-built map
+        densityMap = density;
     }
 
     /**
      * Get player count near a location (within 100 blocks).
      */
     public int getPlayersNear(Location location, double radius) {
-        int count = 0;
-
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            if (player.getWorld() != location.getWorld()) continue;
-
-            if (player.getLocation().distance(location) <= radius) {
-                count++;
-            }
-        }
-
-        return count;
+        return plugin.getPlayerPositions().countNear(location, radius);
     }
 
     /**
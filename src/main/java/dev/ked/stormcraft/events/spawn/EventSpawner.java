@@ -11,6 +11,7 @@ import dev.ked.stormcraft.model.TravelingStorm;
 import net.milkbowl.vault.economy.Economy;
 import org.bukkit.Location;
 
+import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
@@ -46,38 +47,54 @@ public class EventSpawner {
     }
 
     /**
-     * Attempt to spawn an event based on conditions and weights.
-     * @return The spawned event, or null if spawn failed
-     */
-    public Event trySpawnEvent(TravelingStorm storm) {
-        return trySpawnEvent(storm, null, null);
-    }
-
-    /**
-     * Attempt to spawn an event with optional type override and difficulty.
+     * Decide what to spawn near a storm and where, using weights and conditions.
+     * Reads no chunks, so it runs on the global tick; the event itself is built
+     * by {@link #spawn(SpawnPlan)} on the region owning the chosen location.
      * @param storm The storm to spawn near
      * @param typeOverride Optional event type to spawn (null for weighted random)
      * @param difficulty Optional difficulty multiplier (null for no scaling)
-     * @return The spawned event, or null if spawn failed
+     * @return The plan, or null if nothing should spawn
      */
-    public Event trySpawnEvent(TravelingStorm storm, EventType typeOverride, DifficultyMultiplier difficulty) {
+    public SpawnPlan planSpawn(TravelingStorm storm, EventType typeOverride, DifficultyMultiplier difficulty) {
         // Get random spawn zone
         SpawnZone zone = zoneCalculator.getRandomSpawnZone(storm);
-        Location spawnLoc = zone.getRandomLocation();
+        Location spawnLoc = zone.getRandomPoint();
 
         // Select event type (use override if provided)
         EventType type = typeOverride != null ? typeOverride : selectEventType(spawnLoc, storm);
         if (type == null) return null;
 
+        // Sieges target a town rather than a random point
+        TownIndex.TownArea target = null;
+        if (type == EventType.TOWN_SIEGE) {
+            target = selectSiegeTarget(storm);
+            if (target == null) return null;
+
+            // Height is resolved on the town's region when the event is built
+            Location epicenter = storm.getCurrentLocation();
+            spawnLoc = new Location(epicenter.getWorld(), target.centerX(), epicenter.getY(), target.centerZ());
+        }
+
         // Check if event can spawn
         if (!canSpawnEvent(type, spawnLoc, storm)) return null;
 
+        return new SpawnPlan(type, spawnLoc, storm, difficulty, target);
+    }
+
+    /**
+     * Build a planned event, placing it on the surface.
+     * Must run on the thread owning the plan's location.
+     */
+    public Event spawn(SpawnPlan plan) {
+        Location spawnLoc = plan.location().clone();
+        spawnLoc.setY(spawnLoc.getWorld().getHighestBlockYAt(spawnLoc) + 1);
+
         // Create event instance
-        Event event = createEvent(type, spawnLoc, storm);
+        Event event = createEvent(plan.type(), spawnLoc, plan.storm(), plan.target());
 
         // Set difficulty if provided
-        if (event != null && difficulty != null) {
-            event.setDifficulty(difficulty);
+        if (event != null && plan.difficulty() != null) {
+            event.setDifficulty(plan.difficulty());
         }
 
         return event;
@@ -114,6 +131,47 @@ public class EventSpawner {
         return null;
     }
 
+    /**
+     * Pick a town near the storm to besiege, weighted by its online residents
+     * so sieges land where there are defenders.
+     * @return The town, or null if no town qualifies
+     */
+    private TownIndex.TownArea selectSiegeTarget(TravelingStorm storm) {
+        TownIndex index = getTownIndex();
+        Location epicenter = storm.getCurrentLocation();
+        if (index == null || !config.isSiegeEnabled() || epicenter.getWorld() == null) return null;
+
+        List<TownIndex.TownArea> towns = index.getNear(epicenter.getWorld().getUID(),
+                epicenter.getX(), epicenter.getZ(), config.getSiegeStormProximity());
+
+        int totalWeight = 0;
+        for (TownIndex.TownArea town : towns) {
+            totalWeight += index.getOnline(town.id());
+        }
+        if (totalWeight == 0) return null;
+
+        int random = ThreadLocalRandom.current().nextInt(totalWeight);
+        int current = 0;
+        for (TownIndex.TownArea town : towns) {
+            current += index.getOnline(town.id());
+            if (random < current) {
+                return town;
+            }
+        }
+
+        return null;
+    }
+
+    private TownIndex getTownIndex() {
+        if (towny != null && towny.isEnabled()) {
+            return towny.getTownIndex();
+        }
+        if (tan != null && tan.isEnabled()) {
+            return tan.getTownIndex();
+        }
+        return null;
+    }
+
     /**
      * Check if an event meets basic requirements.
      */
@@ -151,17 +209,36 @@ public class EventSpawner {
     /**
      * Create an event instance.
      */
-    private Event createEvent(EventType type, Location location, TravelingStorm storm) {
+    public Event createEvent(EventType type, Location location, TravelingStorm storm) {
+        return createEvent(type, location, storm, null);
+    }
+
+    /**
+     * Create an event instance.
+     * @param siegeTarget The town a siege is aimed at, or null to find it from the location
+     */
+    public Event createEvent(EventType type, Location location, TravelingStorm storm,
+                             TownIndex.TownArea siegeTarget) {
         return switch (type) {
             case STORM_SURGE -> new StormSurgeEvent(plugin, config, location, storm);
             case TEMPEST_GUARDIAN -> new TempestGuardianEvent(plugin, config, mythicMobs, location, storm);
-            case STORM_RIFT -> new StormRiftEvent(plugin, config, location, storm);
+            case STORM_RIFT -> new StormRiftEvent(plugin, config, mythicMobs, location, storm);
             case STORM_TITAN -> new StormTitanEvent(plugin, config, mythicMobs, location, storm);
-            case TOWN_SIEGE -> new TownSiegeEvent(plugin, config, towny, tan, location, storm);
+            case TOWN_SIEGE -> new TownSiegeEvent(plugin, config, mythicMobs, towny, tan, location, storm, siegeTarget);
         };
     }
 
     public StormZoneCalculator getZoneCalculator() {
         return zoneCalculator;
     }
+
+    /**
+     * An event chosen to spawn, before it is built.
+     *
+     * @param location Where to spawn it; the height is not final until {@link #spawn(SpawnPlan)}
+     * @param target   The town a siege is aimed at, or null for other events
+     */
+    public record SpawnPlan(EventType type, Location location, TravelingStorm storm, DifficultyMultiplier difficulty,
+                            TownIndex.TownArea target) {
+    }
 }
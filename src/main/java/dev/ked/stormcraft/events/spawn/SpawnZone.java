@@ -22,17 +22,26 @@ public class SpawnZone {
      * Get a random location within this zone.
      */
     public Location getRandomLocation() {
+        Location loc = getRandomPoint();
+
+        // Get safe Y coordinate (highest solid block)
+        loc.setY(loc.getWorld().getHighestBlockYAt(loc) + 1);
+
+        return loc;
+    }
+
+    /**
+     * Get a random point within this zone at the center's height.
+     * Does not read the world, so it is safe from any thread.
+     */
+    public Location getRandomPoint() {
         double angle = Math.random() * 2 * Math.PI;
         double distance = minDistance + (Math.random() * (maxDistance - minDistance));
 
         double x = center.getX() + (distance * Math.cos(angle));
         double z = center.getZ() + (distance * Math.sin(angle));
 
-        // Get safe Y coordinate (highest solid block)
-        Location loc = new Location(center.getWorld(), x, center.getY(), z);
-        loc.setY(loc.getWorld().getHighestBlockYAt(loc) + 1);
-
-        return loc;
+        return new Location(center.getWorld(), x, center.getY(), z);
     }
 
     /**
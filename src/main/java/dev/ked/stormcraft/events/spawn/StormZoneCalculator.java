@@ -1,6 +1,7 @@
 package dev.ked.stormcraft.events.spawn;
 
 import dev.ked.stormcraft.events.config.ConfigManager;
+import dev.ked.stormcraft.events.config.ConfigSnapshot;
 import dev.ked.stormcraft.model.TravelingStorm;
 import org.bukkit.Location;
 
@@ -18,46 +19,48 @@ public class StormZoneCalculator {
 
     /**
      * Get a random spawn zone based on configured weights.
+     * By default the core gets 60%, the periphery 30% and the influence ring 10%.
      */
     public SpawnZone getRandomSpawnZone(TravelingStorm storm) {
-        Location epicenter = storm.getCurrentLocation();
-        int random = ThreadLocalRandom.current().nextInt(100);
-
-        // Storm Core: 60% chance (0-50 blocks)
-        if (random < 60) {
-            return new SpawnZone(epicenter, 0, 50, SpawnZone.ZoneType.STORM_CORE);
+        ConfigSnapshot snapshot = config.getSnapshot();
+        int total = snapshot.getZoneWeightTotal();
+        if (total <= 0) {
+            return getZone(snapshot, storm, SpawnZone.ZoneType.STORM_CORE);
         }
-        // Storm Periphery: 30% chance (50-150 blocks)
-        else if (random < 90) {
-            return new SpawnZone(epicenter, 50, 150, SpawnZone.ZoneType.STORM_PERIPHERY);
-        }
-        // Storm Influence: 10% chance (150-300 blocks)
-        else {
-            return new SpawnZone(epicenter, 150, 300, SpawnZone.ZoneType.STORM_INFLUENCE);
+
+        int random = ThreadLocalRandom.current().nextInt(total);
+        int current = 0;
+        for (SpawnZone.ZoneType type : SpawnZone.ZoneType.values()) {
+            current += Math.max(0, snapshot.getZone(type).weight());
+            if (random < current) {
+                return getZone(snapshot, storm, type);
+            }
         }
+
+        return getZone(snapshot, storm, SpawnZone.ZoneType.STORM_CORE);
     }
 
     /**
      * Get a specific zone type.
      */
     public SpawnZone getZone(TravelingStorm storm, SpawnZone.ZoneType type) {
-        Location epicenter = storm.getCurrentLocation();
+        return getZone(config.getSnapshot(), storm, type);
+    }
 
-        return switch (type) {
-            case STORM_CORE -> new SpawnZone(epicenter, 0, 50, SpawnZone.ZoneType.STORM_CORE);
-            case STORM_PERIPHERY -> new SpawnZone(epicenter, 50, 150, SpawnZone.ZoneType.STORM_PERIPHERY);
-            case STORM_INFLUENCE -> new SpawnZone(epicenter, 150, 300, SpawnZone.ZoneType.STORM_INFLUENCE);
-        };
+    private SpawnZone getZone(ConfigSnapshot snapshot, TravelingStorm storm, SpawnZone.ZoneType type) {
+        ConfigSnapshot.ZoneSettings zone = snapshot.getZone(type);
+        return new SpawnZone(storm.getCurrentLocation(), zone.minDistance(), zone.maxDistance(), type);
     }
 
     /**
      * Get all zones for a storm.
      */
     public SpawnZone[] getAllZones(TravelingStorm storm) {
+        ConfigSnapshot snapshot = config.getSnapshot();
         return new SpawnZone[] {
-            getZone(storm, SpawnZone.ZoneType.STORM_CORE),
-            getZone(storm, SpawnZone.ZoneType.STORM_PERIPHERY),
-            getZone(storm, SpawnZone.ZoneType.STORM_INFLUENCE)
+            getZone(snapshot, storm, SpawnZone.ZoneType.STORM_CORE),
+            getZone(snapshot, storm, SpawnZone.ZoneType.STORM_PERIPHERY),
+            getZone(snapshot, storm, SpawnZone.ZoneType.STORM_INFLUENCE)
         };
     }
 
@@ -69,6 +72,7 @@ public class StormZoneCalculator {
         if (epicenter.getWorld() != location.getWorld()) return false;
 
         double distance = epicenter.distance(location);
-        return distance <= 300; // Max influence range
+        // Max influence range
+        return distance <= config.getSnapshot().getZone(SpawnZone.ZoneType.STORM_INFLUENCE).maxDistance();
     }
 }
@@ -0,0 +1,148 @@
+package dev.ked.stormcraft.events.spawn;
+
+import dev.ked.stormcraft.events.integration.MythicMobsIntegration;
+import dev.ked.stormcraft.events.scheduler.TaskScheduler;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Spreads wave spawns across ticks.
+ * Releases at most a fixed number of entities per tick and stops early once the
+ * per-tick time budget is spent. A wave's completion callback runs only after
+ * every entity in it has been spawned.
+ *
+ * The queue drains on the region owning its anchor, normally the event
+ * location, so spawns stay on the thread that ticks the event.
+ */
+public class WaveSpawnQueue {
+    private final TaskScheduler scheduler;
+    private final Location anchor;
+    private final int spawnsPerTick;
+    private final long tickBudgetNanos;
+    private final Deque<Batch> batches = new ArrayDeque<>();
+    private TaskScheduler.Task task;
+
+    public WaveSpawnQueue(TaskScheduler scheduler, Location anchor, int spawnsPerTick, double tickBudgetMs) {
+        this.scheduler = scheduler;
+        this.anchor = anchor;
+        this.spawnsPerTick = Math.max(1, spawnsPerTick);
+        this.tickBudgetNanos = (long) (tickBudgetMs * 1_000_000L);
+    }
+
+    /**
+     * Queue a precomputed wave.
+     *
+     * @param spawns     Spawn positions and types, resolved ahead of time
+     * @param onSpawn    Called for each spawned entity
+     * @param onComplete Called once the whole wave has materialized
+     */
+    public void submit(List<PendingSpawn> spawns, Consumer<Entity> onSpawn, Runnable onComplete) {
+        batches.add(new Batch(spawns, onSpawn, onComplete));
+
+        if (task == null) {
+            task = scheduler.runAtTimer(anchor, this::drain, 0L, 1L);
+        }
+    }
+
+    /**
+     * Release the next slice of spawns.
+     */
+    private void drain() {
+        long start = System.nanoTime();
+        int released = 0;
+
+        while (!batches.isEmpty()) {
+            Batch batch = batches.peek();
+
+            if (batch.next >= batch.spawns.size()) {
+                batches.poll();
+                if (batch.onComplete != null) {
+                    batch.onComplete.run();
+                }
+                continue;
+            }
+
+            if (released >= spawnsPerTick || System.nanoTime() - start >= tickBudgetNanos) {
+                return; // Budget spent, resume next tick
+            }
+
+            PendingSpawn spawn = batch.spawns.get(batch.next++);
+            Location loc = spawn.location();
+            if (loc.getWorld() != null) {
+                // MythicMobs definitions are resolved when the wave is planned, so this is a direct call
+                Entity entity = spawn.mythicMob() != null ? spawn.mythicMob().spawn(loc, 1) : null;
+                if (entity == null) {
+                    entity = loc.getWorld().spawnEntity(loc, spawn.type());
+                }
+                if (batch.onSpawn != null) {
+                    batch.onSpawn.accept(entity);
+                }
+            }
+            released++;
+        }
+
+        stopTask();
+    }
+
+    /**
+     * Get the number of spawns still waiting.
+     */
+    public int getPendingCount() {
+        int count = 0;
+        for (Batch batch : batches) {
+            count += batch.spawns.size() - batch.next;
+        }
+        return count;
+    }
+
+    public boolean isIdle() {
+        return batches.isEmpty();
+    }
+
+    /**
+     * Drop all pending spawns without running their callbacks.
+     */
+    public void cancel() {
+        batches.clear();
+        stopTask();
+    }
+
+    private void stopTask() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * A single precomputed spawn.
+     *
+     * @param type      Vanilla mob, also the fallback if the MythicMobs spawn fails
+     * @param mythicMob MythicMobs mob to spawn instead, or null
+     */
+    public record PendingSpawn(Location location, EntityType type, MythicMobsIntegration.MobDefinition mythicMob) {
+
+        public PendingSpawn(Location location, EntityType type) {
+            this(location, type, null);
+        }
+    }
+
+    private static class Batch {
+        final List<PendingSpawn> spawns;
+        final Consumer<Entity> onSpawn;
+        final Runnable onComplete;
+        int next = 0;
+
+        Batch(List<PendingSpawn> spawns, Consumer<Entity> onSpawn, Runnable onComplete) {
+            this.spawns = spawns;
+            this.onSpawn = onSpawn;
+            this.onComplete = onComplete;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package dev.ked.stormcraft.events.ui;
+
+import dev.ked.stormcraft.events.config.ConfigManager;
+import dev.ked.stormcraft.events.event.Event;
+import dev.ked.stormcraft.events.event.EventManager;
+import dev.ked.stormcraft.events.objectives.Objective;
+import dev.ked.stormcraft.events.scheduler.TaskScheduler;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Owns the action bar for every player.
+ *
+ * Systems write segments into per-player frames instead of sending directly;
+ * each update the segments are joined into one line and sent only if the text
+ * changed or the client is about to fade the previous one. Short flash
+ * messages temporarily replace the frame.
+ *
+ * Segments may be written from any thread. Frames are composed and sent on
+ * each player's own thread, so on Folia players in different regions are
+ * updated in parallel.
+ */
+public class ActionBarCompositor {
+    private static final String SEPARATOR = " §8| ";
+
+    private final TaskScheduler scheduler;
+    private final ConfigManager config;
+    private final EventManager eventManager;
+    private final Map<UUID, Frame> frames = new ConcurrentHashMap<>();
+    private TaskScheduler.Task task;
+
+    public ActionBarCompositor(TaskScheduler scheduler, ConfigManager config, EventManager eventManager) {
+        this.scheduler = scheduler;
+        this.config = config;
+        this.eventManager = eventManager;
+    }
+
+    /**
+     * Action bar segments, in display order.
+     */
+    public enum Slot {
+        EVENT,
+        THREAT
+    }
+
+    /**
+     * Set or clear (with null) one segment of a player's action bar.
+     */
+    public void setSegment(Player player, Slot slot, String text) {
+        if (text == null) {
+            Frame frame = frames.get(player.getUniqueId());
+            if (frame != null) {
+                frame.segments.set(slot.ordinal(), null);
+            }
+            return;
+        }
+        frames.computeIfAbsent(player.getUniqueId(), k -> new Frame()).segments.set(slot.ordinal(), text);
+    }
+
+    /**
+     * Show a message in place of the frame for a while.
+     */
+    public void flash(Player player, String text, int durationTicks) {
+        Frame frame = frames.computeIfAbsent(player.getUniqueId(), k -> new Frame());
+        frame.flash(text, Bukkit.getCurrentTick() + durationTicks);
+        // Show it now rather than on the next update
+        scheduler.executeFor(player, () -> send(player, frame, Bukkit.getCurrentTick()));
+    }
+
+    private void run() {
+        scheduler.forEachPlayer(this::update);
+
+        // Drop frames of players who left
+        frames.keySet().removeIf(playerId -> Bukkit.getPlayer(playerId) == null);
+    }
+
+    /**
+     * Refresh one player's event segment and send their frame. Runs on the player's thread.
+     */
+    private void update(Player player) {
+        UUID playerId = player.getUniqueId();
+        Set<UUID> inside = eventManager.getInterestManager().getEventsOf(playerId);
+
+        Frame frame = frames.get(playerId);
+        if (frame == null) {
+            if (inside.isEmpty()) return;
+            frame = frames.computeIfAbsent(playerId, k -> new Frame());
+        }
+
+        frame.segments.set(Slot.EVENT.ordinal(), inside.isEmpty() ? null : describeEvent(player, inside));
+        send(player, frame, Bukkit.getCurrentTick());
+    }
+
+    /**
+     * Send the composed frame if it changed or is due a refresh.
+     * Runs on the player's thread.
+     */
+    private void send(Player player, Frame frame, int now) {
+        String text = frame.compose(now);
+
+        if (text.isEmpty()) {
+            // Clear once, then stay quiet
+            if (!frame.lastSent.isEmpty()) {
+                player.sendActionBar(Component.empty());
+                frame.lastSent = "";
+            }
+            return;
+        }
+
+        if (text.equals(frame.lastSent) && now - frame.lastSentTick < config.getActionBarRefreshTicks()) {
+            return;
+        }
+
+        player.sendActionBar(Component.text(text));
+        frame.lastSent = text;
+        frame.lastSentTick = now;
+    }
+
+    /**
+     * Event name, the player's first unfinished objective and the time left.
+     * Uses the event closest to finishing when the player is inside several.
+     */
+    private String describeEvent(Player player, Set<UUID> inside) {
+        Event event = null;
+        for (UUID eventId : inside) {
+            Event candidate = eventManager.getEvent(eventId);
+            if (candidate != null && (event == null || candidate.getRemainingSeconds() < event.getRemainingSeconds())) {
+                event = candidate;
+            }
+        }
+        if (event == null) return null;
+
+        StringBuilder sb = new StringBuilder(64).append("§b").append(event.getType().getDisplayName());
+        for (Objective objective : event.getObjectives()) {
+            if (!objective.isComplete()) {
+                sb.append(SEPARATOR).append("§f").append(objective.getProgressString(player.getUniqueId()));
+                break;
+            }
+        }
+
+        int remaining = event.getRemainingSeconds();
+        sb.append(SEPARATOR).append("§e").append(remaining / 60).append(':');
+        if (remaining % 60 < 10) sb.append('0');
+        return sb.append(remaining % 60).toString();
+    }
+
+    /**
+     * Start the compositor task.
+     */
+    public void start() {
+        int interval = config.getActionBarInterval();
+        task = scheduler.runGlobalTimer(this::run, interval, interval);
+    }
+
+    /**
+     * Stop the compositor task.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * One player's action bar.
+     */
+    private static class Frame {
+        final AtomicReferenceArray<String> segments = new AtomicReferenceArray<>(Slot.values().length);
+        // Flash text and expiry are published together
+        volatile Flash flash;
+        // Only touched on the player's thread
+        String lastSent = "";
+        int lastSentTick;
+
+        void flash(String text, int until) {
+            flash = new Flash(text, until);
+        }
+
+        String compose(int now) {
+            Flash current = flash;
+            if (current != null) {
+                if (now < current.until) return current.text;
+                flash = null;
+            }
+
+            StringBuilder sb = null;
+            for (int i = 0; i < segments.length(); i++) {
+                String segment = segments.get(i);
+                if (segment == null) continue;
+                if (sb == null) {
+                    sb = new StringBuilder(96).append(segment);
+                } else {
+                    sb.append(SEPARATOR).append(segment);
+                }
+            }
+            return sb != null ? sb.toString() : "";
+        }
+    }
+
+    private record Flash(String text, int until) {
+    }
+}
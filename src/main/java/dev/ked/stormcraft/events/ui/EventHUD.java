@@ -1,77 +1,283 @@
 package dev.ked.stormcraft.events.ui;
 
+import dev.ked.stormcraft.events.config.ConfigManager;
+import dev.ked.stormcraft.events.event.BossEvent;
+import dev.ked.stormcraft.events.event.DamageTracker;
 import dev.ked.stormcraft.events.event.Event;
+import dev.ked.stormcraft.events.event.EventInterestManager;
+import dev.ked.stormcraft.events.event.EventManager;
+import dev.ked.stormcraft.events.scheduler.TaskScheduler;
 import net.kyori.adventure.bossbar.BossBar;
 import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeInstance;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages boss bars for event progress and boss health.
+ *
+ * One bar per event, shown to the players inside its radius. Viewers follow
+ * interest enter/leave callbacks and are reconciled by diff each update.
+ * Progress is quantized to a fixed number of steps and a bar is resent at
+ * most once per interval, so small health or time changes cost nothing.
+ * Bars are removed when their event ends or their boss dies.
+ *
+ * Boss bars also show the top damage dealers from the fight's leaderboard.
+ * The title is refreshed on the same schedule as the health step, so a
+ * changed ranking costs one resend per interval at most.
+ *
+ * Updates run on the global scheduler; boss health is read on the boss's own
+ * thread, since on Folia it may belong to another region.
  */
-public class EventHUD {
-    private final Map<UUID, BossBar> eventBossBars = new HashMap<>();
+public class EventHUD implements EventInterestManager.InterestListener {
+    private final TaskScheduler scheduler;
+    private final ConfigManager config;
+    private final EventManager eventManager;
+    private final Map<UUID, Bar> bars = new ConcurrentHashMap<>();
+    private TaskScheduler.Task task;
 
-    /**
-     * Create and show boss bar for an event.
-     */
-    public void showEventBar(Event event, Player player, String title, float progress) {
-        UUID eventId = event.getEventId();
-
-        BossBar bar = eventBossBars.get(eventId);
-        if (bar == null) {
-            bar = BossBar.bossBar(
-                    Component.text(title),
-                    progress,
-                    BossBar.Color.PURPLE,
-                    BossBar.Overlay.PROGRESS
-            );
-            eventBossBars.put(eventId, bar);
+    public EventHUD(TaskScheduler scheduler, ConfigManager config, EventManager eventManager) {
+        this.scheduler = scheduler;
+        this.config = config;
+        this.eventManager = eventManager;
+    }
+
+    @Override
+    public void onEnter(Player player, Event event) {
+        bars.computeIfAbsent(event.getEventId(), id -> createBar(event)).show(player);
+    }
+
+    @Override
+    public void onLeave(Player player, Event event, long dwellMillis) {
+        Bar bar = bars.get(event.getEventId());
+        if (bar != null) {
+            bar.hide(player);
         }
+    }
+
+    @Override
+    public void onReleased(Event event) {
+        removeEventBar(event.getEventId());
+    }
+
+    private void run() {
+        int now = Bukkit.getCurrentTick();
+        EventInterestManager interests = eventManager.getInterestManager();
 
-        player.showBossBar(bar);
+        for (Bar bar : bars.values()) {
+            Event event = eventManager.getEvent(bar.eventId);
+            if (event == null || event.isEnded()) {
+                removeEventBar(bar.eventId);
+                continue;
+            }
+
+            if (event instanceof BossEvent bossEvent) {
+                String leaders = formatLeaders(bossEvent.getDamageTracker());
+                Entity boss = bossEvent.getBossEntity();
+                if (boss != null) {
+                    scheduler.executeFor(boss, () -> {
+                        if (boss.isDead()) {
+                            removeEventBar(bar.eventId);
+                            return;
+                        }
+                        // Unloaded boss keeps its last reading
+                        if (boss instanceof LivingEntity living && living.isValid()) {
+                            bar.update(healthFraction(living), leaders, now);
+                        }
+                    });
+                }
+            } else {
+                bar.update(event.getRemainingSeconds() / (float) Math.max(1, event.getDurationSeconds()), "", now);
+            }
+
+            bar.syncViewers(interests.getPlayersInside(bar.eventId));
+        }
     }
 
     /**
-     * Update boss bar progress.
+     * Remove an event's bar and hide it from everyone.
      */
-    public void updateEventBar(UUID eventId, String title, float progress) {
-        BossBar bar = eventBossBars.get(eventId);
+    public void removeEventBar(UUID eventId) {
+        Bar bar = bars.remove(eventId);
         if (bar != null) {
-            bar.name(Component.text(title));
-            bar.progress(Math.max(0f, Math.min(1f, progress)));
+            bar.hideAll();
         }
     }
 
     /**
-     * Remove and hide boss bar.
+     * Remove and hide all bars.
      */
-    public void removeEventBar(UUID eventId, Player player) {
-        BossBar bar = eventBossBars.get(eventId);
-        if (bar != null) {
-            player.hideBossBar(bar);
+    public void clearAll() {
+        for (UUID eventId : new ArrayList<>(bars.keySet())) {
+            removeEventBar(eventId);
         }
     }
 
     /**
-     * Create boss health bar (red, for boss mobs).
+     * Start the bar update task.
      */
-    public BossBar createBossHealthBar(String bossName, float health) {
-        return BossBar.bossBar(
-                Component.text("§c[BOSS] §f" + bossName + " §c❤ " + (int)(health * 100) + "%"),
-                health,
-                BossBar.Color.RED,
-                BossBar.Overlay.NOTCHED_20
-        );
+    public void start() {
+        int interval = config.getBossBarInterval();
+        task = scheduler.runGlobalTimer(this::run, interval, interval);
     }
 
     /**
-     * Clear all boss bars.
+     * Stop the bar update task.
      */
-    public void clearAll() {
-        eventBossBars.clear();
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private Bar createBar(Event event) {
+        String name = event.getType().getDisplayName();
+        int steps = config.getBossBarSteps();
+        int minInterval = config.getBossBarMinUpdateInterval();
+
+        if (event instanceof BossEvent) {
+            // Red health bar
+            String prefix = "§c[BOSS] §f" + name + " §c❤ ";
+            return new Bar(event.getEventId(), BossBar.Color.RED, BossBar.Overlay.NOTCHED_20, steps, minInterval,
+                    (step, leaders) -> Component.text(prefix + (step * 100 / steps) + "%" + leaders));
+        }
+
+        // Purple event timer
+        Component title = Component.text("§d⚡ " + name);
+        return new Bar(event.getEventId(), BossBar.Color.PURPLE, BossBar.Overlay.PROGRESS, steps, minInterval,
+                (step, leaders) -> title);
+    }
+
+    /**
+     * Render the fight's leaderboard as a title suffix, e.g. " | 1. Steve 42% 2. Alex 30%".
+     * The board holds {@code events.bosses.leaderboardSize} entries.
+     */
+    private static String formatLeaders(DamageTracker tracker) {
+        double total = tracker.getTotalDamage();
+        if (total <= 0) return "";
+
+        StringBuilder out = new StringBuilder(" §7|");
+        tracker.getLeaderboard().forEach((rank, playerId, damage) -> out
+                .append(" §e").append(rank).append(". §f").append(playerName(playerId))
+                .append(" §7").append(Math.round(damage * 100 / total)).append('%'));
+        return out.toString();
+    }
+
+    private static String playerName(UUID playerId) {
+        Player player = Bukkit.getPlayer(playerId);
+        if (player != null) return player.getName();
+
+        String name = Bukkit.getOfflinePlayer(playerId).getName();
+        return name != null ? name : "?";
+    }
+
+    private static float healthFraction(LivingEntity entity) {
+        AttributeInstance maxHealth = entity.getAttribute(Attribute.MAX_HEALTH);
+        double max = maxHealth != null ? maxHealth.getValue() : entity.getHealth();
+        return max > 0 ? (float) (entity.getHealth() / max) : 0f;
+    }
+
+    /**
+     * One event's bar and the players currently shown it.
+     */
+    private static class Bar {
+        final UUID eventId;
+        final BossBar bossBar;
+        // Changed by interest callbacks on player threads and by updates
+        final Set<UUID> viewers = ConcurrentHashMap.newKeySet();
+        final int steps;
+        final int minInterval;
+        final StepTitle title;
+        volatile int sentStep;
+        volatile String sentLeaders = "";
+        volatile int lastUpdateTick = Integer.MIN_VALUE / 2;
+
+        Bar(UUID eventId, BossBar.Color color, BossBar.Overlay overlay, int steps, int minInterval, StepTitle title) {
+            this.eventId = eventId;
+            this.steps = steps;
+            this.minInterval = minInterval;
+            this.title = title;
+            this.sentStep = steps;
+            this.bossBar = BossBar.bossBar(title.at(steps, ""), 1f, color, overlay);
+        }
+
+        /**
+         * Apply new progress or leaders if either changed and the bar was not
+         * updated recently. Skipped changes are picked up on a later run.
+         */
+        void update(float progress, String leaders, int now) {
+            int step = Math.round(Math.max(0f, Math.min(1f, progress)) * steps);
+            boolean leadersChanged = !leaders.equals(sentLeaders);
+            if ((step == sentStep && !leadersChanged) || now - lastUpdateTick < minInterval) return;
+
+            lastUpdateTick = now;
+            if (step != sentStep) {
+                sentStep = step;
+                bossBar.progress(step / (float) steps);
+            }
+            sentLeaders = leaders;
+            bossBar.name(title.at(step, leaders));
+        }
+
+        void show(Player player) {
+            if (viewers.add(player.getUniqueId())) {
+                player.showBossBar(bossBar);
+            }
+        }
+
+        void hide(Player player) {
+            if (viewers.remove(player.getUniqueId())) {
+                player.hideBossBar(bossBar);
+            }
+        }
+
+        /**
+         * Show and hide only the difference between current and wanted viewers.
+         */
+        void syncViewers(Set<UUID> wanted) {
+            if (viewers.equals(wanted)) return;
+
+            for (Iterator<UUID> it = viewers.iterator(); it.hasNext(); ) {
+                UUID playerId = it.next();
+                if (!wanted.contains(playerId)) {
+                    it.remove();
+                    Player player = Bukkit.getPlayer(playerId);
+                    if (player != null) {
+                        player.hideBossBar(bossBar);
+                    }
+                }
+            }
+
+            for (UUID playerId : wanted) {
+                Player player = Bukkit.getPlayer(playerId);
+                if (player != null) {
+                    show(player);
+                }
+            }
+        }
+
+        void hideAll() {
+            for (UUID playerId : viewers) {
+                Player player = Bukkit.getPlayer(playerId);
+                if (player != null) {
+                    player.hideBossBar(bossBar);
+                }
+            }
+            viewers.clear();
+        }
+    }
+
+    /**
+     * Builds a bar title for a quantized progress step and leaderboard suffix.
+     */
+    private interface StepTitle {
+        Component at(int step, String leaders);
     }
 }
@@ -3,6 +3,7 @@ package dev.ked.stormcraft.events.ui;
 import dev.ked.stormcraft.events.difficulty.DifficultyMultiplier;
 import dev.ked.stormcraft.events.difficulty.ThreatLevel;
 import dev.ked.stormcraft.events.event.Event;
+import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.title.Title;
 import org.bukkit.Location;
@@ -15,83 +16,125 @@ import java.util.List;
  * Handles event notifications to players.
  */
 public class EventNotifier {
+    private static final int ACTION_BAR_FLASH_TICKS = 60;
+
+    private static ActionBarCompositor compositor;
+    private static NotificationOutbox outbox;
+
+    /**
+     * Route action bar messages through the compositor instead of sending directly.
+     */
+    public static void setCompositor(ActionBarCompositor actionBarCompositor) {
+        compositor = actionBarCompositor;
+    }
+
+    /**
+     * Queue chat and titles through the outbox instead of sending directly.
+     */
+    public static void setOutbox(NotificationOutbox notificationOutbox) {
+        outbox = notificationOutbox;
+    }
 
     /**
      * Announce event spawn to nearby players.
+     * Shared lines are rendered once and sent to the group; only the distance
+     * line is rendered per player.
      */
-    public static void announceSpawn(Event event, List<Player> nearbyPlayers) {
+    public static void announceSpawn(MessageTemplates messages, Event event, List<Player> nearbyPlayers) {
+        if (nearbyPlayers.isEmpty()) return;
+
         String eventName = event.getType().getDisplayName();
         Location loc = event.getLocation();
         DifficultyMultiplier difficulty = event.getDifficulty();
 
+        // Chat message with player count
+        int playerCount = nearbyPlayers.size();
+        send(nearbyPlayers, messages.get(Message.EVENT_SPAWN)
+                .with("event", eventName)
+                .with("players", playerCount + " player" + (playerCount > 1 ? "s" : ""))
+                .component());
+
+        // Show threat level if difficulty is set
+        if (difficulty != null) {
+            send(nearbyPlayers, getThreatMessage(messages, difficulty.getThreatLevel(), difficulty.getMultiplier()));
+        }
+
+        MessageTemplate location = messages.get(Message.EVENT_LOCATION);
         for (Player player : nearbyPlayers) {
-            // Chat message with player count
-            int playerCount = nearbyPlayers.size();
-            player.sendMessage(Component.text("§6[Storm Event] §f⚡ §b" + eventName +
-                    " §fdetected - §e" + playerCount + " player" + (playerCount > 1 ? "s" : "") + " nearby!"));
-
-            // Show threat level if difficulty is set
-            if (difficulty != null) {
-                ThreatLevel threatLevel = difficulty.getThreatLevel();
-                String threatMessage = getThreatMessage(threatLevel, difficulty.getMultiplier());
-                player.sendMessage(Component.text(threatMessage));
-            }
-
-            player.sendMessage(Component.text("§7Location: " + getDistance(player, loc) + " blocks away"));
-
-            // Title
-            player.showTitle(Title.title(
-                    Component.text("§c⚡ " + eventName.toUpperCase() + " ⚡"),
-                    Component.text("§7" + event.getType().getDescription()),
-                    Title.Times.times(Duration.ofMillis(500), Duration.ofSeconds(3), Duration.ofSeconds(1))
-            ));
+            send(List.of(player), location.with("distance", getDistance(player, loc)).component());
         }
+
+        // Title
+        showTitle(nearbyPlayers, Title.title(
+                messages.get(Message.EVENT_TITLE).with("event", eventName.toUpperCase()).component(),
+                messages.get(Message.EVENT_SUBTITLE).with("description", event.getType().getDescription()).component(),
+                Title.Times.times(Duration.ofMillis(500), Duration.ofSeconds(3), Duration.ofSeconds(1))
+        ));
     }
 
     /**
      * Get a formatted threat level message with rewards hint.
      */
-    private static String getThreatMessage(ThreatLevel level, double multiplier) {
-        return switch (level) {
-            case LOW -> String.format("§a⚠ Threat Level: %s §7(%.1fx) - Standard rewards",
-                level.getDisplayName(), multiplier);
-            case MEDIUM -> String.format("§e⚠ Threat Level: %s §7(%.1fx) - Increased rewards",
-                level.getDisplayName(), multiplier);
-            case HIGH -> String.format("§6⚠ Threat Level: %s §7(%.1fx) - High rewards!",
-                level.getDisplayName(), multiplier);
-            case EXTREME -> String.format("§c⚠ Threat Level: %s §7(%.1fx) - Massive rewards!",
-                level.getDisplayName(), multiplier);
+    private static Component getThreatMessage(MessageTemplates messages, ThreatLevel level, double multiplier) {
+        Message message = switch (level) {
+            case LOW -> Message.THREAT_LOW;
+            case MEDIUM -> Message.THREAT_MEDIUM;
+            case HIGH -> Message.THREAT_HIGH;
+            case EXTREME -> Message.THREAT_EXTREME;
         };
+        return messages.get(message)
+                .with("level", level.getDisplayName())
+                .with("multiplier", String.format("%.1f", multiplier))
+                .component();
     }
 
     /**
      * Announce event completion.
      */
-    public static void announceCompletion(Event event, List<Player> participants) {
-        String eventName = event.getType().getDisplayName();
-
-        for (Player player : participants) {
-            player.sendMessage(Component.text("§6[Storm Event] §a" + eventName +
-                    " §fcompleted! Rewards distributed."));
-        }
+    public static void announceCompletion(MessageTemplates messages, Event event, List<Player> participants) {
+        send(participants, messages.get(Message.EVENT_COMPLETED)
+                .with("event", event.getType().getDisplayName())
+                .component());
     }
 
     /**
      * Announce event failure.
      */
-    public static void announceFailed(Event event, List<Player> participants) {
-        String eventName = event.getType().getDisplayName();
-
-        for (Player player : participants) {
-            player.sendMessage(Component.text("§6[Storm Event] §c" + eventName + " §ffailed!"));
-        }
+    public static void announceFailed(MessageTemplates messages, Event event, List<Player> participants) {
+        send(participants, messages.get(Message.EVENT_FAILED)
+                .with("event", event.getType().getDisplayName())
+                .component());
     }
 
     /**
      * Send action bar update to player.
+     * Shown briefly in place of the player's HUD line when the compositor is running.
      */
     public static void sendActionBar(Player player, String message) {
-        player.sendActionBar(Component.text(message));
+        if (compositor != null) {
+            compositor.flash(player, message, ACTION_BAR_FLASH_TICKS);
+        } else {
+            player.sendActionBar(Component.text(message));
+        }
+    }
+
+    /**
+     * Send a chat line to a group, through the outbox when it is running.
+     */
+    public static void send(List<Player> players, Component message) {
+        if (outbox != null) {
+            outbox.queueMessage(players, message);
+        } else {
+            Audience.audience(players).sendMessage(message);
+        }
+    }
+
+    private static void showTitle(List<Player> players, Title title) {
+        if (outbox != null) {
+            outbox.queueTitle(players, title);
+        } else {
+            Audience.audience(players).showTitle(title);
+        }
     }
 
     private static int getDistance(Player player, Location location) {
@@ -0,0 +1,55 @@
+package dev.ked.stormcraft.events.ui;
+
+/**
+ * Player-facing messages, their messages.yml keys, default formats and placeholders.
+ */
+public enum Message {
+    // Generic event announcements
+    EVENT_SPAWN("event.spawn", "§6[Storm Event] §f⚡ §b{event} §fdetected - §e{players} nearby!", "event", "players"),
+    EVENT_LOCATION("event.location", "§7Location: {distance} blocks away", "distance"),
+    EVENT_TITLE("event.title", "§c⚡ {event} ⚡", "event"),
+    EVENT_SUBTITLE("event.subtitle", "§7{description}", "description"),
+    EVENT_COMPLETED("event.completed", "§6[Storm Event] §a{event} §fcompleted! Rewards distributed.", "event"),
+    EVENT_FAILED("event.failed", "§6[Storm Event] §c{event} §ffailed!", "event"),
+
+    // Threat level shown with spawn announcements
+    THREAT_LOW("threat.low", "§a⚠ Threat Level: {level} §7({multiplier}x) - Standard rewards", "level", "multiplier"),
+    THREAT_MEDIUM("threat.medium", "§e⚠ Threat Level: {level} §7({multiplier}x) - Increased rewards", "level", "multiplier"),
+    THREAT_HIGH("threat.high", "§6⚠ Threat Level: {level} §7({multiplier}x) - High rewards!", "level", "multiplier"),
+    THREAT_EXTREME("threat.extreme", "§c⚠ Threat Level: {level} §7({multiplier}x) - Massive rewards!", "level", "multiplier"),
+
+    // Storm Titan
+    TITAN_SPAWN("titan.spawn", "§c§l⚡ STORM TITAN §r§chas spawned at §e{x}, {y}, {z}§c!", "x", "y", "z"),
+    TITAN_SPAWN_FLAVOR("titan.spawnFlavor", "§7A massive storm creature has emerged from the tempest..."),
+    TITAN_DEFEATED("titan.defeated", "§a§l⚔ STORM TITAN §r§ahas been defeated!"),
+    TITAN_TOP_HEADER("titan.topHeader", "§7Top Contributors:"),
+    TITAN_TOP_ENTRY("titan.topEntry", "§e  {rank}. {player} §7- §f{damage} damage §7(§6{percent}%§7)",
+            "rank", "player", "damage", "percent"),
+
+    // Town siege
+    SIEGE_START("siege.start", "§c§l[SIEGE] §c{town} §fis under attack by storm-corrupted forces!", "town"),
+    SIEGE_DEFENDED("siege.defended", "§a§l[SIEGE] §a{town} §fhas successfully defended against the siege!", "town"),
+    SIEGE_FAILED("siege.failed", "§c§l[SIEGE] §c{town} §ffailed to defend against the siege!", "town");
+
+    private final String key;
+    private final String defaultFormat;
+    private final String[] placeholders;
+
+    Message(String key, String defaultFormat, String... placeholders) {
+        this.key = key;
+        this.defaultFormat = defaultFormat;
+        this.placeholders = placeholders;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getDefaultFormat() {
+        return defaultFormat;
+    }
+
+    public String[] getPlaceholders() {
+        return placeholders;
+    }
+}
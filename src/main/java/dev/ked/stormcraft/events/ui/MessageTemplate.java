@@ -0,0 +1,115 @@
+package dev.ked.stormcraft.events.ui;
+
+import net.kyori.adventure.text.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A message format compiled into literal parts and named placeholder slots.
+ *
+ * Formats use legacy § colors and {@code {name}} placeholders. Compiling
+ * splits the text once; rendering only concatenates. {@link #with} fills a
+ * slot and returns a smaller template, so fields shared by every recipient
+ * are filled once per broadcast and only per-player fields per send. A
+ * template with no slots left renders to a cached component.
+ */
+public final class MessageTemplate {
+    // literals.length == slots.length + 1; slot i sits between literal i and i + 1
+    private final String[] literals;
+    private final String[] slots;
+    private Component cached;
+
+    private MessageTemplate(String[] literals, String[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+    }
+
+    /**
+     * Compile a format. Braces that do not name an allowed placeholder are kept as text.
+     * @param placeholders Placeholder names the format may use
+     */
+    public static MessageTemplate compile(String format, String... placeholders) {
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        List<String> allowed = Arrays.asList(placeholders);
+
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < format.length()) {
+            char c = format.charAt(i);
+            int close = c == '{' ? format.indexOf('}', i + 1) : -1;
+            if (close > 0 && allowed.contains(format.substring(i + 1, close))) {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                slots.add(format.substring(i + 1, close));
+                i = close + 1;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        literals.add(literal.toString());
+
+        return new MessageTemplate(literals.toArray(new String[0]), slots.toArray(new String[0]));
+    }
+
+    /**
+     * Fill every occurrence of a placeholder.
+     * @return A template without that placeholder, or this one if it does not use it
+     */
+    public MessageTemplate with(String placeholder, Object value) {
+        int count = 0;
+        for (String slot : slots) {
+            if (slot.equals(placeholder)) count++;
+        }
+        if (count == 0) return this;
+
+        String text = String.valueOf(value);
+        String[] newLiterals = new String[literals.length - count];
+        String[] newSlots = new String[slots.length - count];
+
+        StringBuilder pending = new StringBuilder(literals[0]);
+        int out = 0;
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i].equals(placeholder)) {
+                pending.append(text).append(literals[i + 1]);
+            } else {
+                newLiterals[out] = pending.toString();
+                newSlots[out] = slots[i];
+                out++;
+                pending.setLength(0);
+                pending.append(literals[i + 1]);
+            }
+        }
+        newLiterals[out] = pending.toString();
+
+        return new MessageTemplate(newLiterals, newSlots);
+    }
+
+    /**
+     * Render to text, leaving any unfilled placeholders in braces.
+     */
+    public String text() {
+        if (slots.length == 0) return literals[0];
+
+        StringBuilder sb = new StringBuilder(64);
+        for (int i = 0; i < slots.length; i++) {
+            sb.append(literals[i]).append('{').append(slots[i]).append('}');
+        }
+        return sb.append(literals[slots.length]).toString();
+    }
+
+    /**
+     * Render to a component. Fully filled templates build it only once.
+     */
+    public Component component() {
+        if (slots.length > 0) return Component.text(text());
+
+        if (cached == null) {
+            cached = Component.text(literals[0]);
+        }
+        return cached;
+    }
+}
@@ -0,0 +1,37 @@
+package dev.ked.stormcraft.events.ui;
+
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Compiled templates for every {@link Message}, rebuilt on each config load.
+ */
+public class MessageTemplates {
+    private final Map<Message, MessageTemplate> templates = new EnumMap<>(Message.class);
+
+    private MessageTemplates() {
+    }
+
+    /**
+     * Compile all messages, using overrides from messages.yml where present.
+     */
+    public static MessageTemplates compile(FileConfiguration messages) {
+        MessageTemplates compiled = new MessageTemplates();
+        for (Message message : Message.values()) {
+            String format = messages != null
+                    ? messages.getString("messages." + message.getKey(), message.getDefaultFormat())
+                    : message.getDefaultFormat();
+            compiled.templates.put(message, MessageTemplate.compile(format, message.getPlaceholders()));
+        }
+        return compiled;
+    }
+
+    /**
+     * Get a message's compiled template.
+     */
+    public MessageTemplate get(Message message) {
+        return templates.get(message);
+    }
+}
@@ -0,0 +1,171 @@
+package dev.ked.stormcraft.events.ui;
+
+import dev.ked.stormcraft.events.scheduler.TaskScheduler;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.JoinConfiguration;
+import net.kyori.adventure.title.Title;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.*;
+
+/**
+ * Per-player queue for titles and chat sent by events.
+ *
+ * Everything queued for a player within a tick is coalesced: duplicate lines
+ * are dropped, chat and reward lines are joined into one multi-line message,
+ * and only the latest title is kept. Each tick titles go out first, then
+ * chat, until a server-wide send budget is spent; players left over keep
+ * their place at the front of the queue for the next tick.
+ *
+ * Events may queue from their own region threads, so access is synchronized;
+ * flushing happens on the global tick.
+ */
+public class NotificationOutbox {
+    private final TaskScheduler scheduler;
+    private final int sendsPerTick;
+
+    // Insertion order is service order
+    private final Map<UUID, Outbox> outboxes = new LinkedHashMap<>();
+    private TaskScheduler.Task flushTask;
+
+    public NotificationOutbox(TaskScheduler scheduler, int sendsPerTick) {
+        this.scheduler = scheduler;
+        this.sendsPerTick = Math.max(1, sendsPerTick);
+    }
+
+    /**
+     * Queue a title, replacing any title still waiting for the player.
+     */
+    public synchronized void queueTitle(Player player, Title title) {
+        outbox(player).title = title;
+    }
+
+    /**
+     * Queue a title for several players.
+     */
+    public synchronized void queueTitle(Collection<? extends Player> players, Title title) {
+        for (Player player : players) {
+            queueTitle(player, title);
+        }
+    }
+
+    /**
+     * Queue a chat line. Identical lines already waiting are dropped.
+     */
+    public synchronized void queueMessage(Player player, Component message) {
+        outbox(player).chat.add(message);
+    }
+
+    /**
+     * Queue a chat line for several players.
+     */
+    public synchronized void queueMessage(Collection<? extends Player> players, Component message) {
+        for (Player player : players) {
+            queueMessage(player, message);
+        }
+    }
+
+    /**
+     * Queue a reward line. Reward lines are sent together after the chat lines.
+     */
+    public synchronized void queueReward(Player player, String line) {
+        outbox(player).rewards.add(Component.text(line));
+    }
+
+    /**
+     * Send as much as the budget allows.
+     */
+    private synchronized void flush(int budget) {
+        if (outboxes.isEmpty()) return;
+
+        // Titles first
+        for (Map.Entry<UUID, Outbox> entry : outboxes.entrySet()) {
+            if (budget <= 0) break;
+
+            Outbox outbox = entry.getValue();
+            if (outbox.title == null) continue;
+
+            Player player = Bukkit.getPlayer(entry.getKey());
+            if (player != null) {
+                player.showTitle(outbox.title);
+                budget--;
+            }
+            outbox.title = null;
+        }
+
+        // Then one combined chat message per player
+        Iterator<Map.Entry<UUID, Outbox>> it = outboxes.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<UUID, Outbox> entry = it.next();
+            Outbox outbox = entry.getValue();
+            Player player = Bukkit.getPlayer(entry.getKey());
+
+            if (player == null) {
+                it.remove();
+                continue;
+            }
+
+            if (outbox.hasChat()) {
+                if (budget <= 0) break;
+
+                List<Component> lines = new ArrayList<>(outbox.chat.size() + outbox.rewards.size());
+                lines.addAll(outbox.chat);
+                lines.addAll(outbox.rewards);
+                player.sendMessage(lines.size() == 1 ? lines.get(0) : Component.join(JoinConfiguration.newlines(), lines));
+                outbox.chat.clear();
+                outbox.rewards.clear();
+                budget--;
+            }
+
+            if (outbox.title == null) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Get the number of players with notifications waiting.
+     */
+    public synchronized int getPendingCount() {
+        return outboxes.size();
+    }
+
+    /**
+     * Start flushing every tick.
+     */
+    public void start() {
+        flushTask = scheduler.runGlobalTimer(() -> flush(sendsPerTick), 1L, 1L);
+    }
+
+    /**
+     * Stop the task and send everything still queued, ignoring the budget.
+     */
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        synchronized (this) {
+            flush(Integer.MAX_VALUE);
+            outboxes.clear();
+        }
+    }
+
+    private Outbox outbox(Player player) {
+        return outboxes.computeIfAbsent(player.getUniqueId(), k -> new Outbox());
+    }
+
+    /**
+     * One player's pending notifications.
+     */
+    private static class Outbox {
+        Title title;
+        final Set<Component> chat = new LinkedHashSet<>();
+        final List<Component> rewards = new ArrayList<>();
+
+        boolean hasChat() {
+            return !chat.isEmpty() || !rewards.isEmpty();
+        }
+    }
+}
@@ -1,105 +1,230 @@
 package dev.ked.stormcraft.events.ui;
 
 import dev.ked.stormcraft.events.config.ConfigManager;
+import dev.ked.stormcraft.events.config.ConfigSnapshot;
 import dev.ked.stormcraft.events.difficulty.DifficultyCalculator;
-import dev.ked.stormcraft.events.difficulty.DifficultyMultiplier;
-import dev.ked.stormcraft.events.difficulty.PlayerDensityTracker;
 import dev.ked.stormcraft.events.integration.StormcraftIntegration;
+import dev.ked.stormcraft.events.scheduler.PlayerPositions;
+import dev.ked.stormcraft.events.scheduler.TaskScheduler;
 import dev.ked.stormcraft.model.TravelingStorm;
-import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitRunnable;
 
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Displays real-time threat level information on player action bars.
- * Updates every 5 seconds while players are near active storms.
+ * Updates every 5 seconds while players are near active storms; the text is
+ * handed to the {@link ActionBarCompositor}, which decides when to send it.
+ *
+ * Each update is split across threads. The global tick takes an immutable
+ * snapshot of player positions, teams, claim status and storms from
+ * {@link PlayerPositions}; a ForkJoin pool then works out every player's
+ * display in parallel, using a grid so neighbour lookups stay local. Results
+ * come back to the global tick and only players whose display changed are touched.
  */
-public class ThreatLevelHUD extends BukkitRunnable {
+public class ThreatLevelHUD {
     private final JavaPlugin plugin;
+    private final TaskScheduler scheduler;
+    private final PlayerPositions positions;
     private final ConfigManager config;
     private final StormcraftIntegration stormcraft;
-    private final PlayerDensityTracker densityTracker;
     private final DifficultyCalculator difficultyCalculator;
+    private final ActionBarCompositor compositor;
+    private final ForkJoinPool pool;
 
-    public ThreatLevelHUD(JavaPlugin plugin, ConfigManager config,
-                         StormcraftIntegration stormcraft,
-                         PlayerDensityTracker densityTracker,
-                         DifficultyCalculator difficultyCalculator) {
+    // Global tick only
+    private final Map<UUID, String> displayed = new HashMap<>();
+    private boolean computing = false;
+    private TaskScheduler.Task task;
+
+    public ThreatLevelHUD(JavaPlugin plugin, TaskScheduler scheduler, PlayerPositions positions,
+                         ConfigManager config, StormcraftIntegration stormcraft,
+                         DifficultyCalculator difficultyCalculator,
+                         ActionBarCompositor compositor) {
         this.plugin = plugin;
+        this.scheduler = scheduler;
+        this.positions = positions;
         this.config = config;
         this.stormcraft = stormcraft;
-        this.densityTracker = densityTracker;
         this.difficultyCalculator = difficultyCalculator;
+        this.compositor = compositor;
+        this.pool = new ForkJoinPool(config.getHudParallelism());
     }
 
-    @Override
-    public void run() {
+    private void run() {
         // Only update if difficulty system is enabled
         if (!config.isDifficultyEnabled()) {
             return;
         }
 
+        // Previous pass still running; skip rather than pile up
+        if (computing) {
+            return;
+        }
+
         // Check if any storms are active
         List<TravelingStorm> activeStorms = stormcraft.getActiveStorms();
         if (activeStorms.isEmpty()) {
+            apply(Collections.emptyMap());
             return;
         }
 
-        // Update HUD for all online players
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            updatePlayerHUD(player, activeStorms);
-        }
+        Snapshot snapshot = takeSnapshot(activeStorms);
+        computing = true;
+        CompletableFuture.supplyAsync(() -> compute(snapshot), pool).whenComplete((result, error) -> {
+            if (!plugin.isEnabled()) return;
+            scheduler.runGlobal(() -> {
+                computing = false;
+                if (error != null) {
+                    plugin.getLogger().warning("Threat level HUD update failed: " + error.getMessage());
+                    return;
+                }
+                apply(result);
+            });
+        });
     }
 
     /**
-     * Update HUD for a specific player.
+     * Stage one, global tick: copy everything the computation needs.
      */
-    private void updatePlayerHUD(Player player, List<TravelingStorm> storms) {
-        // Check if player is near any storm
-        TravelingStorm nearestStorm = findNearestStorm(player, storms);
-        if (nearestStorm == null) {
-            return; // Not near any storm
-        }
+    private Snapshot takeSnapshot(List<TravelingStorm> storms) {
+        Collection<PlayerPositions.Position> known = positions.getAll();
+        List<PlayerPoint> players = new ArrayList<>(known.size());
 
-        // Get nearby players
-        List<Player> nearbyPlayers = densityTracker.getNearbyPlayers(player.getLocation());
-        if (nearbyPlayers.isEmpty()) {
-            return; // No players nearby (shouldn't happen since player is in the list)
+        for (PlayerPositions.Position position : known) {
+            Location loc = new Location(Bukkit.getWorld(position.worldId()), position.x(), position.y(), position.z());
+            if (loc.getWorld() == null) continue;
+
+            players.add(new PlayerPoint(position.playerId(), position.worldId(), position.x(), position.y(), position.z(),
+                    position.team(), difficultyCalculator.isInWilderness(loc)));
         }
 
-        // Calculate difficulty
-        DifficultyMultiplier difficulty = difficultyCalculator.calculate(player.getLocation(), nearbyPlayers);
+        List<StormPoint> stormPoints = new ArrayList<>(storms.size());
+        for (TravelingStorm storm : storms) {
+            Location loc = storm.getCurrentLocation();
+            if (loc.getWorld() != null) {
+                stormPoints.add(new StormPoint(loc.getWorld().getUID(), loc.getX(), loc.getY(), loc.getZ()));
+            }
+        }
 
-        // Send action bar
-        String message = difficulty.getCompactDisplay();
-        player.sendActionBar(Component.text(message));
+        ConfigSnapshot settings = config.getSnapshot();
+        return new Snapshot(players, stormPoints, difficultyCalculator.getFactors(),
+                settings.difficultyScanRadius, settings.stormProximityRadius);
     }
 
     /**
-     * Find the nearest storm to a player within detection range.
+     * Stage two, worker threads: the display text for every player near a storm.
      */
-    private TravelingStorm findNearestStorm(Player player, List<TravelingStorm> storms) {
-        TravelingStorm nearest = null;
-        double nearestDistance = Double.MAX_VALUE;
-        double detectionRange = config.getStormProximityRadius(); // Use storm proximity radius
+    private static Map<UUID, String> compute(Snapshot snapshot) {
+        double scanRadius = Math.max(1.0, snapshot.scanRadius);
+        double scanRadiusSq = scanRadius * scanRadius;
+        double stormRadiusSq = snapshot.stormRadius * snapshot.stormRadius;
 
-        for (TravelingStorm storm : storms) {
-            if (!storm.getCurrentLocation().getWorld().equals(player.getWorld())) {
-                continue;
-            }
+        // Bucket players into scan-radius cells so neighbours are in the 3x3 around a player
+        Map<UUID, Map<Long, List<PlayerPoint>>> grid = new HashMap<>();
+        for (PlayerPoint point : snapshot.players) {
+            grid.computeIfAbsent(point.worldId, k -> new HashMap<>())
+                    .computeIfAbsent(cellKey(cell(point.x, scanRadius), cell(point.z, scanRadius)), k -> new ArrayList<>())
+                    .add(point);
+        }
+
+        Map<UUID, String> result = new HashMap<>();
+        snapshot.players.parallelStream()
+                .map(point -> {
+                    // Within storm detection range (the storm bonus uses the same radius)
+                    boolean nearStorm = false;
+                    for (StormPoint storm : snapshot.storms) {
+                        if (storm.worldId.equals(point.worldId) && distanceSq(point, storm) <= stormRadiusSq) {
+                            nearStorm = true;
+                            break;
+                        }
+                    }
+                    if (!nearStorm) return null;
 
-            double distance = storm.getCurrentLocation().distance(player.getLocation());
-            if (distance <= detectionRange && distance < nearestDistance) {
-                nearestDistance = distance;
-                nearest = storm;
+                    int nearby = 0;
+                    int party = 0;
+                    Map<Long, List<PlayerPoint>> cells = grid.get(point.worldId);
+                    int cx = cell(point.x, scanRadius);
+                    int cz = cell(point.z, scanRadius);
+                    for (int dx = -1; dx <= 1; dx++) {
+                        for (int dz = -1; dz <= 1; dz++) {
+                            List<PlayerPoint> inCell = cells.get(cellKey(cx + dx, cz + dz));
+                            if (inCell == null) continue;
+
+                            for (PlayerPoint other : inCell) {
+                                if (distanceSq(point, other) > scanRadiusSq) continue;
+                                nearby++;
+                                if (other != point && point.team != null && point.team.equals(other.team)) {
+                                    party++;
+                                }
+                            }
+                        }
+                    }
+
+                    // nearby includes the player themselves
+                    int others = nearby - 1 - party;
+                    String text = snapshot.factors.combine(nearby, party, others, point.wilderness, true)
+                            .getCompactDisplay();
+                    return Map.entry(point.id, text);
+                })
+                .filter(Objects::nonNull)
+                .forEachOrdered(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+
+    /**
+     * Stage three, global tick: update only players whose display changed.
+     */
+    private void apply(Map<UUID, String> result) {
+        // Players who are no longer near a storm
+        for (Iterator<Map.Entry<UUID, String>> it = displayed.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<UUID, String> entry = it.next();
+            if (!result.containsKey(entry.getKey())) {
+                it.remove();
+                Player player = Bukkit.getPlayer(entry.getKey());
+                if (player != null) {
+                    compositor.setSegment(player, ActionBarCompositor.Slot.THREAT, null);
+                }
             }
         }
 
-        return nearest;
+        for (Map.Entry<UUID, String> entry : result.entrySet()) {
+            if (entry.getValue().equals(displayed.get(entry.getKey()))) continue;
+
+            Player player = Bukkit.getPlayer(entry.getKey());
+            if (player == null) continue;
+
+            displayed.put(entry.getKey(), entry.getValue());
+            compositor.setSegment(player, ActionBarCompositor.Slot.THREAT, entry.getValue());
+        }
+    }
+
+    private static double distanceSq(PlayerPoint a, PlayerPoint b) {
+        double dx = a.x - b.x;
+        double dy = a.y - b.y;
+        double dz = a.z - b.z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static double distanceSq(PlayerPoint a, StormPoint b) {
+        double dx = a.x - b.x;
+        double dy = a.y - b.y;
+        double dz = a.z - b.z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static int cell(double coordinate, double size) {
+        return (int) Math.floor(coordinate / size);
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellZ << 32) | (cellX & 0xFFFFFFFFL);
     }
 
     /**
@@ -107,7 +232,33 @@ public class ThreatLevelHUD extends BukkitRunnable {
      * Updates every 5 seconds (100 ticks).
      */
     public void start() {
-        int interval = config.getConfig().getInt("difficulty.scan_interval", 100);
-        this.runTaskTimer(plugin, 100L, interval);
+        int interval = config.getDifficultyScanInterval();
+        task = scheduler.runGlobalTimer(this::run, 100L, interval);
+    }
+
+    /**
+     * Stop updates and the worker pool.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        pool.shutdown();
+        try {
+            pool.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record PlayerPoint(UUID id, UUID worldId, double x, double y, double z, String team, boolean wilderness) {
+    }
+
+    private record StormPoint(UUID worldId, double x, double y, double z) {
+    }
+
+    private record Snapshot(List<PlayerPoint> players, List<StormPoint> storms, DifficultyCalculator.Factors factors,
+                            double scanRadius, double stormRadius) {
     }
 }